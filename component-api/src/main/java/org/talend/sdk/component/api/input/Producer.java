@@ -23,6 +23,7 @@ import java.lang.annotation.Target;
 
 /**
  * Mark a method as called to retrieve next element of the input.
+ * The method can also return a {@link RecordBatch} to hand out a page of records at once.
  */
 @Target(METHOD)
 @Retention(RUNTIME)
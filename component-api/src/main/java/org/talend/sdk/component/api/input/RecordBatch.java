@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.input;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.talend.sdk.component.api.record.Record;
+
+/**
+ * A page of records a {@link Producer} method can return instead of a single record when the underlying system
+ * naturally fetches data by pages (database cursors, message polls, paginated REST API...).
+ * The runtime then consumes the page as a whole instead of calling the producer for each record.
+ *
+ * A null or empty batch means there is no more data, exactly as a null record
+ * (for streaming inputs it means no data is available yet).
+ */
+public interface RecordBatch extends Iterable<Record> {
+
+    /**
+     * @return the number of records of this batch.
+     */
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param records the records of the batch, the collection is not copied.
+     * @return a batch backed by the collection.
+     */
+    static RecordBatch of(final Collection<Record> records) {
+        return new RecordBatch() {
+
+            @Override
+            public int size() {
+                return records.size();
+            }
+
+            @Override
+            public Iterator<Record> iterator() {
+                return records.iterator();
+            }
+        };
+    }
+}
@@ -23,8 +23,25 @@ import java.lang.annotation.Target;
 
 /**
  * Mark a method as returning an input connector.
+ *
+ * The method can return a {@link java.util.concurrent.CompletionStage} to process the elements asynchronously
+ * (remote calls for instance): the value it completes with, if not null, is emitted on the default output
+ * and what is emitted through the {@link Output} parameters is forwarded once the element completed.
+ * {@link AfterGroup} methods are called when all the elements of the group completed.
  */
 @Target(METHOD)
 @Retention(RUNTIME)
 public @interface ElementListener {
+
+    /**
+     * @return for an asynchronous listener, the maximum number of elements being processed at the same time,
+     * when reached the runtime waits for an element to complete before calling the listener again.
+     */
+    int maxInFlight() default 16;
+
+    /**
+     * @return for an asynchronous listener, true to emit the outputs in the order of the elements,
+     * false to emit them as soon as each element completes.
+     */
+    boolean ordered() default true;
 }
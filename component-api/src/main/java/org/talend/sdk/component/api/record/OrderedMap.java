@@ -228,6 +228,12 @@ public class OrderedMap<T> {
         node.remove();
     }
 
+    public void clear() {
+        this.first = null;
+        this.last = null;
+        this.values.clear();
+    }
+
     public T getValue(final String identifier) {
         return Optional.ofNullable(this.values.get(identifier)) //
                 .map(Node::getValue) //
@@ -319,6 +319,17 @@ public interface Record {
 
         Record build();
 
+        /**
+         * Clear this builder to build a new record with it, already built records are not impacted.
+         * It enables to reuse a single builder for all the records emitted by a component.
+         * For a builder without provided schema, the records built with the same entries share the same schema.
+         *
+         * @return this builder.
+         */
+        default Builder reset() {
+            throw new UnsupportedOperationException("#reset is not implemented");
+        }
+
         Object getValue(String name);
 
         List<Entry> getCurrentEntries();
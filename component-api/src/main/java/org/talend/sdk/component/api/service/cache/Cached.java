@@ -34,7 +34,19 @@ import org.talend.sdk.component.api.service.interceptor.Intercepts;
 public @interface Cached {
 
     /**
-     * @return the cache ttl in milliseconds.
+     * @return the cache ttl in milliseconds, a negative or zero value means the values never expire.
      */
     long timeout() default Integer.MAX_VALUE;
+
+    /**
+     * @return the age in milliseconds after which a cached value is reloaded in background on its next access,
+     * the cached value is returned until the reload completes. A negative value disables the refresh.
+     */
+    long refreshAfter() default -1;
+
+    /**
+     * @return the ttl in milliseconds of the negative results (null, empty optional, collection or map),
+     * a negative value means the {@link #timeout()} is used and 0 that they are reloaded at each call.
+     */
+    long negativeTimeout() default -1;
 }
@@ -53,6 +53,33 @@ public interface LocalCache {
         long getLastValidityTimestamp();
     }
 
+    /**
+     * Counters of the cache usage since its creation.
+     */
+    interface Statistics {
+
+        /**
+         * @return the number of lookups served by a cached value.
+         */
+        long getHits();
+
+        /**
+         * @return the number of lookups which computed the value.
+         */
+        long getMisses();
+
+        /**
+         * @return the number of entries removed because the cache was full or they expired,
+         * explicit evictions are not counted.
+         */
+        long getEvictions();
+
+        default double getHitRate() {
+            final long requests = getHits() + getMisses();
+            return requests == 0 ? 1 : getHits() / (double) requests;
+        }
+    }
+
     /**
      * Read or compute and save a value for a determined duration and predicate.
      * 
@@ -117,4 +144,11 @@ public interface LocalCache {
      */
     void evictIfValue(String key, Object expected);
 
+    /**
+     * @return the usage statistics of this cache.
+     */
+    default Statistics getStatistics() {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't provide statistics");
+    }
+
 }
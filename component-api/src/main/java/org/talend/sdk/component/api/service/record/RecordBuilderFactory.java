@@ -48,6 +48,22 @@ public interface RecordBuilderFactory extends Serializable {
      */
     Record.Builder newRecordBuilder();
 
+    /**
+     * @param schema the schema of the records to be built.
+     * @return a builder which can be {@link Record.Builder#reset() reset} after each record to build the next one.
+     */
+    default Record.Builder newReusableRecordBuilder(final Schema schema) {
+        return newRecordBuilder(schema);
+    }
+
+    /**
+     * @return a builder which can be {@link Record.Builder#reset() reset} after each record to build the next one,
+     * records with the same entries share the same schema.
+     */
+    default Record.Builder newReusableRecordBuilder() {
+        return newRecordBuilder();
+    }
+
     /**
      * @param type the schema type.
      * @return a builder to create a schema.
@@ -67,6 +83,20 @@ public interface RecordBuilderFactory extends Serializable {
      */
     Schema.Entry.Builder newEntryBuilder();
 
+    /**
+     * Get the canonical instance of a schema: structurally equal schemas share the same immutable instance
+     * which can be compared by identity and has a precomputed hash code. It is typically useful to key caches
+     * by schema or to share the schema of a lot of records.
+     *
+     * IMPORTANT: the canonical schema is immutable, its props can't be modified.
+     *
+     * @param schema the schema to canonicalize.
+     * @return the canonical schema, default implementation returns the provided schema.
+     */
+    default Schema intern(final Schema schema) {
+        return schema;
+    }
+
     /**
      * Build a schema.entry from another one. Useful to duplicate a column with some changes.
      * 
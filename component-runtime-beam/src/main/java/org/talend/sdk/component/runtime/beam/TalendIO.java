@@ -15,11 +15,13 @@
  */
 package org.talend.sdk.component.runtime.beam;
 
+import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static org.apache.beam.sdk.annotations.Experimental.Kind.SOURCE_SINK;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -61,6 +63,7 @@ import org.talend.sdk.component.runtime.serialization.LightContainer;
 
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -353,6 +356,27 @@ public final class TalendIO {
         }
     }
 
+    // hands out one by one the records the input reads by batch
+    @RequiredArgsConstructor
+    private static class InputBatches {
+
+        private static final int MAX_BATCH_SIZE = 1000;
+
+        private final Input input;
+
+        private Iterator<Object> batch = emptyIterator();
+
+        private Object next() {
+            if (!batch.hasNext()) {
+                batch = input.nextBatch(MAX_BATCH_SIZE).iterator();
+                if (!batch.hasNext()) {
+                    return null;
+                }
+            }
+            return batch.next();
+        }
+    }
+
     private static class Converter {
 
         private final RecordConverters converters;
@@ -384,9 +408,12 @@ public final class TalendIO {
 
         private volatile Converter converter;
 
+        private final InputBatches batches;
+
         BoundedReaderImpl(final BoundedSource<T> source, final Input input) {
             this.source = source;
             this.input = input;
+            this.batches = new InputBatches(input);
         }
 
         @Override
@@ -397,7 +424,7 @@ public final class TalendIO {
 
         @Override
         public boolean advance() {
-            final Object next = input.next();
+            final Object next = batches.next();
             if (next != null && !Record.class.isInstance(next)) {
                 if (converter == null) {
                     synchronized (this) {
@@ -439,9 +466,12 @@ public final class TalendIO {
 
         private volatile Converter converter;
 
+        private final InputBatches batches;
+
         UnBoundedReaderImpl(final UnboundedSource<T, ?> source, final Input input) {
             this.source = source;
             this.input = input;
+            this.batches = new InputBatches(input);
         }
 
         @Override
@@ -452,7 +482,7 @@ public final class TalendIO {
 
         @Override
         public boolean advance() {
-            final Object next = input.next();
+            final Object next = batches.next();
             if (next != null && !Record.class.isInstance(next)) {
                 if (converter == null) {
                     synchronized (this) {
@@ -104,7 +104,7 @@ public class AvroRecord implements Record, AvroPropertyMapper, Unwrappable {
         if (value instanceof Collection) {
             return Collection.class.cast(value).stream().map(this::directMapping).collect(toList());
         }
-        if (value instanceof RecordImpl) {
+        if (value instanceof RecordImpl || (value instanceof Record && !(value instanceof Unwrappable))) {
             return new AvroRecord((Record) value).delegate;
         }
         if (value instanceof Record) {
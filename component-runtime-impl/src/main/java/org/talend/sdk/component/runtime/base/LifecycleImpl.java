@@ -31,6 +31,8 @@ import org.talend.sdk.component.runtime.serialization.ContainerFinder;
 // base class to handle postconstruct/predestroy
 public class LifecycleImpl extends Named implements Lifecycle {
 
+    private static final Object[] NO_ARG = new Object[0];
+
     protected Object delegate;
 
     private transient ClassLoader loader;
@@ -94,6 +96,24 @@ public class LifecycleImpl extends Named implements Lifecycle {
         }
     }
 
+    protected Object doInvoke(final MethodInvoker invoker) {
+        return doInvoke(invoker, NO_ARG);
+    }
+
+    // method handle flavor of doInvoke(Method, Object...) for the methods called for each record
+    protected Object doInvoke(final MethodInvoker invoker, final Object[] args) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(findLoader());
+        try {
+            return invoker.invoke(delegate, args);
+        } catch (final InvocationTargetException e) {
+            throw toRuntimeException(e);
+        } finally {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
     // mainly done by instance to avoid to rely on a registry maybe not initialized
     // after serialization
     protected Stream<Method> findMethods(final Class<? extends Annotation> marker) {
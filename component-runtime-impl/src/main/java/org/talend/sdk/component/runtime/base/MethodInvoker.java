@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.base;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import lombok.Getter;
+
+/**
+ * A component method bound once to a {@link MethodHandle} adapted to an all {@link Object} signature.
+ * Calls with up to 3 parameters go through an exact invocation (no argument spreading),
+ * others through a spreader.
+ * As with {@link Method#invoke(Object, Object...)}, only the exceptions thrown by the method are wrapped in an
+ * {@link InvocationTargetException}, invocation errors like a wrong argument are thrown as they are.
+ */
+public final class MethodInvoker {
+
+    private static final Object[] NO_ARG = new Object[0];
+
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    static {
+        try {
+            WRAP_EXCEPTION = MethodHandles
+                    .lookup()
+                    .findStatic(MethodInvoker.class, "wrapException",
+                            MethodType.methodType(Object.class, Throwable.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    private final Method method;
+
+    private final int arity;
+
+    // (Object target, Object... args)Object with the exact arity of the method
+    private final MethodHandle handle;
+
+    private final MethodHandle spreader;
+
+    private MethodInvoker(final Method method) {
+        this.method = method;
+        this.arity = method.getParameterCount();
+        try {
+            MethodHandle unreflected = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                unreflected = MethodHandles.dropArguments(unreflected, 0, Object.class);
+            }
+            // wraps what the method throws before the arguments adaptation so the adaptation errors are not wrapped
+            unreflected = MethodHandles
+                    .catchException(unreflected, Throwable.class,
+                            WRAP_EXCEPTION.asType(MethodType.methodType(unreflected.type().returnType(),
+                                    Throwable.class)));
+            this.handle = unreflected.asType(MethodType.genericMethodType(arity + 1));
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        this.spreader = arity > 3 ? handle.asSpreader(Object[].class, arity) : null;
+    }
+
+    /**
+     * @param method the method to bind, it must be accessible.
+     * @return the invoker of this method.
+     */
+    public static MethodInvoker of(final Method method) {
+        return new MethodInvoker(method);
+    }
+
+    public Object invoke(final Object target) throws InvocationTargetException {
+        return invoke(target, NO_ARG);
+    }
+
+    /**
+     * @param target the instance to call the method on, ignored for static methods.
+     * @param args the method arguments.
+     * @return the method result, null for void methods.
+     * @throws InvocationTargetException if the method throws an exception.
+     * @throws IllegalArgumentException if the arguments don't match the method parameters.
+     */
+    public Object invoke(final Object target, final Object[] args) throws InvocationTargetException {
+        if (args.length != arity) {
+            throw new IllegalArgumentException(
+                    "Wrong number of arguments for " + method + ", expected " + arity + ", got " + args.length);
+        }
+        try {
+            switch (arity) {
+            case 0:
+                return (Object) handle.invokeExact(target);
+            case 1:
+                return (Object) handle.invokeExact(target, args[0]);
+            case 2:
+                return (Object) handle.invokeExact(target, args[0], args[1]);
+            case 3:
+                return (Object) handle.invokeExact(target, args[0], args[1], args[2]);
+            default:
+                return (Object) spreader.invokeExact(target, args);
+            }
+        } catch (final InvocationTargetException | RuntimeException | Error e) {
+            if (ClassCastException.class.isInstance(e)) { // argument or target adaptation
+                throw new IllegalArgumentException("Argument type mismatch calling " + method, e);
+            }
+            throw e;
+        } catch (final Throwable e) { // can't happen, checked exceptions of the method are wrapped
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object wrapException(final Throwable error) throws InvocationTargetException {
+        throw new InvocationTargetException(error);
+    }
+}
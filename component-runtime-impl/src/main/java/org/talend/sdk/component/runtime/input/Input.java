@@ -15,10 +15,27 @@
  */
 package org.talend.sdk.component.runtime.input;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+
 import org.talend.sdk.component.runtime.base.Lifecycle;
 
 public interface Input extends Lifecycle {
 
     Object next();
 
+    /**
+     * Reads the next records, when the producer returns a batch it is consumed as a whole (up to max records)
+     * instead of record by record. Implementations can return less than max records even if the input is not at
+     * its end, an empty list means there is no more data.
+     *
+     * @param max the maximum number of records to return.
+     * @return the next records.
+     */
+    default List<Object> nextBatch(final int max) {
+        final Object next = next();
+        return next == null ? emptyList() : singletonList(next);
+    }
 }
@@ -15,20 +15,31 @@
  */
 package org.talend.sdk.component.runtime.input;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import javax.json.bind.Jsonb;
 
 import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.input.RecordBatch;
+import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
+import org.talend.sdk.component.runtime.base.MethodInvoker;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.metrics.NodeMetrics;
+import org.talend.sdk.component.runtime.output.Branches;
 import org.talend.sdk.component.runtime.record.RecordConverters;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
 import org.talend.sdk.component.runtime.serialization.EnhancedObjectInputStream;
@@ -38,7 +49,23 @@ import lombok.AllArgsConstructor;
 
 public class InputImpl extends LifecycleImpl implements Input, Delegated {
 
-    private transient Method next;
+    // subclasses customizing next() must keep being read through it
+    private static final ClassValue<Boolean> OVERRIDES_NEXT = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("next").getDeclaringClass() != InputImpl.class;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private transient MethodInvoker next;
+
+    // remaining records of the last batch returned by the producer
+    private transient Iterator<Record> batch;
 
     private transient RecordConverters converters;
 
@@ -48,6 +75,8 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
 
     private transient RecordBuilderFactory recordBuilderFactory;
 
+    private transient NodeMetrics metrics; // null when disabled
+
     public InputImpl(final String rootName, final String name, final String plugin, final Serializable instance) {
         super(instance, rootName, name, plugin);
     }
@@ -61,10 +90,82 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
         if (next == null) {
             init();
         }
-        final Object record = readNext();
+        final Object record = nextValue();
         if (record == null) {
             return null;
         }
+        if (metrics != null) {
+            metrics.onRecordsOut(Branches.DEFAULT_BRANCH, 1);
+        }
+        return toRecord(record);
+    }
+
+    @Override
+    public List<Object> nextBatch(final int max) {
+        if (OVERRIDES_NEXT.get(getClass())) {
+            return Input.super.nextBatch(max);
+        }
+        if (next == null) {
+            init();
+        }
+        if (batch != null && !batch.hasNext()) {
+            batch = null;
+        }
+        if (batch == null) {
+            final Object value = readNext();
+            if (value == null) {
+                return emptyList();
+            }
+            if (!RecordBatch.class.isInstance(value)) {
+                if (metrics != null) {
+                    metrics.onRecordsOut(Branches.DEFAULT_BRANCH, 1);
+                }
+                return singletonList(toRecord(value));
+            }
+            final RecordBatch records = RecordBatch.class.cast(value);
+            if (records.size() <= max) { // common case, the page flows as it is
+                final List<Object> page = new ArrayList<>(records.size());
+                records.forEach(page::add);
+                if (metrics != null) {
+                    metrics.onRecordsOut(Branches.DEFAULT_BRANCH, page.size());
+                }
+                return page;
+            }
+            batch = records.iterator();
+        }
+        final List<Object> records = new ArrayList<>(max);
+        while (records.size() < max && batch.hasNext()) {
+            records.add(batch.next());
+        }
+        if (!batch.hasNext()) {
+            batch = null;
+        }
+        if (metrics != null) {
+            metrics.onRecordsOut(Branches.DEFAULT_BRANCH, records.size());
+        }
+        return records;
+    }
+
+    private Object nextValue() {
+        if (batch != null) {
+            if (batch.hasNext()) {
+                return batch.next();
+            }
+            batch = null;
+        }
+        final Object value = readNext();
+        if (RecordBatch.class.isInstance(value)) {
+            final Iterator<Record> iterator = RecordBatch.class.cast(value).iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            batch = iterator;
+            return iterator.next();
+        }
+        return value;
+    }
+
+    private Object toRecord(final Object record) {
         final Class<?> recordClass = record.getClass();
         if (recordClass.isPrimitive() || String.class == recordClass) {
             // mainly for tests, can be dropped while build is green
@@ -78,14 +179,27 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
         return delegate;
     }
 
+    /**
+     * @return the value returned by the producer, an empty {@link RecordBatch} is returned as null.
+     */
     protected Object readNext() {
-        return doInvoke(this.next);
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final Object value = doInvoke(this.next);
+        if (metrics != null) {
+            metrics.onCall(NodeMetrics.Phase.PRODUCER, start, RecordBatch.class.isInstance(value)
+                    ? RecordBatch.class.cast(value).size() : value == null ? 0 : 1);
+        }
+        if (RecordBatch.class.isInstance(value) && RecordBatch.class.cast(value).isEmpty()) {
+            return null;
+        }
+        return value;
     }
 
     protected void init() {
-        next = findMethods(Producer.class).findFirst().get();
+        next = MethodInvoker.of(findMethods(Producer.class).findFirst().get());
         converters = new RecordConverters();
         registry = new RecordConverters.MappingMetaRegistry();
+        metrics = ComponentMetrics.find(plugin(), rootName(), name());
     }
 
     private Jsonb jsonb() {
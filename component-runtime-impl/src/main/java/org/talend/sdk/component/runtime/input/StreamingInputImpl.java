@@ -15,7 +15,6 @@
  */
 package org.talend.sdk.component.runtime.input;
 
-import static java.lang.Thread.sleep;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.talend.sdk.component.runtime.input.Streaming.RetryStrategy;
 
@@ -26,6 +25,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -36,6 +36,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.PostConstruct;
 
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.RecordBatch;
 import org.talend.sdk.component.runtime.input.Streaming.RetryConfiguration;
 import org.talend.sdk.component.runtime.input.Streaming.StopStrategy;
 
@@ -56,6 +57,12 @@ public class StreamingInputImpl extends InputImpl {
 
     private transient long readRecords = 0L;
 
+    // reads with a max duration run there, created once per input and not per record
+    private transient ExecutorService reader;
+
+    // released by the stop to interrupt the retry pauses
+    private transient CountDownLatch stopped;
+
     public StreamingInputImpl(final String rootName, final String name, final String plugin,
             final Serializable instance, final RetryConfiguration retryConfiguration, final StopStrategy stopStrategy) {
         super(rootName, name, plugin, instance);
@@ -99,8 +106,7 @@ public class StreamingInputImpl extends InputImpl {
                                 System.currentTimeMillis() - stopStrategy.getStartedAtTime());
                         return null;
                     }
-                    final ExecutorService executor = Executors.newSingleThreadExecutor();
-                    final Future<Object> reader = executor.submit(super::readNext);
+                    final Future<Object> pending = reader().submit(super::readNext);
                     // manage job latency...
                     // timeout + hardcoded grace period
                     final long maxActiveTimeWithGracePeriod =
@@ -112,22 +118,20 @@ public class StreamingInputImpl extends InputImpl {
                             "[readNext] Applying duration strategy for reading record: will interrupt in {}ms (estimated:{} ms Duration:{}ms).",
                             timeout, estimatedTimeout, maxActiveTimeWithGracePeriod);
                     try {
-                        next = reader.get(timeout, MILLISECONDS);
+                        next = pending.get(timeout, MILLISECONDS);
                     } catch (TimeoutException e) {
                         log.debug("[readNext] Read record: timeout received.");
-                        reader.cancel(true);
+                        pending.cancel(true);
                         return next;
                     } catch (Exception e) {
                         // nop
-                    } finally {
-                        executor.shutdownNow();
                     }
                 } else {
                     next = super.readNext();
                 }
                 if (next != null) {
                     strategy.reset();
-                    readRecords++;
+                    readRecords += RecordBatch.class.isInstance(next) ? RecordBatch.class.cast(next).size() : 1;
                     return next;
                 }
 
@@ -136,17 +140,8 @@ public class StreamingInputImpl extends InputImpl {
                     final long millis = strategy.nextPauseDuration();
                     if (millis < 0) { // assume it means "give up"
                         prepareStop();
-                    } else if (millis > 0) { // we can wait 1s but not minutes to quit
-                        if (millis < 1000) {
-                            sleep(millis);
-                        } else {
-                            long remaining = millis;
-                            while (running.get() && remaining > 0) {
-                                final long current = Math.min(remaining, 250);
-                                remaining -= current;
-                                sleep(current);
-                            }
-                        }
+                    } else if (millis > 0) { // a stop ends the pause, the loop then exits
+                        stopped.await(millis, MILLISECONDS);
                     } // else if millis == 0 no need to call any method
                 } catch (final InterruptedException e) {
                     prepareStop(); // stop the stream
@@ -158,6 +153,19 @@ public class StreamingInputImpl extends InputImpl {
         }
     }
 
+    private ExecutorService reader() {
+        if (reader == null) {
+            final String threadName = getClass().getSimpleName() + "-reader_" + rootName() + "-" + name() + "_"
+                    + hashCode();
+            reader = Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return reader;
+    }
+
     @Override
     protected void init() {
         super.init();
@@ -205,6 +213,7 @@ public class StreamingInputImpl extends InputImpl {
     @Override
     public void start() {
         super.start();
+        stopped = new CountDownLatch(1);
         running.compareAndSet(false, true);
         Runtime.getRuntime().addShutdownHook(shutdownHook);
     }
@@ -212,11 +221,18 @@ public class StreamingInputImpl extends InputImpl {
     @Override
     public void stop() {
         prepareStop();
+        if (reader != null) {
+            reader.shutdownNow();
+            reader = null;
+        }
         super.stop();
     }
 
     private void prepareStop() {
         running.compareAndSet(true, false);
+        if (stopped != null) {
+            stopped.countDown();
+        }
         if (shutdownHook != null) {
             try {
                 Runtime.getRuntime().removeShutdownHook(shutdownHook);
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the {@link NodeMetrics} of the components.
+ *
+ * Metrics are disabled by default ({@code talend.component.runtime.metrics} system property), components look up
+ * their metrics once when initialized so a disabled registry only costs a null check per call.
+ * When enabled each component metrics are registered in the platform MBean server (unless
+ * {@code talend.component.manager.jmx.skip} is set) and calls are published as
+ * {@code org.talend.sdk.component.Execution} flight recorder events when the JVM supports it.
+ */
+@Slf4j
+public final class ComponentMetrics {
+
+    static final boolean JFR = isJfrAvailable();
+
+    private static final ConcurrentMap<String, NodeMetrics> NODES = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean("talend.component.runtime.metrics");
+
+    private ComponentMetrics() {
+        // no-op
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        ComponentMetrics.enabled = enabled;
+    }
+
+    /**
+     * @param plugin the component plugin.
+     * @param rootName the component family.
+     * @param name the component name.
+     * @return the metrics of the component or null if metrics are disabled.
+     */
+    public static NodeMetrics find(final String plugin, final String rootName, final String name) {
+        if (!enabled) {
+            return null;
+        }
+        final String key = plugin + '#' + rootName + '#' + name;
+        final NodeMetrics existing = NODES.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final NodeMetrics created = new NodeMetrics(plugin, rootName, name);
+        final NodeMetrics concurrent = NODES.putIfAbsent(key, created);
+        if (concurrent != null) {
+            return concurrent;
+        }
+        register(created);
+        return created;
+    }
+
+    public static Collection<NodeMetrics> nodes() {
+        return new ArrayList<>(NODES.values());
+    }
+
+    /**
+     * Drops the metrics of a plugin, typically when it is undeployed.
+     *
+     * @param plugin the plugin identifier.
+     */
+    public static void remove(final String plugin) {
+        NODES.values().removeIf(node -> {
+            if (!plugin.equals(node.getPlugin())) {
+                return false;
+            }
+            unregister(node);
+            return true;
+        });
+    }
+
+    private static void register(final NodeMetrics node) {
+        if (Boolean.getBoolean("talend.component.manager.jmx.skip")) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(node, toObjectName(node));
+        } catch (final JMException e) {
+            log.warn("{}: {}", e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    private static void unregister(final NodeMetrics node) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = toObjectName(node);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (final JMException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+
+    static ObjectName toObjectName(final NodeMetrics node) throws JMException {
+        return new ObjectName("org.talend.sdk.component:type=metrics,plugin=" + ObjectName.quote(node.getPlugin())
+                + ",component=" + ObjectName.quote(node.getRootName()) + ",name="
+                + ObjectName.quote(node.getName()));
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of a component call, only loaded when the JVM supports JFR.
+ */
+@Name("org.talend.sdk.component.Execution")
+@Label("Component Execution")
+@Category({ "Talend", "Component Runtime" })
+@Description("Call of a @Producer, @ElementListener or @AfterGroup method")
+@StackTrace(false)
+class ExecutionEvent extends Event {
+
+    @Label("Plugin")
+    String plugin;
+
+    @Label("Component")
+    String component;
+
+    @Label("Name")
+    String name;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Records")
+    int records;
+
+    @Label("Call Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long callDuration;
+
+    static void commit(final NodeMetrics node, final NodeMetrics.Phase phase, final long duration,
+            final int records) {
+        final ExecutionEvent event = new ExecutionEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.plugin = node.getPlugin();
+        event.component = node.getRootName();
+        event.name = node.getName();
+        event.phase = phase.name();
+        event.records = records;
+        event.callDuration = duration;
+        event.commit();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lock free histogram of positive values using power of two buckets, percentiles are the upper bound of their
+ * bucket so they are precise to a factor 2 which is enough to compare nodes.
+ */
+public class Histogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(final long value) {
+        final long positive = Math.max(0, value);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(positive)); // [2^(i-1), 2^i - 1]
+        count.increment();
+        sum.add(positive);
+        max.accumulate(positive);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 1.
+     * @return the upper bound of the value at this percentile.
+     */
+    public long getPercentile(final double percentile) {
+        final long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        final long maxValue = max.get();
+        long seen = 0;
+        for (int i = 0; i < Long.SIZE; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(maxValue, (1L << i) - 1); // overflows to Long.MAX_VALUE for the last bucket
+            }
+        }
+        return maxValue;
+    }
+
+    public Snapshot snapshot() {
+        final long total = count.sum();
+        return new Snapshot(total, total == 0 ? 0 : sum.sum() / (double) total, getPercentile(.5),
+                getPercentile(.99), max.get());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        private final long count;
+
+        private final double mean;
+
+        private final long p50;
+
+        private final long p99;
+
+        private final long max;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static java.util.stream.Collectors.toMap;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import org.talend.sdk.component.api.processor.OutputEmitter;
+import org.talend.sdk.component.runtime.output.OutputFactory;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Metrics of a component (all the instances of a plugin component with the same name), see
+ * {@link ComponentMetrics}.
+ */
+@RequiredArgsConstructor
+public class NodeMetrics implements NodeMetricsMXBean {
+
+    public enum Phase {
+        PRODUCER,
+        ELEMENT_LISTENER,
+        AFTER_GROUP
+    }
+
+    @Getter
+    private final String plugin;
+
+    @Getter
+    private final String rootName;
+
+    @Getter
+    private final String name;
+
+    private final LongAdder recordsIn = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> recordsOut = new ConcurrentHashMap<>();
+
+    private final Histogram producer = new Histogram();
+
+    private final Histogram elementListener = new Histogram();
+
+    private final Histogram afterGroup = new Histogram();
+
+    private final Histogram batchSize = new Histogram();
+
+    @Setter
+    private volatile IntSupplier chunkSizeGauge;
+
+    @Setter
+    private volatile IntSupplier queueDepthGauge;
+
+    public void onRecordsIn(final int count) {
+        recordsIn.add(count);
+    }
+
+    public void onRecordsOut(final String branch, final int count) {
+        recordsOut.computeIfAbsent(branch, k -> new LongAdder()).add(count);
+    }
+
+    public void onBatch(final int size) {
+        batchSize.record(size);
+    }
+
+    /**
+     * Records the duration of a call to the component.
+     *
+     * @param phase the called method.
+     * @param start the {@link System#nanoTime()} before the call.
+     * @param records the number of records of the call.
+     */
+    public void onCall(final Phase phase, final long start, final int records) {
+        final long duration = System.nanoTime() - start;
+        switch (phase) {
+        case PRODUCER:
+            producer.record(duration);
+            break;
+        case ELEMENT_LISTENER:
+            elementListener.record(duration);
+            break;
+        default:
+            afterGroup.record(duration);
+        }
+        if (ComponentMetrics.JFR) {
+            ExecutionEvent.commit(this, phase, duration, records);
+        }
+    }
+
+    /**
+     * @param outputs the outputs of the component.
+     * @return outputs counting the emitted records per branch.
+     */
+    public OutputFactory count(final OutputFactory outputs) {
+        return branch -> {
+            final OutputEmitter emitter = outputs.create(branch);
+            final LongAdder counter = recordsOut.computeIfAbsent(branch, k -> new LongAdder());
+            return value -> {
+                counter.increment();
+                emitter.emit(value);
+            };
+        };
+    }
+
+    @Override
+    public long getRecordsIn() {
+        return recordsIn.sum();
+    }
+
+    @Override
+    public Map<String, Long> getRecordsOut() {
+        return recordsOut
+                .entrySet()
+                .stream()
+                .collect(toMap(Map.Entry::getKey, e -> e.getValue().sum(), (a, b) -> a, TreeMap::new));
+    }
+
+    @Override
+    public Histogram.Snapshot getProducerDuration() {
+        return producer.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getElementListenerDuration() {
+        return elementListener.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getAfterGroupDuration() {
+        return afterGroup.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getBatchSize() {
+        return batchSize.snapshot();
+    }
+
+    @Override
+    public int getChunkSize() {
+        final IntSupplier gauge = chunkSizeGauge;
+        return gauge == null ? 0 : gauge.getAsInt();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        final IntSupplier gauge = queueDepthGauge;
+        return gauge == null ? 0 : gauge.getAsInt();
+    }
+}
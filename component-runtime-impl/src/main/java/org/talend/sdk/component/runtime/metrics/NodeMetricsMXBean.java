@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of a component, durations are in nanoseconds.
+ */
+public interface NodeMetricsMXBean {
+
+    long getRecordsIn();
+
+    Map<String, Long> getRecordsOut();
+
+    Histogram.Snapshot getProducerDuration();
+
+    Histogram.Snapshot getElementListenerDuration();
+
+    Histogram.Snapshot getAfterGroupDuration();
+
+    Histogram.Snapshot getBatchSize();
+
+    int getChunkSize();
+
+    int getQueueDepth();
+}
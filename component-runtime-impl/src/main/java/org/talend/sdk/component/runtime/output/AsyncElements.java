@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.output;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import org.talend.sdk.component.api.processor.OutputEmitter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Elements of an asynchronous {@link org.talend.sdk.component.api.processor.ElementListener} being processed.
+ * What an element emits is buffered and forwarded to the output factory of the runtime thread when the element
+ * completes, so the outputs are never used concurrently.
+ */
+@RequiredArgsConstructor
+class AsyncElements {
+
+    private final int maxInFlight;
+
+    private final boolean ordered;
+
+    private final Deque<Element> inFlight = new ArrayDeque<>();
+
+    /**
+     * Waits until a new element can be processed.
+     *
+     * @param output where the completed elements are emitted.
+     */
+    void reserve(final OutputFactory output) {
+        emitCompleted(output);
+        while (inFlight.size() >= maxInFlight) {
+            awaitOne();
+            emitCompleted(output);
+        }
+    }
+
+    BufferedOutputs newOutputs() {
+        return new BufferedOutputs();
+    }
+
+    void add(final Object stage, final BufferedOutputs outputs, final OutputFactory output) {
+        final CompletableFuture<?> future = stage == null ? CompletableFuture.completedFuture(null)
+                : CompletionStage.class.cast(stage).toCompletableFuture();
+        inFlight.add(new Element(future, outputs));
+        emitCompleted(output);
+    }
+
+    /**
+     * Waits for all the elements and emits their outputs.
+     *
+     * @param output where the elements are emitted.
+     */
+    void complete(final OutputFactory output) {
+        while (!inFlight.isEmpty()) {
+            awaitOne();
+            emitCompleted(output);
+        }
+    }
+
+    void cancel() {
+        inFlight.forEach(e -> e.future.cancel(true));
+        inFlight.clear();
+    }
+
+    private void awaitOne() {
+        try {
+            if (ordered) {
+                inFlight.peek().future.join();
+            } else {
+                CompletableFuture.anyOf(inFlight.stream().map(e -> e.future).toArray(CompletableFuture[]::new)).join();
+            }
+        } catch (final CompletionException | CancellationException e) {
+            // handled when emitting the element
+        }
+    }
+
+    private void emitCompleted(final OutputFactory output) {
+        if (ordered) {
+            while (!inFlight.isEmpty() && inFlight.peek().future.isDone()) {
+                emit(inFlight.poll(), output);
+            }
+        } else {
+            final Iterator<Element> iterator = inFlight.iterator();
+            while (iterator.hasNext()) {
+                final Element element = iterator.next();
+                if (element.future.isDone()) {
+                    iterator.remove();
+                    emit(element, output);
+                }
+            }
+        }
+    }
+
+    private void emit(final Element element, final OutputFactory output) {
+        final Object value;
+        try {
+            value = element.future.join();
+        } catch (final CompletionException | CancellationException e) {
+            cancel(); // the group fails, don't let the other elements run for nothing
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (RuntimeException.class.isInstance(cause)) {
+                throw RuntimeException.class.cast(cause);
+            }
+            throw new IllegalStateException(cause);
+        }
+        element.outputs.replay(output);
+        if (value != null) {
+            output.create(Branches.DEFAULT_BRANCH).emit(value);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Element {
+
+        private final CompletableFuture<?> future;
+
+        private final BufferedOutputs outputs;
+    }
+
+    /**
+     * Output factory an element can emit to from any thread.
+     */
+    static class BufferedOutputs implements OutputFactory {
+
+        private final List<Map.Entry<String, Object>> values = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public OutputEmitter create(final String name) {
+            return value -> values.add(new AbstractMap.SimpleEntry<>(name, value));
+        }
+
+        private void replay(final OutputFactory output) {
+            synchronized (values) {
+                values.forEach(e -> output.create(e.getKey()).emit(e.getValue()));
+                values.clear();
+            }
+        }
+    }
+}
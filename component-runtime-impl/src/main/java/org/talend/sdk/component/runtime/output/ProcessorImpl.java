@@ -33,10 +33,12 @@ import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -57,6 +59,9 @@ import org.talend.sdk.component.api.processor.Output;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
+import org.talend.sdk.component.runtime.base.MethodInvoker;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.metrics.NodeMetrics;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.record.RecordConverters;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
@@ -70,10 +75,13 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     private transient List<Method> afterGroup;
 
-    private transient Method process;
+    private transient MethodInvoker process;
 
     private transient List<BiFunction<InputFactory, OutputFactory, Object>> parameterBuilderProcess;
 
+    // a processor instance is not used concurrently so the @ElementListener arguments array is reused
+    private transient Object[] processArgs;
+
     private transient Map<Method, List<Function<OutputFactory, Object>>> parameterBuilderAfterGroup;
 
     private transient Jsonb jsonb;
@@ -86,8 +94,13 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     private transient boolean forwardReturn;
 
+    // not null when the @ElementListener returns a CompletionStage
+    private transient AsyncElements async;
+
     private transient RecordConverters converter;
 
+    private transient NodeMetrics metrics; // null when disabled
+
     private transient Class<?> expectedRecordType;
 
     private transient Collection<Object> records;
@@ -115,11 +128,13 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
         if (beforeGroup == null) {
             beforeGroup = findMethods(BeforeGroup.class).collect(toList());
             afterGroup = findMethods(AfterGroup.class).collect(toList());
-            process = findMethods(ElementListener.class).findFirst().orElse(null);
+            final Method listener = findMethods(ElementListener.class).findFirst().orElse(null);
+            process = listener == null ? null : MethodInvoker.of(listener);
 
             // IMPORTANT: ensure you call only once the create(....), see studio integration (mojo)
-            parameterBuilderProcess = process == null ? emptyList()
-                    : Stream.of(process.getParameters()).map(this::buildProcessParamBuilder).collect(toList());
+            parameterBuilderProcess = listener == null ? emptyList()
+                    : Stream.of(listener.getParameters()).map(this::buildProcessParamBuilder).collect(toList());
+            processArgs = new Object[parameterBuilderProcess.size()];
             parameterBuilderAfterGroup = afterGroup
                     .stream()
                     .map(after -> new AbstractMap.SimpleEntry<>(after, Stream.of(after.getParameters()).map(param -> {
@@ -133,11 +148,17 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
                         return toOutputParamBuilder(param);
                     }).collect(toList())))
                     .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
-            forwardReturn = process != null && process.getReturnType() != void.class;
+            if (listener != null && CompletionStage.class.isAssignableFrom(listener.getReturnType())) {
+                final ElementListener config = listener.getAnnotation(ElementListener.class);
+                async = new AsyncElements(Math.max(1, config.maxInFlight()), config.ordered());
+            }
+            forwardReturn = listener != null && listener.getReturnType() != void.class && async == null;
 
             converter = new RecordConverters();
 
             mappings = new RecordConverters.MappingMetaRegistry();
+
+            metrics = ComponentMetrics.find(plugin(), rootName(), name());
         }
 
         beforeGroup.forEach(this::doInvoke);
@@ -239,13 +260,21 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     @Override
     public void afterGroup(final OutputFactory output) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final OutputFactory outputs = metrics == null ? output : metrics.count(output);
+        if (async != null) {
+            async.complete(outputs);
+        }
         afterGroup
                 .forEach(after -> doInvoke(after,
                         parameterBuilderAfterGroup
                                 .get(after)
                                 .stream()
-                                .map(b -> b.apply(output))
+                                .map(b -> b.apply(outputs))
                                 .toArray(Object[]::new)));
+        if (metrics != null) {
+            metrics.onCall(NodeMetrics.Phase.AFTER_GROUP, start, records == null ? 0 : records.size());
+        }
         if (records != null) {
             records = null;
         }
@@ -253,21 +282,52 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     @Override
     public void onNext(final InputFactory inputFactory, final OutputFactory outputFactory) {
+        if (metrics == null) {
+            doOnNext(inputFactory, outputFactory);
+            return;
+        }
+        final long start = System.nanoTime();
+        metrics.onRecordsIn(1);
+        doOnNext(inputFactory, metrics.count(outputFactory));
+        metrics.onCall(NodeMetrics.Phase.ELEMENT_LISTENER, start, 1);
+    }
+
+    private void doOnNext(final InputFactory inputFactory, final OutputFactory outputFactory) {
         if (process == null) {
             // todo: handle @Input there too? less likely it becomes useful
             records.add(doConvertInput(expectedRecordType, inputFactory.read(Branches.DEFAULT_BRANCH)));
+        } else if (async != null) {
+            async.reserve(outputFactory);
+            final AsyncElements.BufferedOutputs outputs = async.newOutputs();
+            async.add(invokeProcess(inputFactory, outputs), outputs, outputFactory);
         } else {
-            final Object[] args = parameterBuilderProcess
-                    .stream()
-                    .map(b -> b.apply(inputFactory, outputFactory))
-                    .toArray(Object[]::new);
-            final Object out = doInvoke(process, args);
+            final Object out = invokeProcess(inputFactory, outputFactory);
             if (forwardReturn) {
                 outputFactory.create(Branches.DEFAULT_BRANCH).emit(out);
             }
         }
     }
 
+    private Object invokeProcess(final InputFactory inputFactory, final OutputFactory outputFactory) {
+        final Object[] args = processArgs;
+        for (int i = 0; i < args.length; i++) {
+            args[i] = parameterBuilderProcess.get(i).apply(inputFactory, outputFactory);
+        }
+        try {
+            return doInvoke(process, args);
+        } finally {
+            Arrays.fill(args, null); // don't retain the last record
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (async != null) { // elements of a group which did not complete
+            async.cancel();
+        }
+        super.stop();
+    }
+
     @Override
     public Object getDelegate() {
         return delegate;
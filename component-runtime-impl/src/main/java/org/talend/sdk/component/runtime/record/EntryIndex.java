@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Name to position table of the entries of a schema (positions follow {@link Schema#getAllEntries()}).
+ * It also assigns a slot in the long/double storage of {@link IndexedValues} to the primitive entries.
+ * For {@link SchemaImpl} it is computed once and shared by all the records of this schema.
+ */
+final class EntryIndex {
+
+    private final Schema.Entry[] entries;
+
+    private final Map<String, Integer> positions;
+
+    // slot in the long or double storage (depending the entry type), -1 for object entries
+    private final int[] primitiveSlots;
+
+    private final int longCount;
+
+    private final int doubleCount;
+
+    EntryIndex(final Schema schema) {
+        this.entries = schema.getAllEntries().toArray(Schema.Entry[]::new);
+        this.positions = new HashMap<>((int) (entries.length / .75f) + 1);
+        this.primitiveSlots = new int[entries.length];
+        int longs = 0;
+        int doubles = 0;
+        for (int i = 0; i < entries.length; i++) {
+            positions.put(entries[i].getName(), i);
+            if (isLongType(entries[i].getType())) {
+                primitiveSlots[i] = longs++;
+            } else if (isDoubleType(entries[i].getType())) {
+                primitiveSlots[i] = doubles++;
+            } else {
+                primitiveSlots[i] = -1;
+            }
+        }
+        this.longCount = longs;
+        this.doubleCount = doubles;
+    }
+
+    static boolean isLongType(final Schema.Type type) {
+        return type == Schema.Type.INT || type == Schema.Type.LONG || type == Schema.Type.BOOLEAN;
+    }
+
+    static boolean isDoubleType(final Schema.Type type) {
+        return type == Schema.Type.FLOAT || type == Schema.Type.DOUBLE;
+    }
+
+    static EntryIndex of(final Schema schema) {
+        if (SchemaImpl.class.isInstance(schema)) {
+            return SchemaImpl.class.cast(schema).getEntryIndex();
+        }
+        return new EntryIndex(schema);
+    }
+
+    int indexOf(final String name) {
+        final Integer position = positions.get(name);
+        return position == null ? -1 : position;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    Schema.Entry getEntry(final int position) {
+        return entries[position];
+    }
+
+    int getPrimitiveSlot(final int position) {
+        return primitiveSlots[position];
+    }
+
+    int getLongCount() {
+        return longCount;
+    }
+
+    int getDoubleCount() {
+        return doubleCount;
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Values of a record laid out by an {@link EntryIndex}.
+ * INT, LONG and BOOLEAN values are stored unboxed in a long[], FLOAT and DOUBLE ones in a double[],
+ * a bitmap tracks which primitive slots are set. Any other value (or a primitive entry valued with another
+ * java type than its natural wrapper) is stored as an object.
+ */
+final class IndexedValues {
+
+    private static final long[] NO_LONG = new long[0];
+
+    private static final double[] NO_DOUBLE = new double[0];
+
+    private final EntryIndex index;
+
+    private final Object[] objects;
+
+    private final long[] longs;
+
+    private final double[] doubles;
+
+    // bit set when the primitive slot of the position holds the value
+    private final long[] primitives;
+
+    IndexedValues(final EntryIndex index) {
+        this.index = index;
+        this.objects = new Object[index.size()];
+        this.longs = index.getLongCount() == 0 ? NO_LONG : new long[index.getLongCount()];
+        this.doubles = index.getDoubleCount() == 0 ? NO_DOUBLE : new double[index.getDoubleCount()];
+        this.primitives = longs.length + doubles.length == 0 ? NO_LONG : new long[(index.size() + 63) >>> 6];
+    }
+
+    EntryIndex getIndex() {
+        return index;
+    }
+
+    int size() {
+        return objects.length;
+    }
+
+    boolean isNull(final int position) {
+        return objects[position] == null && !isPrimitive(position);
+    }
+
+    boolean isPrimitive(final int position) {
+        return primitives.length != 0 && (primitives[position >>> 6] & (1L << position)) != 0;
+    }
+
+    long getLong(final int position) {
+        return longs[index.getPrimitiveSlot(position)];
+    }
+
+    double getDouble(final int position) {
+        return doubles[index.getPrimitiveSlot(position)];
+    }
+
+    Object get(final String name) {
+        final int position = index.indexOf(name);
+        return position < 0 ? null : get(position);
+    }
+
+    Object get(final int position) {
+        if (!isPrimitive(position)) {
+            return objects[position];
+        }
+        switch (index.getEntry(position).getType()) {
+        case INT:
+            return (int) getLong(position);
+        case LONG:
+            return getLong(position);
+        case BOOLEAN:
+            return getLong(position) != 0;
+        case FLOAT:
+            return (float) getDouble(position);
+        default: // DOUBLE
+            return getDouble(position);
+        }
+    }
+
+    void set(final int position, final Object value) {
+        if (value != null && index.getPrimitiveSlot(position) >= 0) {
+            switch (index.getEntry(position).getType()) {
+            case INT:
+                if (Integer.class.isInstance(value)) {
+                    setLong(position, Integer.class.cast(value));
+                    return;
+                }
+                break;
+            case LONG:
+                if (Long.class.isInstance(value)) {
+                    setLong(position, Long.class.cast(value));
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (Boolean.class.isInstance(value)) {
+                    setLong(position, Boolean.class.cast(value) ? 1 : 0);
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (Float.class.isInstance(value)) {
+                    setDouble(position, Float.class.cast(value));
+                    return;
+                }
+                break;
+            default: // DOUBLE
+                if (Double.class.isInstance(value)) {
+                    setDouble(position, Double.class.cast(value));
+                    return;
+                }
+            }
+        }
+        clearPrimitive(position);
+        objects[position] = value;
+    }
+
+    void setLong(final int position, final long value) {
+        longs[index.getPrimitiveSlot(position)] = value;
+        objects[position] = null;
+        primitives[position >>> 6] |= 1L << position;
+    }
+
+    void setDouble(final int position, final double value) {
+        doubles[index.getPrimitiveSlot(position)] = value;
+        objects[position] = null;
+        primitives[position >>> 6] |= 1L << position;
+    }
+
+    private void clearPrimitive(final int position) {
+        if (primitives.length != 0) {
+            primitives[position >>> 6] &= ~(1L << position);
+        }
+    }
+
+    // only the live slots are compared, a cleared primitive slot keeps its previous raw value
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!IndexedValues.class.isInstance(obj)) {
+            return false;
+        }
+        final IndexedValues other = IndexedValues.class.cast(obj);
+        if (other.size() != size()) {
+            return false;
+        }
+        for (int i = 0; i < objects.length; i++) {
+            if (!Objects.equals(get(i), other.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < objects.length; i++) {
+            hash = 31 * hash + Objects.hashCode(get(i));
+        }
+        return hash;
+    }
+
+    Map<String, Object> toMap() {
+        final Map<String, Object> map = new HashMap<>((int) (objects.length / .75f) + 1);
+        for (int i = 0; i < objects.length; i++) {
+            if (!isNull(i)) {
+                map.put(index.getEntry(i).getName(), get(i));
+            }
+        }
+        return map;
+    }
+
+    static IndexedValues of(final Schema schema, final Map<String, Object> values) {
+        final IndexedValues indexed = new IndexedValues(EntryIndex.of(schema));
+        for (int i = 0; i < indexed.size(); i++) {
+            final Object value = values.get(indexed.index.getEntry(i).getName());
+            if (value != null) {
+                indexed.set(i, value);
+            }
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,388 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Read only {@link Record} view over a {@link JsonObject}: values are converted when they are read
+ * and the schema is only inferred if requested.
+ *
+ * It exposes exactly what {@link RecordConverters#toRecord} builds for the same object
+ * (numbers are doubles, nested objects are records, null values are absent),
+ * the schema being inferred once per object shape (keys and value types).
+ * It is equal to any record with the same schema and entry values.
+ */
+public final class JsonRecord implements Record {
+
+    private static final RecordConverters RECORD_CONVERTERS = new RecordConverters();
+
+    private static final int MAX_CACHED_SHAPES =
+            Integer.getInteger("talend.component.runtime.record.json.shapes.cache.size", 1024);
+
+    // shapes are generally few per flow, the least recently used ones are evicted if a flow is too heterogeneous,
+    // caches are stored on the factory class so they go away with the classloader which loaded it
+    private static final ClassValue<Map<List<Object>, ShapeInfo>> SHAPES =
+            new ClassValue<Map<List<Object>, ShapeInfo>>() {
+
+                @Override
+                protected Map<List<Object>, ShapeInfo> computeValue(final Class<?> type) {
+                    return Collections.synchronizedMap(new LinkedHashMap<List<Object>, ShapeInfo>(16, .75f, true) {
+
+                        @Override
+                        protected boolean removeEldestEntry(final Map.Entry<List<Object>, ShapeInfo> eldest) {
+                            return size() > MAX_CACHED_SHAPES;
+                        }
+                    });
+                }
+            };
+
+    private final RecordBuilderFactory factory;
+
+    private Supplier<JsonObject> parser;
+
+    private volatile JsonObject object;
+
+    private volatile ShapeInfo shape;
+
+    // whether all the keys are kept as entry names, null until computed
+    private volatile Boolean portableKeys;
+
+    private JsonRecord(final RecordBuilderFactory factory, final JsonObject object, final ShapeInfo shape) {
+        this.factory = factory;
+        this.object = object;
+        this.shape = shape;
+    }
+
+    private JsonRecord(final RecordBuilderFactory factory, final Supplier<JsonObject> parser) {
+        this.factory = factory;
+        this.parser = parser;
+    }
+
+    public static Record of(final RecordBuilderFactory factory, final JsonObject object) {
+        return new JsonRecord(factory, object, null);
+    }
+
+    /**
+     * @param factory the factory used to infer the schema.
+     * @param readerFactory the factory used to parse the JSON.
+     * @param json the JSON object bytes, they are only parsed when the record is read.
+     * @return a record view over the JSON object.
+     */
+    public static Record of(final RecordBuilderFactory factory, final JsonReaderFactory readerFactory,
+            final byte[] json) {
+        return new JsonRecord(factory, () -> {
+            try (final JsonReader reader = readerFactory.createReader(new ByteArrayInputStream(json))) {
+                return reader.readObject();
+            }
+        });
+    }
+
+    public JsonObject getJsonObject() {
+        JsonObject result = object;
+        if (result == null) {
+            synchronized (this) {
+                result = object;
+                if (result == null) {
+                    result = parser.get();
+                    object = result;
+                    parser = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Schema getSchema() {
+        return shape().schema;
+    }
+
+    @Override
+    public <T> T get(final Class<T> expectedType, final String name) {
+        final Object value = toValue(findValue(name), name);
+        if (value == null || expectedType.isInstance(value)) {
+            return expectedType.cast(value);
+        }
+        return RECORD_CONVERTERS.coerce(expectedType, value, name);
+    }
+
+    @Override
+    public Builder withNewSchema(final Schema newSchema) {
+        return materialize().withNewSchema(newSchema);
+    }
+
+    // compared through the Record API (schema and entry values) so a view equals the record json2Record builds
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!Record.class.isInstance(obj)) {
+            return false;
+        }
+        if (JsonRecord.class.isInstance(obj) && factory.getClass() == JsonRecord.class.cast(obj).factory.getClass()
+                && getJsonObject().equals(JsonRecord.class.cast(obj).getJsonObject())) {
+            return true;
+        }
+        return sameRecord(this, Record.class.cast(obj));
+    }
+
+    @Override
+    public int hashCode() {
+        return recordHash(this);
+    }
+
+    @Override // for debug purposes, don't use it for anything else
+    public String toString() {
+        try {
+            return RecordImpl.JsonWriterHolder.WRITER.toJson(this);
+        } catch (final Exception e) {
+            return super.toString();
+        }
+    }
+
+    private static boolean sameRecord(final Record record, final Record other) {
+        return record.getSchema().equals(other.getSchema())
+                && record
+                        .getSchema()
+                        .getAllEntries()
+                        .allMatch(entry -> sameValue(record.get(Object.class, entry.getName()),
+                                other.get(Object.class, entry.getName())));
+    }
+
+    private static boolean sameValue(final Object value, final Object other) {
+        if (Record.class.isInstance(value) && Record.class.isInstance(other)) {
+            return sameRecord(Record.class.cast(value), Record.class.cast(other));
+        }
+        if (Collection.class.isInstance(value) && Collection.class.isInstance(other)) {
+            final Collection<?> items = Collection.class.cast(value);
+            final Collection<?> otherItems = Collection.class.cast(other);
+            if (items.size() != otherItems.size()) {
+                return false;
+            }
+            final Iterator<?> otherIterator = otherItems.iterator();
+            return items.stream().allMatch(item -> sameValue(item, otherIterator.next()));
+        }
+        return Objects.equals(value, other);
+    }
+
+    private static int recordHash(final Record record) {
+        return record
+                .getSchema()
+                .getAllEntries()
+                .mapToInt(entry -> valueHash(record.get(Object.class, entry.getName())))
+                .reduce(record.getSchema().hashCode(), (hash, value) -> 31 * hash + value);
+    }
+
+    private static int valueHash(final Object value) {
+        if (Record.class.isInstance(value)) {
+            return recordHash(Record.class.cast(value));
+        }
+        if (Collection.class.isInstance(value)) {
+            return Collection.class
+                    .cast(value)
+                    .stream()
+                    .mapToInt(JsonRecord::valueHash)
+                    .reduce(1, (hash, item) -> 31 * hash + item);
+        }
+        return Objects.hashCode(value);
+    }
+
+    private Record materialize() {
+        return RECORD_CONVERTERS.json2Record(factory, getJsonObject());
+    }
+
+    private JsonValue findValue(final String name) {
+        final JsonObject json = getJsonObject();
+        if (shape == null && hasPortableKeys(json)) { // the keys are the entry names, no need of the schema
+            return json.get(name);
+        }
+        final String key = shape().keys.get(name);
+        return key == null ? null : json.get(key);
+    }
+
+    private boolean hasPortableKeys(final JsonObject json) {
+        Boolean result = portableKeys;
+        if (result == null) {
+            result = json.keySet().stream().allMatch(JsonRecord::isPortableName);
+            portableKeys = result;
+        }
+        return result;
+    }
+
+    private Object toValue(final JsonValue value, final String name) {
+        if (value == null) {
+            return null;
+        }
+        switch (value.getValueType()) {
+        case STRING:
+            return JsonString.class.cast(value).getString();
+        case NUMBER:
+            return JsonNumber.class.cast(value).doubleValue();
+        case TRUE:
+            return true;
+        case FALSE:
+            return false;
+        case OBJECT:
+            final ShapeInfo knownShape = shape;
+            return new JsonRecord(factory, value.asJsonObject(), knownShape == null ? null : knownShape.child(name));
+        case ARRAY:
+            return value.asJsonArray().stream().map(this::toItem).collect(toList());
+        default: // NULL
+            return null;
+        }
+    }
+
+    // same mapping than RecordConverters#mapJson
+    private Object toItem(final JsonValue value) {
+        switch (value.getValueType()) {
+        case OBJECT:
+            return new JsonRecord(factory, value.asJsonObject(), null);
+        case ARRAY:
+            return value.asJsonArray().stream().map(this::toItem).collect(toList());
+        case STRING:
+            return JsonString.class.cast(value).getString();
+        case NUMBER:
+            return JsonNumber.class.cast(value).numberValue();
+        case TRUE:
+            return true;
+        case FALSE:
+            return false;
+        default: // NULL
+            return null;
+        }
+    }
+
+    private ShapeInfo shape() {
+        ShapeInfo result = shape;
+        if (result == null) {
+            final JsonObject json = getJsonObject();
+            final List<Object> key = new ArrayList<>(json.size() * 2 + 1);
+            appendShape(key, json);
+            final Map<List<Object>, ShapeInfo> shapes = SHAPES.get(factory.getClass());
+            result = shapes.get(key);
+            if (result == null) {
+                result = new ShapeInfo(RECORD_CONVERTERS.json2Record(factory, json).getSchema());
+                final ShapeInfo existing = shapes.putIfAbsent(key, result);
+                if (existing != null) {
+                    result = existing;
+                }
+            }
+            shape = result;
+        }
+        return result;
+    }
+
+    // everything the inferred schema depends on: keys order, value types, nested shapes and array items
+    private static void appendShape(final List<Object> shape, final JsonObject object) {
+        object.forEach((key, value) -> {
+            shape.add(key);
+            shape.add(valueShape(value, false));
+        });
+    }
+
+    private static Object valueShape(final JsonValue value, final boolean item) {
+        switch (value.getValueType()) {
+        case OBJECT:
+            final List<Object> nested = new ArrayList<>(value.asJsonObject().size() * 2);
+            appendShape(nested, value.asJsonObject());
+            return nested;
+        case ARRAY:
+            final JsonArray array = value.asJsonArray();
+            if (array.isEmpty()) {
+                return Collections.emptyList();
+            }
+            if (array.get(0).getValueType() != JsonValue.ValueType.OBJECT) { // only the first item is used
+                return Collections.singletonList(valueShape(array.get(0), true));
+            }
+            // the schemas of the record items are merged
+            return array.stream().map(it -> valueShape(it, true)).collect(toList());
+        case NUMBER: // array items are mapped to their natural number type
+            return item ? JsonNumber.class.cast(value).numberValue().getClass() : JsonValue.ValueType.NUMBER;
+        default:
+            return value.getValueType();
+        }
+    }
+
+    // names Schema#sanitizeConnectionName keeps as they are
+    private static boolean isPortableName(final String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        final char first = name.charAt(0);
+        if (!(first == '_' || (first >= 'a' && first <= 'z') || (first >= 'A' && first <= 'Z'))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (!(c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class ShapeInfo {
+
+        private final Schema schema;
+
+        // entry name to JSON key
+        private final Map<String, String> keys;
+
+        private final ConcurrentMap<String, ShapeInfo> children = new ConcurrentHashMap<>();
+
+        private ShapeInfo(final Schema schema) {
+            this.schema = schema;
+            this.keys = new HashMap<>();
+            schema.getAllEntries().forEach(entry -> keys.put(entry.getName(), entry.getOriginalFieldName()));
+        }
+
+        private ShapeInfo child(final String name) {
+            final Schema.Entry entry = schema.getEntry(name);
+            if (entry == null || entry.getElementSchema() == null) {
+                return null;
+            }
+            return children.computeIfAbsent(name, k -> new ShapeInfo(entry.getElementSchema()));
+        }
+    }
+}
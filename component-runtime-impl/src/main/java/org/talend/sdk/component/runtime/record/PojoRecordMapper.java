@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Copies the properties of a POJO type straight from/to records,
+ * it produces the same records and instances than the JSON-B mapping of the framework.
+ */
+public interface PojoRecordMapper {
+
+    /**
+     * @param pojo the instance to convert, must be an instance of the mapped type.
+     * @param factory the factory to use to create the record.
+     * @return the record representation of the instance.
+     */
+    Record toRecord(Object pojo, RecordBuilderFactory factory);
+
+    /**
+     * @param record the record to convert.
+     * @return a new instance of the mapped type or null if the record schema requires a JSON-B mapping.
+     */
+    Object toPojo(Record record);
+}
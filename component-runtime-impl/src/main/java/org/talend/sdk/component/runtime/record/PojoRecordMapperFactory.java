@@ -0,0 +1,29 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+/**
+ * SPI (loaded with the {@link java.util.ServiceLoader}) creating the {@link PojoRecordMapper} used by
+ * {@link RecordConverters} instead of the JSON-B round trip.
+ */
+public interface PojoRecordMapperFactory {
+
+    /**
+     * @param type the POJO type to map.
+     * @return the mapper for this type or null if the type can't be mapped without JSON-B.
+     */
+    PojoRecordMapper create(Class<?> type);
+}
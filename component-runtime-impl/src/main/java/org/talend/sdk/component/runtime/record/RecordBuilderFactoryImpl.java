@@ -32,6 +32,9 @@ import lombok.Data;
 @Data
 public class RecordBuilderFactoryImpl implements RecordBuilderFactory, Serializable {
 
+    // shared by all the plugins since the runtime classes are loaded once
+    private static final SchemaInterner SCHEMA_INTERNER = new SchemaInterner();
+
     protected final String plugin;
 
     @Override
@@ -139,11 +142,26 @@ public class RecordBuilderFactoryImpl implements RecordBuilderFactory, Serializa
         return new RecordImpl.BuilderImpl();
     }
 
+    @Override
+    public Record.Builder newReusableRecordBuilder(final Schema schema) {
+        return newRecordBuilder(schema); // all our builders support reset()
+    }
+
+    @Override
+    public Record.Builder newReusableRecordBuilder() {
+        return newRecordBuilder();
+    }
+
     @Override
     public Schema.Entry.Builder newEntryBuilder() {
         return new SchemaImpl.EntryImpl.BuilderImpl();
     }
 
+    @Override
+    public Schema intern(final Schema schema) {
+        return SCHEMA_INTERNER.intern(schema);
+    }
+
     Object writeReplace() throws ObjectStreamException {
         return new SerializableService(plugin, RecordBuilderFactory.class.getName());
     }
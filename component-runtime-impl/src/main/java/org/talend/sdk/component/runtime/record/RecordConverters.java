@@ -26,13 +26,15 @@ import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Base64;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -58,11 +60,35 @@ import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.record.json.OutputRecordHolder;
 import org.talend.sdk.component.runtime.record.json.PojoJsonbProvider;
+import org.talend.sdk.component.runtime.record.json.RecordJsonMapping;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 public class RecordConverters implements Serializable {
 
+    // JsonRecord views are only returned for the default factory, any other factory gets records it built itself
+    private static final boolean LAZY_JSON_RECORDS =
+            !Boolean.getBoolean("talend.component.runtime.record.json.lazy.skip");
+
+    /**
+     * Converts the data to a record.
+     *
+     * A {@link JsonObject} is wrapped in a lazy {@link JsonRecord} view only when the factory is exactly
+     * {@link RecordBuilderFactoryImpl} (subclasses and other implementations get an eagerly built record)
+     * and {@code talend.component.runtime.record.json.lazy.skip} system property is not set to {@code true}.
+     *
+     * @param registry the mapping registry.
+     * @param data the data to convert.
+     * @param jsonbProvider the JSON-B mapper provider.
+     * @param recordBuilderProvider the record builder factory provider.
+     * @param <T> the data type.
+     * @return the record or null if the data is null.
+     */
     public <T> Record toRecord(final MappingMetaRegistry registry, final T data, final Supplier<Jsonb> jsonbProvider,
             final Supplier<RecordBuilderFactory> recordBuilderProvider) {
         if (data == null) {
@@ -72,7 +98,11 @@ public class RecordConverters implements Serializable {
             return Record.class.cast(data);
         }
         if (JsonObject.class.isInstance(data)) {
-            return json2Record(recordBuilderProvider.get(), JsonObject.class.cast(data));
+            final RecordBuilderFactory factory = recordBuilderProvider.get();
+            if (LAZY_JSON_RECORDS && RecordBuilderFactoryImpl.class == factory.getClass()) {
+                return JsonRecord.of(factory, JsonObject.class.cast(data));
+            }
+            return json2Record(factory, JsonObject.class.cast(data));
         }
 
         final MappingMeta meta = registry.find(data.getClass());
@@ -83,6 +113,10 @@ public class RecordConverters implements Serializable {
         final Jsonb jsonb = jsonbProvider.get();
         if (!String.class.isInstance(data) && !data.getClass().isPrimitive()
                 && PojoJsonbProvider.class.isInstance(jsonb)) {
+            final PojoRecordMapper mapper = meta.getPojoMapper();
+            if (mapper != null) {
+                return mapper.toRecord(data, recordBuilderProvider.get());
+            }
             final Jsonb pojoMapper = PojoJsonbProvider.class.cast(jsonb).get();
             final OutputRecordHolder holder = new OutputRecordHolder(data);
             try (final OutputRecordHolder stream = holder) {
@@ -93,7 +127,7 @@ public class RecordConverters implements Serializable {
         return json2Record(recordBuilderProvider.get(), jsonb.fromJson(jsonb.toJson(data), JsonObject.class));
     }
 
-    private Record json2Record(final RecordBuilderFactory factory, final JsonObject object) {
+    Record json2Record(final RecordBuilderFactory factory, final JsonObject object) {
         final Record.Builder builder = factory.newRecordBuilder();
         object.forEach((key, value) -> {
             switch (value.getValueType()) {
@@ -271,6 +305,13 @@ public class RecordConverters implements Serializable {
                 if (mappingMeta.isLinearMapping()) {
                     return mappingMeta.newInstance(record, metadata);
                 }
+                final PojoRecordMapper mapper = mappingMeta.getPojoMapper();
+                if (mapper != null && PojoJsonbProvider.class.isInstance(jsonbProvider.get())) {
+                    final Object instance = mapper.toPojo(record);
+                    if (instance != null) {
+                        return instance;
+                    }
+                }
             }
             final JsonObject asJson = toJson(factorySupplier, providerSupplier, record);
             if (JsonObject.class == parameterType) {
@@ -294,148 +335,43 @@ public class RecordConverters implements Serializable {
 
     private JsonObjectBuilder buildRecord(final JsonBuilderFactory factory,
             final Supplier<JsonProvider> providerSupplier, final Record record) {
-        final Schema schema = record.getSchema();
         final JsonObjectBuilder builder = factory.createObjectBuilder();
-        schema.getEntries().forEach(entry -> {
-            final String name = entry.getName();
-            switch (entry.getType()) {
-            case STRING: {
-                final String value = record.get(String.class, name);
-                if (value != null) {
-                    builder.add(name, value);
-                }
-                break;
-            }
-            case INT: {
-                final Integer value = record.get(Integer.class, name);
-                if (value != null) {
-                    builder.add(name, value);
-                }
-                break;
-            }
-            case LONG: {
-                final Long value = record.get(Long.class, name);
-                if (value != null) {
-                    builder.add(name, value);
-                }
-                break;
-            }
-            case FLOAT: {
-                final Float value = record.get(Float.class, name);
-                if (value != null) {
-                    builder.add(name, value);
-                }
-                break;
-            }
-            case DOUBLE: {
-                final Double value = record.get(Double.class, name);
-                if (value != null) {
-                    builder.add(name, value);
-                }
-                break;
-            }
-            case BOOLEAN: {
-                final Boolean value = record.get(Boolean.class, name);
-                if (value != null) {
-                    builder.add(name, value);
-                }
-                break;
-            }
-            case BYTES: {
-                final byte[] value = record.get(byte[].class, name);
-                if (value != null) {
-                    builder.add(name, Base64.getEncoder().encodeToString(value));
-                }
-                break;
-            }
-            case DATETIME: {
-                final ZonedDateTime value = record.get(ZonedDateTime.class, name);
-                if (value != null) {
-                    builder.add(name, value.format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
-                }
-                break;
-            }
-            case DECIMAL: {
-                final BigDecimal value = record.get(BigDecimal.class, name);
-                if (value != null) {
-                    builder.add(name, value.toString());
-                }
-                break;
-            }
-            case RECORD: {
-                final Record value = record.get(Record.class, name);
-                if (value != null) {
-                    builder.add(name, buildRecord(factory, providerSupplier, value));
-                }
-                break;
-            }
-            case ARRAY:
-                final Collection<?> collection = record.get(Collection.class, name);
-                if (collection == null) {
-                    break;
-                }
-                if (collection.isEmpty()) {
-                    builder.add(name, factory.createArrayBuilder().build());
-                } else { // only homogeneous collections
-                    final Object item = collection.iterator().next();
-                    if (String.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name, toArray(factory, v -> jsonProvider.createValue(String.class.cast(v)),
-                                        collection));
-                    } else if (Double.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name, toArray(factory, v -> jsonProvider.createValue(Double.class.cast(v)),
-                                        collection));
-                    } else if (Float.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name, toArray(factory, v -> jsonProvider.createValue(Float.class.cast(v)),
-                                        collection));
-                    } else if (Integer.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name, toArray(factory, v -> jsonProvider.createValue(Integer.class.cast(v)),
-                                        collection));
-                    } else if (Long.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name, toArray(factory, v -> jsonProvider.createValue(Long.class.cast(v)),
-                                        collection));
-                    } else if (Boolean.class.isInstance(item)) {
-                        builder
-                                .add(name, toArray(factory,
-                                        v -> Boolean.class.cast(v) ? JsonValue.TRUE : JsonValue.FALSE, collection));
-                    } else if (ZonedDateTime.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name,
-                                        toArray(factory, v -> jsonProvider
-                                                .createValue(ZonedDateTime.class.cast(v).toInstant().toEpochMilli()),
-                                                collection));
-                    } else if (Date.class.isInstance(item)) {
-                        final JsonProvider jsonProvider = providerSupplier.get();
-                        builder
-                                .add(name, toArray(factory, v -> jsonProvider.createValue(Date.class.cast(v).getTime()),
-                                        collection));
-                    } else if (Record.class.isInstance(item)) {
-                        builder
-                                .add(name, toArray(factory,
-                                        v -> buildRecord(factory, providerSupplier, Record.class.cast(v)).build(),
-                                        collection));
-                    } else if (JsonValue.class.isInstance(item)) {
-                        builder.add(name, toArray(factory, JsonValue.class::cast, collection));
-                    } // else throw?
-                }
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported type: " + entry.getType() + " for '" + name + "'");
+        record.getSchema().getEntries().forEach(entry -> {
+            final Object value = RecordJsonMapping.toJson(record, entry);
+            if (value != null) {
+                builder.add(entry.getName(), toJsonValue(factory, providerSupplier, value));
             }
         });
         return builder;
     }
 
+    // values normalized by RecordJsonMapping
+    private JsonValue toJsonValue(final JsonBuilderFactory factory, final Supplier<JsonProvider> providerSupplier,
+            final Object value) {
+        if (String.class.isInstance(value)) {
+            return providerSupplier.get().createValue(String.class.cast(value));
+        }
+        if (Integer.class.isInstance(value)) {
+            return providerSupplier.get().createValue(Integer.class.cast(value));
+        }
+        if (Long.class.isInstance(value)) {
+            return providerSupplier.get().createValue(Long.class.cast(value));
+        }
+        if (Double.class.isInstance(value)) {
+            return providerSupplier.get().createValue(Double.class.cast(value));
+        }
+        if (Boolean.class.isInstance(value)) {
+            return Boolean.class.cast(value) ? JsonValue.TRUE : JsonValue.FALSE;
+        }
+        if (Record.class.isInstance(value)) {
+            return buildRecord(factory, providerSupplier, Record.class.cast(value)).build();
+        }
+        if (Collection.class.isInstance(value)) {
+            return toArray(factory, v -> toJsonValue(factory, providerSupplier, v), Collection.class.cast(value));
+        }
+        return JsonValue.class.cast(value);
+    }
+
     private JsonArray toArray(final JsonBuilderFactory factory, final Function<Object, JsonValue> valueFactory,
             final Collection<?> collection) {
         final Collector<JsonValue, JsonArrayBuilder, JsonArray> collector = Collector
@@ -460,6 +396,8 @@ public class RecordConverters implements Serializable {
     @Data
     public static class MappingMeta {
 
+        private static final Collection<PojoRecordMapperFactory> POJO_MAPPER_FACTORIES = loadPojoMapperFactories();
+
         private final boolean linearMapping;
 
         private final Class<?> rowStruct;
@@ -472,6 +410,18 @@ public class RecordConverters implements Serializable {
 
         private Method visitRowStruct;
 
+        // lazy cache, not part of the mapping state
+        @Setter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private volatile PojoRecordMapper pojoMapper;
+
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private volatile boolean pojoMapperResolved;
+
         public MappingMeta(final Class<?> type, final MappingMetaRegistry registry) {
             linearMapping = Stream.of(type.getInterfaces()).anyMatch(it -> it.getName().startsWith("routines.system."));
             rowStruct = type;
@@ -529,6 +479,37 @@ public class RecordConverters implements Serializable {
             }
         }
 
+        /**
+         * @return the mapper copying the POJO properties without JSON-B or null if the type is not supported.
+         */
+        public PojoRecordMapper getPojoMapper() {
+            if (!pojoMapperResolved) {
+                synchronized (this) {
+                    if (!pojoMapperResolved) {
+                        pojoMapper = POJO_MAPPER_FACTORIES
+                                .stream()
+                                .map(factory -> factory.create(rowStruct))
+                                .filter(Objects::nonNull)
+                                .findFirst()
+                                .orElse(null);
+                        pojoMapperResolved = true;
+                    }
+                }
+            }
+            return pojoMapper;
+        }
+
+        private static Collection<PojoRecordMapperFactory> loadPojoMapperFactories() {
+            final Collection<PojoRecordMapperFactory> factories = new ArrayList<>();
+            try {
+                ServiceLoader
+                        .load(PojoRecordMapperFactory.class, MappingMeta.class.getClassLoader())
+                        .forEach(factories::add);
+            } catch (final ServiceConfigurationError e) {
+                // no direct mapping, JSON-B will be used
+            }
+            return factories;
+        }
     }
 
     @Data
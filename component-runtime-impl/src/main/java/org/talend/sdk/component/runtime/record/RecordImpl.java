@@ -16,8 +16,6 @@
 package org.talend.sdk.component.runtime.record;
 
 import static java.util.Collections.emptyMap;
-import static java.util.Collections.unmodifiableMap;
-import static java.util.stream.Collectors.joining;
 import static org.talend.sdk.component.api.record.Schema.Type.ARRAY;
 import static org.talend.sdk.component.api.record.Schema.Type.BOOLEAN;
 import static org.talend.sdk.component.api.record.Schema.Type.BYTES;
@@ -44,23 +42,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.json.Json;
-import javax.json.JsonObject;
-import javax.json.bind.Jsonb;
-import javax.json.bind.JsonbBuilder;
-import javax.json.bind.JsonbConfig;
 import javax.json.bind.annotation.JsonbTransient;
-import javax.json.bind.config.PropertyOrderStrategy;
-import javax.json.spi.JsonProvider;
 
 import org.talend.sdk.component.api.record.OrderedMap;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.record.Schema.EntriesOrder;
 import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.runtime.record.json.RecordJsonWriter;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -70,13 +66,14 @@ public final class RecordImpl implements Record {
 
     private static final RecordConverters RECORD_CONVERTERS = new RecordConverters();
 
-    private final Map<String, Object> values;
+    // values indexed by entry position in the schema, primitives are stored unboxed
+    private final IndexedValues values;
 
     @Getter
     @JsonbTransient
     private final Schema schema;
 
-    private RecordImpl(final Map<String, Object> values, final Schema schema) {
+    private RecordImpl(final IndexedValues values, final Schema schema) {
         this.values = values;
         this.schema = schema;
     }
@@ -92,18 +89,100 @@ public final class RecordImpl implements Record {
         return RECORD_CONVERTERS.coerce(expectedType, value, name);
     }
 
+    /**
+     * Reads an entry by its position, see {@link #indexOf(String)}, without looking its name up.
+     *
+     * @param expectedType the expected type of the value.
+     * @param position the position of the entry.
+     * @param <T> the type of the value.
+     * @return the value, converted as by {@link #get(Class, String)}.
+     */
+    public <T> T get(final Class<T> expectedType, final int position) {
+        final Object value = values.get(position);
+        if (value == null || expectedType.isInstance(value)) {
+            return expectedType.cast(value);
+        }
+        return RECORD_CONVERTERS.coerce(expectedType, value, values.getIndex().getEntry(position).getName());
+    }
+
+    /**
+     * @param name the entry name.
+     * @return the position of the entry, the same for all the records of this schema instance, or -1 if unknown.
+     */
+    public int indexOf(final String name) {
+        return values.getIndex().indexOf(name);
+    }
+
+    // primitive accessors read the unboxed storage when the entry has the requested type
+
+    @Override
+    public int getInt(final String name) {
+        final int position = primitivePosition(name, INT);
+        return position < 0 ? Record.super.getInt(name) : (int) values.getLong(position);
+    }
+
+    @Override
+    public long getLong(final String name) {
+        final int position = primitivePosition(name, LONG);
+        return position < 0 ? Record.super.getLong(name) : values.getLong(position);
+    }
+
+    @Override
+    public double getDouble(final String name) {
+        final int position = primitivePosition(name, DOUBLE);
+        return position < 0 ? Record.super.getDouble(name) : values.getDouble(position);
+    }
+
+    @Override
+    public float getFloat(final String name) {
+        final int position = primitivePosition(name, FLOAT);
+        return position < 0 ? Record.super.getFloat(name) : (float) values.getDouble(position);
+    }
+
+    @Override
+    public boolean getBoolean(final String name) {
+        final int position = primitivePosition(name, BOOLEAN);
+        return position < 0 ? Record.super.getBoolean(name) : values.getLong(position) != 0;
+    }
+
+    @Override
+    public OptionalInt getOptionalInt(final String name) {
+        final int position = primitivePosition(name, INT);
+        return position < 0 ? Record.super.getOptionalInt(name) : OptionalInt.of((int) values.getLong(position));
+    }
+
+    @Override
+    public OptionalLong getOptionalLong(final String name) {
+        final int position = primitivePosition(name, LONG);
+        return position < 0 ? Record.super.getOptionalLong(name) : OptionalLong.of(values.getLong(position));
+    }
+
+    @Override
+    public OptionalDouble getOptionalDouble(final String name) {
+        final int position = primitivePosition(name, DOUBLE);
+        return position < 0 ? Record.super.getOptionalDouble(name) : OptionalDouble.of(values.getDouble(position));
+    }
+
+    @Override
+    public OptionalDouble getOptionalFloat(final String name) {
+        final int position = primitivePosition(name, FLOAT);
+        return position < 0 ? Record.super.getOptionalFloat(name)
+                : OptionalDouble.of((float) values.getDouble(position));
+    }
+
+    private int primitivePosition(final String name, final Schema.Type type) {
+        final int position = values.getIndex().indexOf(name);
+        if (position < 0 || !values.isPrimitive(position)
+                || values.getIndex().getEntry(position).getType() != type) {
+            return -1;
+        }
+        return position;
+    }
+
     @Override // for debug purposes, don't use it for anything else
     public String toString() {
-        try (final Jsonb jsonb = JsonbBuilder
-                .create(new JsonbConfig()
-                        .withFormatting(true)
-                        .withPropertyOrderStrategy(PropertyOrderStrategy.LEXICOGRAPHICAL)
-                        .setProperty("johnzon.cdi.activated", false))) {
-            return new RecordConverters()
-                    .toType(new RecordConverters.MappingMetaRegistry(), this, JsonObject.class,
-                            () -> Json.createBuilderFactory(emptyMap()), JsonProvider::provider, () -> jsonb,
-                            () -> new RecordBuilderFactoryImpl("tostring"))
-                    .toString();
+        try {
+            return JsonWriterHolder.WRITER.toJson(this);
         } catch (final Exception e) {
             return super.toString();
         }
@@ -112,16 +191,36 @@ public final class RecordImpl implements Record {
     @Override
     public Builder withNewSchema(final Schema newSchema) {
         final BuilderImpl builder = new BuilderImpl(newSchema);
+        if (newSchema == schema) { // typically interned schemas, no need to compare the entries
+            newSchema.getAllEntries().forEach(e -> builder.with(e, values.get(e.getName())));
+            return builder;
+        }
         newSchema.getAllEntries()
                 .filter(e -> Objects.equals(schema.getEntry(e.getName()), e))
                 .forEach(e -> builder.with(e, values.get(e.getName())));
         return builder;
     }
 
+    // lazily initialized since JSON-P is only needed by toString
+    static final class JsonWriterHolder {
+
+        static final RecordJsonWriter WRITER = new RecordJsonWriter(Json.createGeneratorFactory(emptyMap()));
+
+        private JsonWriterHolder() {
+            // no-op
+        }
+    }
+
     // Entry creation can be optimized a bit but recent GC should not see it as a big deal
     public static class BuilderImpl implements Builder {
 
-        private final Map<String, Object> values = new HashMap<>(8);
+        // values of a dynamic schema, null when a schema is provided
+        private final Map<String, Object> values;
+
+        // values of a provided schema, null for a dynamic schema
+        private IndexedValues indexedValues;
+
+        private final EntryIndex entryIndex;
 
         private final OrderedMap<Schema.Entry> entries;
 
@@ -129,6 +228,16 @@ public final class RecordImpl implements Record {
 
         private OrderState orderState;
 
+        // last schema built without provided schema, shared by the next records with the same entries after a reset
+        private Schema lastSchema;
+
+        private List<Schema.Entry> lastEntries;
+
+        // number of entries appended since the reset matching lastEntries
+        private int shapePosition;
+
+        private boolean shapeChanged = true;
+
         public BuilderImpl() {
             this(null);
         }
@@ -136,9 +245,15 @@ public final class RecordImpl implements Record {
         public BuilderImpl(final Schema providedSchema) {
             this.providedSchema = providedSchema;
             if (this.providedSchema == null) {
+                this.values = new HashMap<>(8);
+                this.indexedValues = null;
+                this.entryIndex = null;
                 this.entries = new OrderedMap<>(Schema.Entry::getName, Collections.emptyList());
                 this.orderState = new OrderState(Collections.emptyList());
             } else {
+                this.values = null;
+                this.entryIndex = EntryIndex.of(providedSchema);
+                this.indexedValues = new IndexedValues(entryIndex);
                 this.entries = null;
             }
         }
@@ -160,13 +275,59 @@ public final class RecordImpl implements Record {
         private BuilderImpl(final List<Schema.Entry> entries, final Map<String, Object> values) {
             this.providedSchema = null;
             this.entries = new OrderedMap<>(Schema.Entry::getName, entries);
-            this.values.putAll(values);
+            this.values = new HashMap<>(values);
+            this.indexedValues = null;
+            this.entryIndex = null;
             this.orderState = null;
         }
 
+        @Override
+        public Builder reset() {
+            if (this.providedSchema != null) {
+                // built records own the previous values
+                this.indexedValues = new IndexedValues(this.entryIndex);
+                this.orderState = null;
+                return this;
+            }
+            this.values.clear();
+            this.entries.clear();
+            if (this.orderState != null) {
+                this.orderState.clear();
+            }
+            this.shapePosition = 0;
+            this.shapeChanged = this.lastEntries == null;
+            return this;
+        }
+
         @Override
         public Object getValue(final String name) {
-            return this.values.get(name);
+            if (this.values != null) {
+                return this.values.get(name);
+            }
+            return this.indexedValues.get(name);
+        }
+
+        private void putValue(final String name, final Object value) {
+            if (this.values != null) {
+                this.values.put(name, value);
+                return;
+            }
+            this.indexedValues.set(providedPosition(name), value);
+        }
+
+        private int providedPosition(final String name) {
+            final int position = this.entryIndex.indexOf(name);
+            if (position < 0) {
+                throw new IllegalArgumentException("No entry '" + name + "' expected in provided schema");
+            }
+            return position;
+        }
+
+        private Map<String, Object> valuesByName() {
+            if (this.values != null) {
+                return this.values;
+            }
+            return this.indexedValues.toMap();
         }
 
         @Override
@@ -218,13 +379,14 @@ public final class RecordImpl implements Record {
         @Override
         public Builder removeEntry(final Schema.Entry schemaEntry) {
             if (this.providedSchema == null) {
+                this.shapeChanged = true;
                 this.entries.removeValue(schemaEntry);
                 this.values.remove(schemaEntry.getName());
                 return this;
             }
 
             final BuilderImpl builder =
-                    new BuilderImpl(this.providedSchema.getAllEntries().collect(Collectors.toList()), this.values);
+                    new BuilderImpl(this.providedSchema.getAllEntries().collect(Collectors.toList()), valuesByName());
             return builder.removeEntry(schemaEntry);
         }
 
@@ -244,6 +406,7 @@ public final class RecordImpl implements Record {
                                             .getName()));
                 }
                 this.entries.replace(name, schemaEntry);
+                this.shapeChanged = true;
 
                 if (this.orderState != null) {
                     this.orderState.orderedEntries.replace(name, schemaEntry);
@@ -256,20 +419,21 @@ public final class RecordImpl implements Record {
 
             final BuilderImpl builder =
                     new BuilderImpl(this.providedSchema.getAllEntries().collect(Collectors.toList()),
-                            this.values);
+                            valuesByName());
             return builder.updateEntryByName(name, schemaEntry);
         }
 
         @Override
         public Builder updateEntryByName(final String name, final Entry schemaEntry,
                 final Function<Object, Object> valueCastFunction) {
-            Object currentValue = this.values.get(name);
-            this.values.put(name, valueCastFunction.apply(currentValue));
+            final Object currentValue = getValue(name);
+            putValue(name, valueCastFunction.apply(currentValue));
             return updateEntryByName(name, schemaEntry);
         }
 
         @Override
         public Builder before(final String entryName) {
+            this.shapeChanged = true;
             initOrderState();
             orderState.before(entryName);
             return this;
@@ -277,6 +441,7 @@ public final class RecordImpl implements Record {
 
         @Override
         public Builder after(final String entryName) {
+            this.shapeChanged = true;
             initOrderState();
             orderState.after(entryName);
             return this;
@@ -285,7 +450,8 @@ public final class RecordImpl implements Record {
         private Schema.Entry findExistingEntry(final String name) {
             final Schema.Entry entry;
             if (this.providedSchema != null) {
-                entry = this.providedSchema.getEntry(name);
+                final int position = this.entryIndex.indexOf(name);
+                entry = position < 0 ? null : this.entryIndex.getEntry(position);
             } else {
                 entry = this.entries.getValue(name);
             }
@@ -324,28 +490,41 @@ public final class RecordImpl implements Record {
         }
 
         public Record build() {
-            final Schema currentSchema;
             if (this.providedSchema != null) {
-                final String missing = this.providedSchema
-                        .getAllEntries()
-                        .filter(it -> !it.isNullable() && !values.containsKey(it.getName()))
-                        .map(Schema.Entry::getName)
-                        .collect(joining(", "));
-                if (!missing.isEmpty()) {
+                StringBuilder missing = null;
+                for (int i = 0; i < this.indexedValues.size(); i++) {
+                    final Schema.Entry entry = this.entryIndex.getEntry(i);
+                    if (!entry.isNullable() && this.indexedValues.isNull(i)) {
+                        if (missing == null) {
+                            missing = new StringBuilder(entry.getName());
+                        } else {
+                            missing.append(", ").append(entry.getName());
+                        }
+                    }
+                }
+                if (missing != null) {
                     throw new IllegalArgumentException("Missing entries: " + missing);
                 }
                 if (orderState != null && orderState.isOverride()) {
-                    currentSchema = this.providedSchema.toBuilder().build(this.orderState.buildComparator());
-                } else {
-                    currentSchema = this.providedSchema;
+                    final Schema currentSchema =
+                            this.providedSchema.toBuilder().build(this.orderState.buildComparator());
+                    return new RecordImpl(IndexedValues.of(currentSchema, valuesByName()), currentSchema);
                 }
+                return new RecordImpl(this.indexedValues, this.providedSchema);
+            }
+            final Schema currentSchema;
+            if (!this.shapeChanged && this.shapePosition == this.lastEntries.size()) {
+                currentSchema = this.lastSchema;
             } else {
                 final Schema.Builder builder = new SchemaImpl.BuilderImpl().withType(RECORD);
                 this.entries.forEachValue(builder::withEntry);
                 initOrderState();
                 currentSchema = builder.build(orderState.buildComparator());
+                this.lastSchema = currentSchema;
+                // captured with the schema, entries added after the build must not be part of the shape
+                this.lastEntries = this.entries.streams().collect(Collectors.toList());
             }
-            return new RecordImpl(unmodifiableMap(values), currentSchema);
+            return new RecordImpl(IndexedValues.of(currentSchema, this.values), currentSchema);
         }
 
         // here the game is to add an entry method for each kind of type + its companion with Entry provider
@@ -434,7 +613,11 @@ public final class RecordImpl implements Record {
 
         public Builder withInt(final Schema.Entry entry, final int value) {
             assertType(entry.getType(), INT);
-            validateTypeAgainstProvidedSchema(entry.getName(), INT, value);
+            if (this.providedSchema != null) {
+                final int position = providedPosition(entry, INT);
+                this.indexedValues.setLong(position, value);
+                return appendProvided(entry);
+            }
             return append(entry, value);
         }
 
@@ -445,7 +628,11 @@ public final class RecordImpl implements Record {
 
         public Builder withLong(final Schema.Entry entry, final long value) {
             assertType(entry.getType(), LONG);
-            validateTypeAgainstProvidedSchema(entry.getName(), LONG, value);
+            if (this.providedSchema != null) {
+                final int position = providedPosition(entry, LONG);
+                this.indexedValues.setLong(position, value);
+                return appendProvided(entry);
+            }
             return append(entry, value);
         }
 
@@ -456,7 +643,11 @@ public final class RecordImpl implements Record {
 
         public Builder withFloat(final Schema.Entry entry, final float value) {
             assertType(entry.getType(), FLOAT);
-            validateTypeAgainstProvidedSchema(entry.getName(), FLOAT, value);
+            if (this.providedSchema != null) {
+                final int position = providedPosition(entry, FLOAT);
+                this.indexedValues.setDouble(position, value);
+                return appendProvided(entry);
+            }
             return append(entry, value);
         }
 
@@ -467,7 +658,11 @@ public final class RecordImpl implements Record {
 
         public Builder withDouble(final Schema.Entry entry, final double value) {
             assertType(entry.getType(), DOUBLE);
-            validateTypeAgainstProvidedSchema(entry.getName(), DOUBLE, value);
+            if (this.providedSchema != null) {
+                final int position = providedPosition(entry, DOUBLE);
+                this.indexedValues.setDouble(position, value);
+                return appendProvided(entry);
+            }
             return append(entry, value);
         }
 
@@ -478,7 +673,11 @@ public final class RecordImpl implements Record {
 
         public Builder withBoolean(final Schema.Entry entry, final boolean value) {
             assertType(entry.getType(), BOOLEAN);
-            validateTypeAgainstProvidedSchema(entry.getName(), BOOLEAN, value);
+            if (this.providedSchema != null) {
+                final int position = providedPosition(entry, BOOLEAN);
+                this.indexedValues.setLong(position, value ? 1 : 0);
+                return appendProvided(entry);
+            }
             return append(entry, value);
         }
 
@@ -513,6 +712,29 @@ public final class RecordImpl implements Record {
             return append(entry, values);
         }
 
+        // provided schema flavor of validateTypeAgainstProvidedSchema for not nullable values
+        private int providedPosition(final Schema.Entry entry, final Schema.Type type) {
+            final int position = this.entryIndex.indexOf(entry.getName());
+            if (position < 0) {
+                throw new IllegalArgumentException(
+                        "No entry '" + entry.getName() + "' expected in provided schema");
+            }
+            final Schema.Type expected = this.entryIndex.getEntry(position).getType();
+            if (expected != type) {
+                throw new IllegalArgumentException(
+                        "Entry '" + entry.getName() + "' expected to be a " + expected + ", got a " + type);
+            }
+            return position;
+        }
+
+        // provided schema flavor of append() once the value is stored
+        private Builder appendProvided(final Schema.Entry entry) {
+            if (orderState != null) {
+                orderState.update(entry);
+            }
+            return this;
+        }
+
         private void assertType(final Schema.Type actual, final Schema.Type expected) {
             if (actual != expected) {
                 throw new IllegalArgumentException("Expected entry type: " + expected + ", got: " + actual);
@@ -532,16 +754,19 @@ public final class RecordImpl implements Record {
                 realEntry = entry;
             }
             if (value != null) {
-                values.put(realEntry.getName(), value);
+                putValue(realEntry.getName(), value);
             } else if (!realEntry.isNullable()) {
                 throw new IllegalArgumentException(realEntry.getName() + " is not nullable but got a null value");
             }
 
             if (this.entries != null) {
+                if (!this.shapeChanged) {
+                    trackShape(entry, realEntry);
+                }
                 this.entries.addValue(realEntry);
             }
             if (orderState == null) {
-                if (this.providedSchema != null && this.providedSchema.getEntryMap().containsKey(realEntry.getName())) {
+                if (this.providedSchema != null && this.entryIndex.indexOf(realEntry.getName()) >= 0) {
                     // no need orderState, delay init it for performance, this is 99% cases for
                     // RecordBuilderFactoryImpl.newRecordBuilder(schema) usage
                 } else {
@@ -554,6 +779,19 @@ public final class RecordImpl implements Record {
             return this;
         }
 
+        private void trackShape(final Schema.Entry entry, final Schema.Entry realEntry) {
+            if (realEntry != entry) { // collision renamed some entries
+                this.shapeChanged = true;
+            } else if (this.entries.getValue(realEntry.getName()) == null) {
+                if (this.shapePosition < this.lastEntries.size()
+                        && this.lastEntries.get(this.shapePosition).equals(realEntry)) {
+                    this.shapePosition++;
+                } else {
+                    this.shapeChanged = true;
+                }
+            }
+        }
+
         private enum Order {
             BEFORE,
             AFTER,
@@ -595,6 +833,12 @@ public final class RecordImpl implements Record {
                 state = Order.LAST;
             }
 
+            private void clear() {
+                resetState();
+                override = false;
+                orderedEntries.clear();
+            }
+
             public void update(final Schema.Entry entry) {
                 final Schema.Entry existingEntry = this.orderedEntries.getValue(entry.getName());
                 if (state == Order.LAST) {
@@ -16,6 +16,7 @@
 package org.talend.sdk.component.runtime.record;
 
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
@@ -64,6 +65,10 @@ public class SchemaImpl implements Schema {
     @JsonbTransient
     private Map<String, Entry> entryMap = new HashMap<>();
 
+    @JsonbTransient
+    @ToString.Exclude
+    private transient volatile EntryIndex entryIndex;
+
     public static final String ENTRIES_ORDER_PROP = "talend.fields.order";
 
     SchemaImpl(final SchemaImpl.BuilderImpl builder) {
@@ -76,6 +81,22 @@ public class SchemaImpl implements Schema {
         getAllEntries().forEach(e -> entryMap.put(e.getName(), e));
     }
 
+    /**
+     * Immutable copy of a schema, used to create the canonical instances of {@link SchemaInterner}.
+     *
+     * @param source the schema to copy.
+     */
+    SchemaImpl(final SchemaImpl source) {
+        this.type = source.type;
+        this.elementSchema = source.elementSchema;
+        this.entries = source.entries;
+        this.metadataEntries = source.metadataEntries;
+        this.props = unmodifiableMap(new LinkedHashMap<>(source.props));
+        this.entriesOrder = source.entriesOrder;
+        this.entryMap = unmodifiableMap(source.entryMap);
+        this.entryIndex = source.entryIndex;
+    }
+
     /**
      * Optimized hashcode method (do not enter inside field hashcode, just getName, ignore props fields).
      *
@@ -120,6 +141,15 @@ public class SchemaImpl implements Schema {
         return props.get(property);
     }
 
+    EntryIndex getEntryIndex() {
+        EntryIndex index = entryIndex;
+        if (index == null) { // entries are immutable so a concurrent double init is harmless
+            index = new EntryIndex(this);
+            entryIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public List<Entry> getMetadata() {
         return this.metadataEntries;
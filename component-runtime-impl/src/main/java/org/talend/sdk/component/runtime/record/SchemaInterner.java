@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Canonicalizes {@link SchemaImpl} instances: structurally equal schemas are mapped to a single immutable instance
+ * with a precomputed hash code, two canonical schemas being equal only if they are the same instance.
+ * Canonical instances are weakly referenced so schemas no more used by any record can be garbage collected.
+ *
+ * Other schema implementations are returned as they are.
+ */
+public class SchemaInterner {
+
+    private final ConcurrentMap<SchemaImpl, CanonicalReference> canonicals = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<InternedSchema> collected = new ReferenceQueue<>();
+
+    public Schema intern(final Schema schema) {
+        if (!SchemaImpl.class.isInstance(schema) || InternedSchema.class.isInstance(schema)) {
+            return schema;
+        }
+        expungeCollected();
+
+        final SchemaImpl key = SchemaImpl.class.cast(schema);
+        while (true) {
+            final CanonicalReference existing = canonicals.get(key);
+            if (existing != null) {
+                final InternedSchema canonical = existing.get();
+                if (canonical != null) {
+                    return canonical;
+                }
+                canonicals.remove(key, existing);
+                continue;
+            }
+            // the key is an immutable copy since the caller can still modify the props of its schema
+            final SchemaImpl frozen = new SchemaImpl(key);
+            final InternedSchema canonical = new InternedSchema(frozen);
+            if (canonicals.putIfAbsent(frozen, new CanonicalReference(frozen, canonical, collected)) == null) {
+                return canonical;
+            }
+        }
+    }
+
+    public int size() {
+        expungeCollected();
+        return canonicals.size();
+    }
+
+    private void expungeCollected() {
+        CanonicalReference ref;
+        while ((ref = (CanonicalReference) collected.poll()) != null) {
+            canonicals.remove(ref.key, ref);
+        }
+    }
+
+    private static class CanonicalReference extends WeakReference<InternedSchema> {
+
+        private final SchemaImpl key;
+
+        private CanonicalReference(final SchemaImpl key, final InternedSchema referent,
+                final ReferenceQueue<InternedSchema> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    static final class InternedSchema extends SchemaImpl {
+
+        private final int hash;
+
+        private InternedSchema(final SchemaImpl source) {
+            super(source);
+            this.hash = super.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof InternedSchema) { // canonical instances are unique
+                return false;
+            }
+            return super.equals(obj);
+        }
+    }
+}
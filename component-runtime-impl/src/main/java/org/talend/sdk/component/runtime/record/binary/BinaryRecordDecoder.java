@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.binary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Decodes the records written by {@link BinaryRecordEncoder}, the schemas are looked up by fingerprint
+ * in the {@link SchemaResolver}.
+ */
+public class BinaryRecordDecoder {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private static final int DEFAULT_MAX_RECORD_LENGTH =
+            Integer.getInteger("talend.component.runtime.record.binary.maxRecordLength", 64 * 1024 * 1024);
+
+    private final RecordBuilderFactory factory;
+
+    private final SchemaResolver resolver;
+
+    // guards the stream reads against corrupted lengths which would allocate huge buffers
+    private final int maxRecordLength;
+
+    public BinaryRecordDecoder(final RecordBuilderFactory factory, final SchemaResolver resolver) {
+        this(factory, resolver, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    public BinaryRecordDecoder(final RecordBuilderFactory factory, final SchemaResolver resolver,
+            final int maxRecordLength) {
+        this.factory = factory;
+        this.resolver = resolver;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    public Record decode(final byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    public Record decode(final byte[] bytes, final int offset, final int length) {
+        final Input input = new Input(bytes, offset, offset + length);
+        final byte version = input.readByte();
+        if (version != BinaryRecordEncoder.VERSION) {
+            throw new IllegalArgumentException("Unsupported binary record version: " + version);
+        }
+        final long fingerprint = input.readFixedLong();
+        final Schema schema = resolver.resolve(fingerprint);
+        if (schema == null) {
+            throw new IllegalStateException("Unknown schema fingerprint: " + Long.toHexString(fingerprint));
+        }
+        return readBody(schema, input);
+    }
+
+    /**
+     * Reads a record written by {@link BinaryRecordEncoder#write(Record, java.io.OutputStream)}.
+     *
+     * @param stream the stream to read the record from, it is not closed.
+     * @return the next record or null if the stream is at its end.
+     * @throws IOException if the stream can't be read or the record is longer than the max record length.
+     */
+    public Record read(final InputStream stream) throws IOException {
+        int length = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            final int b = stream.read();
+            if (b < 0) {
+                if (i == 0) {
+                    return null;
+                }
+                throw new EOFException("Truncated record length");
+            }
+            length |= b << (i << 3);
+        }
+        if (length < 0 || length > maxRecordLength) {
+            throw new IOException("Invalid record length " + Integer.toUnsignedString(length) + ", max is "
+                    + maxRecordLength + " (talend.component.runtime.record.binary.maxRecordLength)");
+        }
+        final byte[] payload = new byte[length];
+        int read = 0;
+        while (read < length) {
+            final int count = stream.read(payload, read, length - read);
+            if (count < 0) {
+                throw new EOFException("Truncated record, expected " + length + " bytes, got " + read);
+            }
+            read += count;
+        }
+        return decode(payload);
+    }
+
+    private Record readBody(final Schema schema, final Input input) {
+        final Schema.Entry[] entries = schema.getAllEntries().toArray(Schema.Entry[]::new);
+        final int nullsOffset = input.skip((entries.length + 7) >>> 3);
+        final Record.Builder builder = factory.newRecordBuilder(schema);
+        for (int i = 0; i < entries.length; i++) {
+            if (input.isSet(nullsOffset, i)) {
+                continue;
+            }
+            final Schema.Entry entry = entries[i];
+            switch (entry.getType()) {
+            case INT:
+                builder.withInt(entry, (int) unzigzag(input.readVarLong()));
+                break;
+            case LONG:
+                builder.withLong(entry, unzigzag(input.readVarLong()));
+                break;
+            case FLOAT:
+                builder.withFloat(entry, Float.intBitsToFloat(input.readFixedInt()));
+                break;
+            case DOUBLE:
+                builder.withDouble(entry, Double.longBitsToDouble(input.readFixedLong()));
+                break;
+            case BOOLEAN:
+                builder.withBoolean(entry, input.readByte() != 0);
+                break;
+            case RECORD:
+                builder.withRecord(entry, readBody(entry.getElementSchema(), input));
+                break;
+            case ARRAY:
+                builder.withArray(entry, readArray(entry.getElementSchema(), input));
+                break;
+            default:
+                builder.with(entry, readValue(entry.getType(), entry.getElementSchema(), input));
+            }
+        }
+        return builder.build();
+    }
+
+    private Object readValue(final Schema.Type type, final Schema elementSchema, final Input input) {
+        switch (type) {
+        case STRING:
+            return input.readString();
+        case INT:
+            return (int) unzigzag(input.readVarLong());
+        case LONG:
+            return unzigzag(input.readVarLong());
+        case FLOAT:
+            return Float.intBitsToFloat(input.readFixedInt());
+        case DOUBLE:
+            return Double.longBitsToDouble(input.readFixedLong());
+        case BOOLEAN:
+            return input.readByte() != 0;
+        case BYTES:
+            return input.readBytes(input.readVarint());
+        case DATETIME:
+            if (input.readByte() == BinaryRecordEncoder.DATETIME_INSTANT) {
+                final long seconds = unzigzag(input.readVarLong());
+                return Instant.ofEpochSecond(seconds, input.readVarint());
+            }
+            return unzigzag(input.readVarLong());
+        case DECIMAL:
+            final int scale = (int) unzigzag(input.readVarLong());
+            return new BigDecimal(new BigInteger(input.readBytes(input.readVarint())), scale);
+        case RECORD:
+            return readBody(elementSchema, input);
+        case ARRAY:
+            return readArray(elementSchema, input);
+        default:
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private Collection<Object> readArray(final Schema elementSchema, final Input input) {
+        final int size = input.readVarint();
+        final int nullsOffset = input.skip((size + 7) >>> 3);
+        final Schema.Type type = elementSchema.getType();
+        final Schema itemSchema = type == Schema.Type.RECORD ? elementSchema : elementSchema.getElementSchema();
+        final List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (input.isSet(nullsOffset, i)) {
+                items.add(null);
+            } else if (type == Schema.Type.DATETIME) { // the record builder doesn't convert the array items
+                items.add(toDateTime(readValue(type, itemSchema, input)));
+            } else {
+                items.add(readValue(type, itemSchema, input));
+            }
+        }
+        return items;
+    }
+
+    // the zone is not encoded, datetimes are read back in UTC like record DATETIME entries
+    private static ZonedDateTime toDateTime(final Object value) {
+        final Instant instant =
+                Instant.class.isInstance(value) ? Instant.class.cast(value) : Instant.ofEpochMilli(Long.class.cast(value));
+        return ZonedDateTime.ofInstant(instant, UTC);
+    }
+
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+
+        private final int limit;
+
+        private int position;
+
+        private Input(final byte[] buffer, final int offset, final int limit) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.limit = limit;
+        }
+
+        private void require(final int length) {
+            if (length < 0 || length > limit - position) {
+                throw new IllegalArgumentException("Truncated binary record");
+            }
+        }
+
+        private int skip(final int length) {
+            require(length);
+            final int start = position;
+            position += length;
+            return start;
+        }
+
+        private boolean isSet(final int bitmapOffset, final int index) {
+            return (buffer[bitmapOffset + (index >>> 3)] & (1 << (index & 7))) != 0;
+        }
+
+        private byte readByte() {
+            require(1);
+            return buffer[position++];
+        }
+
+        private byte[] readBytes(final int length) {
+            final int start = skip(length);
+            return Arrays.copyOfRange(buffer, start, start + length);
+        }
+
+        private String readString() {
+            final int length = readVarint();
+            final int start = skip(length);
+            return new String(buffer, start, length, UTF_8);
+        }
+
+        private int readVarint() {
+            return (int) readVarLong();
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private int readFixedInt() {
+            require(Integer.BYTES);
+            int value = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                value |= (buffer[position++] & 0xFF) << (i << 3);
+            }
+            return value;
+        }
+
+        private long readFixedLong() {
+            require(Long.BYTES);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value |= (buffer[position++] & 0xFFL) << (i << 3);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.binary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Encodes a {@link Record} in a compact binary form. The layout is:
+ * <ul>
+ * <li>a version byte,</li>
+ * <li>the {@link SchemaFingerprint fingerprint} of the record schema (8 bytes, little endian),</li>
+ * <li>the record body: a null bitmap over {@link Schema#getAllEntries()} followed by the non null values.</li>
+ * </ul>
+ * INT and LONG values are zigzag varints, FLOAT and DOUBLE are fixed little endian IEEE 754 values,
+ * strings and bytes are length prefixed, DATETIME are epoch milliseconds (or seconds and nanoseconds for instants),
+ * DECIMAL are a scale and the unscaled bytes, nested records are bodies of the entry element schema
+ * and arrays are a size, a null bitmap and the items.
+ *
+ * The schema itself is never written, it is registered in the {@link SchemaRegistry} the decoder side resolves it
+ * from.
+ */
+@RequiredArgsConstructor
+public class BinaryRecordEncoder {
+
+    static final byte VERSION = 1;
+
+    static final byte DATETIME_MILLIS = 0;
+
+    static final byte DATETIME_INSTANT = 1;
+
+    private final SchemaRegistry registry;
+
+    // records of a flow generally share the same schema instance, avoids to hash it for each record
+    private volatile Layout last;
+
+    public byte[] encode(final Record record) {
+        final Output output = new Output(64);
+        write(record, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes a length prefixed record (fixed 4 bytes little endian length), several records can be written in the
+     * same stream and read back with {@link BinaryRecordDecoder#read(java.io.InputStream)}.
+     *
+     * @param record the record to write.
+     * @param stream the target stream, it is not closed.
+     * @throws IOException if the stream can't be written.
+     */
+    public void write(final Record record, final OutputStream stream) throws IOException {
+        final Output output = new Output(64);
+        output.writeFixedInt(0); // size placeholder
+        write(record, output);
+        output.setFixedInt(0, output.size - Integer.BYTES);
+        stream.write(output.buffer, 0, output.size);
+    }
+
+    private void write(final Record record, final Output output) {
+        final Schema schema = record.getSchema();
+        Layout layout = last;
+        if (layout == null || layout.schema != schema) {
+            layout = new Layout(schema, registry.register(schema), entries(schema));
+            last = layout;
+        } else if (registry.resolve(layout.fingerprint) == null) { // evicted from a shared registry
+            registry.register(schema);
+        }
+        output.writeByte(VERSION);
+        output.writeFixedLong(layout.fingerprint);
+        writeBody(record, layout.entries, output);
+    }
+
+    private void writeBody(final Record record, final Schema.Entry[] entries, final Output output) {
+        final Object[] values = new Object[entries.length];
+        final byte[] nulls = new byte[(values.length + 7) >>> 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = record.get(Object.class, entries[i].getName());
+            if (values[i] == null) {
+                nulls[i >>> 3] |= 1 << (i & 7);
+            }
+        }
+        output.writeBytes(nulls, 0, nulls.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                final Schema.Entry entry = entries[i];
+                writeValue(entry.getType(), entry.getElementSchema(), values[i], output);
+            }
+        }
+    }
+
+    private void writeValue(final Schema.Type type, final Schema elementSchema, final Object value,
+            final Output output) {
+        switch (type) {
+        case STRING:
+            final byte[] chars = String.valueOf(value).getBytes(UTF_8);
+            output.writeVarint(chars.length);
+            output.writeBytes(chars, 0, chars.length);
+            break;
+        case INT:
+        case LONG:
+            output.writeVarLong(zigzag(Number.class.cast(value).longValue()));
+            break;
+        case FLOAT:
+            output.writeFixedInt(Float.floatToIntBits(Number.class.cast(value).floatValue()));
+            break;
+        case DOUBLE:
+            output.writeFixedLong(Double.doubleToLongBits(Number.class.cast(value).doubleValue()));
+            break;
+        case BOOLEAN:
+            output.writeByte((byte) (Boolean.class.cast(value) ? 1 : 0));
+            break;
+        case BYTES:
+            final byte[] bytes = toBytes(value);
+            output.writeVarint(bytes.length);
+            output.writeBytes(bytes, 0, bytes.length);
+            break;
+        case DATETIME:
+            writeDateTime(value, output);
+            break;
+        case DECIMAL:
+            final BigDecimal decimal = BigDecimal.class.isInstance(value) ? BigDecimal.class.cast(value)
+                    : new BigDecimal(value.toString());
+            final byte[] unscaled = decimal.unscaledValue().toByteArray();
+            output.writeVarLong(zigzag(decimal.scale()));
+            output.writeVarint(unscaled.length);
+            output.writeBytes(unscaled, 0, unscaled.length);
+            break;
+        case RECORD:
+            writeBody(Record.class.cast(value), entries(elementSchema), output);
+            break;
+        case ARRAY:
+            writeArray(Collection.class.cast(value), elementSchema, output);
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private void writeArray(final Collection<?> items, final Schema elementSchema, final Output output) {
+        output.writeVarint(items.size());
+        final byte[] nulls = new byte[(items.size() + 7) >>> 3];
+        int index = 0;
+        for (final Object item : items) {
+            if (item == null) {
+                nulls[index >>> 3] |= 1 << (index & 7);
+            }
+            index++;
+        }
+        output.writeBytes(nulls, 0, nulls.length);
+        final Schema.Type type = elementSchema.getType();
+        for (final Object item : items) {
+            if (item != null) {
+                writeValue(type, type == Schema.Type.RECORD ? elementSchema : elementSchema.getElementSchema(), item,
+                        output);
+            }
+        }
+    }
+
+    private void writeDateTime(final Object value, final Output output) {
+        if (Instant.class.isInstance(value)) {
+            final Instant instant = Instant.class.cast(value);
+            output.writeByte(DATETIME_INSTANT);
+            output.writeVarLong(zigzag(instant.getEpochSecond()));
+            output.writeVarint(instant.getNano());
+            return;
+        }
+        final long millis;
+        if (Number.class.isInstance(value)) {
+            millis = Number.class.cast(value).longValue();
+        } else if (Date.class.isInstance(value)) {
+            millis = Date.class.cast(value).getTime();
+        } else if (TemporalAccessor.class.isInstance(value)) {
+            millis = Instant.from(TemporalAccessor.class.cast(value)).toEpochMilli();
+        } else {
+            throw new IllegalArgumentException("Unsupported datetime value: " + value);
+        }
+        output.writeByte(DATETIME_MILLIS);
+        output.writeVarLong(zigzag(millis));
+    }
+
+    private static Schema.Entry[] entries(final Schema schema) {
+        return schema.getAllEntries().toArray(Schema.Entry[]::new);
+    }
+
+    private static byte[] toBytes(final Object value) {
+        if (byte[].class.isInstance(value)) {
+            return byte[].class.cast(value);
+        }
+        if (ByteBuffer.class.isInstance(value)) {
+            final ByteBuffer buffer = ByteBuffer.class.cast(value).duplicate();
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+        throw new IllegalArgumentException("Unsupported bytes value: " + value.getClass().getName());
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Layout {
+
+        private final Schema schema;
+
+        private final long fingerprint;
+
+        private final Schema.Entry[] entries;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+
+        private int size;
+
+        private Output(final int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensure(final int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+            }
+        }
+
+        private void writeByte(final byte value) {
+            ensure(1);
+            buffer[size++] = value;
+        }
+
+        private void writeBytes(final byte[] bytes, final int offset, final int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        private void writeVarint(final int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(final long value) {
+            ensure(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[size++] = (byte) remaining;
+        }
+
+        private void writeFixedInt(final int value) {
+            ensure(Integer.BYTES);
+            for (int i = 0; i < Integer.BYTES; i++) {
+                buffer[size++] = (byte) (value >>> (i << 3));
+            }
+        }
+
+        private void setFixedInt(final int position, final int value) {
+            for (int i = 0; i < Integer.BYTES; i++) {
+                buffer[position + i] = (byte) (value >>> (i << 3));
+            }
+        }
+
+        private void writeFixedLong(final long value) {
+            ensure(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                buffer[size++] = (byte) (value >>> (i << 3));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.binary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 64 bits fingerprint of a {@link Schema} (CRC-64-AVRO over a canonical form of the schema),
+ * it is used by the binary record format to reference the schema instead of inlining it.
+ * Two equal schemas have the same fingerprint whatever the JVM computing it.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SchemaFingerprint {
+
+    private static final long EMPTY = 0xc15d213aa4d7a795L;
+
+    private static final long[] TABLE = new long[256];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            long fp = i;
+            for (int j = 0; j < 8; j++) {
+                fp = (fp >>> 1) ^ (EMPTY & -(fp & 1L));
+            }
+            TABLE[i] = fp;
+        }
+    }
+
+    public static long of(final Schema schema) {
+        final StringBuilder canonical = new StringBuilder(256);
+        appendSchema(canonical, schema);
+        long fp = EMPTY;
+        for (final byte b : canonical.toString().getBytes(UTF_8)) {
+            fp = (fp >>> 8) ^ TABLE[(int) (fp ^ b) & 0xff];
+        }
+        return fp;
+    }
+
+    private static void appendSchema(final StringBuilder builder, final Schema schema) {
+        if (schema == null) {
+            builder.append('-');
+            return;
+        }
+        builder.append('{').append(schema.getType().name());
+        appendProps(builder, schema.getProps());
+        appendSchema(builder, schema.getElementSchema());
+        builder.append('[');
+        schema.getAllEntries().forEach(entry -> appendEntry(builder, entry));
+        builder.append("]}");
+    }
+
+    private static void appendEntry(final StringBuilder builder, final Schema.Entry entry) {
+        builder.append('(');
+        appendString(builder, entry.getName());
+        appendString(builder, entry.getRawName());
+        builder
+                .append(entry.getType().name())
+                .append(entry.isNullable() ? 'N' : 'n')
+                .append(entry.isMetadata() ? 'M' : 'm');
+        appendString(builder, entry.getComment());
+        final Object defaultValue = entry.getDefaultValue();
+        appendString(builder, defaultValue == null ? null : String.valueOf(defaultValue));
+        appendProps(builder, entry.getProps());
+        appendSchema(builder, entry.getElementSchema());
+        builder.append(')');
+    }
+
+    private static void appendProps(final StringBuilder builder, final Map<String, String> props) {
+        builder.append('<');
+        if (props != null && !props.isEmpty()) {
+            new TreeMap<>(props).forEach((key, value) -> {
+                appendString(builder, key);
+                appendString(builder, value);
+            });
+        }
+        builder.append('>');
+    }
+
+    // length prefixed to not depend on the characters of the value
+    private static void appendString(final StringBuilder builder, final String value) {
+        if (value == null) {
+            builder.append('-');
+        } else {
+            builder.append(value.length()).append(':').append(value);
+        }
+    }
+}
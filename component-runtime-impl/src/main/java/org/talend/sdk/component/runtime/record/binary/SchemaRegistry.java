@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.binary;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * In memory {@link SchemaResolver} the encoder registers the schemas it writes in.
+ * Sharing the same instance between an encoder and a decoder is enough in a single JVM,
+ * otherwise {@link #getSchemas()} can be shipped once to the other side which {@link #register(Schema) registers}
+ * them in its own registry.
+ *
+ * It keeps at most {@code maxSchemas} schemas, the least recently used ones being evicted,
+ * so it must be sized above the number of schemas the records still to decode use.
+ */
+public class SchemaRegistry implements SchemaResolver {
+
+    private static final int DEFAULT_MAX_SCHEMAS =
+            Integer.getInteger("talend.component.runtime.record.binary.maxSchemas", 1024);
+
+    private final Map<Long, Schema> schemas;
+
+    private final Map<Schema, Long> fingerprints;
+
+    public SchemaRegistry() {
+        this(DEFAULT_MAX_SCHEMAS);
+    }
+
+    public SchemaRegistry(final int maxSchemas) {
+        this.schemas = new Lru<>(maxSchemas);
+        this.fingerprints = new Lru<>(maxSchemas);
+    }
+
+    public synchronized long register(final Schema schema) {
+        final Long existing = fingerprints.get(schema);
+        if (existing != null && schemas.get(existing) != null) { // also refreshes its usage
+            return existing;
+        }
+        final long fingerprint = existing != null ? existing : SchemaFingerprint.of(schema);
+        final Schema previous = schemas.get(fingerprint);
+        if (previous != null && !previous.equals(schema)) {
+            throw new IllegalStateException("Fingerprint collision between " + previous + " and " + schema);
+        }
+        if (previous == null) {
+            schemas.put(fingerprint, schema);
+        }
+        fingerprints.put(schema, fingerprint);
+        return fingerprint;
+    }
+
+    @Override
+    public synchronized Schema resolve(final long fingerprint) {
+        return schemas.get(fingerprint);
+    }
+
+    public synchronized Map<Long, Schema> getSchemas() {
+        return unmodifiableMap(new LinkedHashMap<>(schemas));
+    }
+
+    private static class Lru<K, V> extends LinkedHashMap<K, V> {
+
+        private final int maxSize;
+
+        private Lru(final int maxSize) {
+            super(16, .75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
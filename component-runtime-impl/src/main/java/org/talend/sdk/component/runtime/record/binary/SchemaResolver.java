@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.binary;
+
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Finds back the schema of a binary encoded record from its {@link SchemaFingerprint fingerprint}.
+ * It can be backed by a local registry or any shared storage when records cross JVM boundaries.
+ */
+@FunctionalInterface
+public interface SchemaResolver {
+
+    /**
+     * @param fingerprint the schema fingerprint read from the binary record.
+     * @return the schema or null if unknown.
+     */
+    Schema resolve(long fingerprint);
+}
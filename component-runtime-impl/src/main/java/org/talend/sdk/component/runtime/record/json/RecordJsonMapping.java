@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.json;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import javax.json.JsonValue;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * The JSON mapping of the record values, shared by the {@link javax.json.JsonObject} conversion of
+ * {@link org.talend.sdk.component.runtime.record.RecordConverters} and {@link RecordJsonWriter}.
+ *
+ * Values are normalized to {@link String}, {@link Integer}, {@link Long}, {@link Double}, {@link Boolean},
+ * {@link Record}, {@link JsonValue} or a {@link List} of those for arrays:
+ * datetimes are ISO zoned strings (epoch millis in arrays), decimals strings and bytes base64 strings.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class RecordJsonMapping {
+
+    /**
+     * @param record the record to read.
+     * @param entry the entry to map.
+     * @return the JSON value of the entry or null if it must be skipped (null value or not representable array).
+     */
+    public static Object toJson(final Record record, final Schema.Entry entry) {
+        final String name = entry.getName();
+        switch (entry.getType()) {
+        case STRING:
+            return record.get(String.class, name);
+        case INT:
+            return record.get(Integer.class, name);
+        case LONG:
+            return record.get(Long.class, name);
+        case FLOAT: {
+            final Float value = record.get(Float.class, name);
+            return value == null ? null : value.doubleValue();
+        }
+        case DOUBLE:
+            return record.get(Double.class, name);
+        case BOOLEAN:
+            return record.get(Boolean.class, name);
+        case BYTES: {
+            final byte[] value = record.get(byte[].class, name);
+            return value == null ? null : Base64.getEncoder().encodeToString(value);
+        }
+        case DATETIME: {
+            final ZonedDateTime value = record.get(ZonedDateTime.class, name);
+            return value == null ? null : value.format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+        }
+        case DECIMAL: {
+            final BigDecimal value = record.get(BigDecimal.class, name);
+            return value == null ? null : value.toString();
+        }
+        case RECORD:
+            return record.get(Record.class, name);
+        case ARRAY: {
+            final Collection<?> collection = record.get(Collection.class, name);
+            return collection == null ? null : toJsonArray(collection);
+        }
+        default:
+            throw new IllegalArgumentException("Unsupported type: " + entry.getType() + " for '" + name + "'");
+        }
+    }
+
+    /**
+     * Only homogeneous collections are supported, the first non null item gives the type of the items
+     * and null items are kept as {@link JsonValue#NULL}.
+     *
+     * @param collection the array items.
+     * @return the JSON items or null if the items are not representable.
+     */
+    public static List<Object> toJsonArray(final Collection<?> collection) {
+        final Object first = collection.stream().filter(Objects::nonNull).findFirst().orElse(null);
+        if (first != null && !isSupportedItem(first)) {
+            return null;
+        }
+        final List<Object> items = new ArrayList<>(collection.size());
+        for (final Object item : collection) {
+            items.add(toJsonItem(item));
+        }
+        return items;
+    }
+
+    private static boolean isSupportedItem(final Object item) {
+        return String.class.isInstance(item) || Double.class.isInstance(item) || Float.class.isInstance(item)
+                || Integer.class.isInstance(item) || Long.class.isInstance(item) || Boolean.class.isInstance(item)
+                || ZonedDateTime.class.isInstance(item) || Date.class.isInstance(item)
+                || Record.class.isInstance(item) || JsonValue.class.isInstance(item);
+    }
+
+    private static Object toJsonItem(final Object item) {
+        if (item == null) {
+            return JsonValue.NULL;
+        }
+        if (Float.class.isInstance(item)) {
+            return Float.class.cast(item).doubleValue();
+        }
+        if (ZonedDateTime.class.isInstance(item)) {
+            return ZonedDateTime.class.cast(item).toInstant().toEpochMilli();
+        }
+        if (Date.class.isInstance(item)) {
+            return Date.class.cast(item).getTime();
+        }
+        if (!isSupportedItem(item)) {
+            throw new IllegalArgumentException("Unsupported array item: " + item.getClass().getName());
+        }
+        return item;
+    }
+}
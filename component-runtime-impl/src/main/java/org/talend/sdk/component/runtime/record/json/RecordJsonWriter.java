@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.json;
+
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams a {@link Record} as JSON without any intermediate JSON object model.
+ * The output is the same as the {@link javax.json.JsonObject} built by
+ * {@link org.talend.sdk.component.runtime.record.RecordConverters#toType}, both using {@link RecordJsonMapping}:
+ * null values are skipped, datetimes are ISO zoned strings, decimals strings and bytes base64 strings.
+ */
+@RequiredArgsConstructor
+public class RecordJsonWriter {
+
+    private final JsonGeneratorFactory generatorFactory;
+
+    /**
+     * Writes the record and closes the stream.
+     *
+     * @param record the record to serialize.
+     * @param stream the output, UTF-8 is used.
+     */
+    public void write(final Record record, final OutputStream stream) {
+        try (final JsonGenerator generator = generatorFactory.createGenerator(stream, StandardCharsets.UTF_8)) {
+            write(record, generator);
+        }
+    }
+
+    /**
+     * Writes the record and closes the writer.
+     *
+     * @param record the record to serialize.
+     * @param writer the output.
+     */
+    public void write(final Record record, final Writer writer) {
+        try (final JsonGenerator generator = generatorFactory.createGenerator(writer)) {
+            write(record, generator);
+        }
+    }
+
+    public String toJson(final Record record) {
+        final StringWriter writer = new StringWriter();
+        write(record, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Writes the record as an object in the current context of the generator (root or array),
+     * the generator is not flushed nor closed.
+     *
+     * @param record the record to serialize.
+     * @param generator the generator to write to.
+     * @return the generator.
+     */
+    public JsonGenerator write(final Record record, final JsonGenerator generator) {
+        generator.writeStartObject();
+        writeEntries(record, generator);
+        return generator.writeEnd();
+    }
+
+    /**
+     * Writes the record as an attribute of the current object of the generator.
+     *
+     * @param name the attribute name.
+     * @param record the record to serialize.
+     * @param generator the generator to write to.
+     * @return the generator.
+     */
+    public JsonGenerator write(final String name, final Record record, final JsonGenerator generator) {
+        generator.writeStartObject(name);
+        writeEntries(record, generator);
+        return generator.writeEnd();
+    }
+
+    private void writeEntries(final Record record, final JsonGenerator generator) {
+        for (final Schema.Entry entry : record.getSchema().getEntries()) {
+            final Object value = RecordJsonMapping.toJson(record, entry);
+            if (value != null) {
+                write(entry.getName(), value, generator);
+            }
+        }
+    }
+
+    // values normalized by RecordJsonMapping
+    private void write(final String name, final Object value, final JsonGenerator generator) {
+        if (String.class.isInstance(value)) {
+            generator.write(name, String.class.cast(value));
+        } else if (Integer.class.isInstance(value)) {
+            generator.write(name, Integer.class.cast(value));
+        } else if (Long.class.isInstance(value)) {
+            generator.write(name, Long.class.cast(value));
+        } else if (Double.class.isInstance(value)) {
+            generator.write(name, Double.class.cast(value));
+        } else if (Boolean.class.isInstance(value)) {
+            generator.write(name, Boolean.class.cast(value));
+        } else if (Record.class.isInstance(value)) {
+            write(name, Record.class.cast(value), generator);
+        } else if (Collection.class.isInstance(value)) {
+            generator.writeStartArray(name);
+            Collection.class.cast(value).forEach(item -> writeItem(item, generator));
+            generator.writeEnd();
+        } else {
+            generator.write(name, JsonValue.class.cast(value));
+        }
+    }
+
+    private void writeItem(final Object value, final JsonGenerator generator) {
+        if (String.class.isInstance(value)) {
+            generator.write(String.class.cast(value));
+        } else if (Integer.class.isInstance(value)) {
+            generator.write(Integer.class.cast(value));
+        } else if (Long.class.isInstance(value)) {
+            generator.write(Long.class.cast(value));
+        } else if (Double.class.isInstance(value)) {
+            generator.write(Double.class.cast(value));
+        } else if (Boolean.class.isInstance(value)) {
+            generator.write(Boolean.class.cast(value));
+        } else if (Record.class.isInstance(value)) {
+            write(Record.class.cast(value), generator);
+        } else {
+            generator.write(JsonValue.class.cast(value));
+        }
+    }
+}
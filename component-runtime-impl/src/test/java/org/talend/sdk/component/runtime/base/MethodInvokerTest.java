@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.Test;
+
+class MethodInvokerTest {
+
+    @Test
+    void arities() throws Throwable {
+        final Component component = new Component();
+        assertEquals("none", MethodInvoker.of(Component.class.getMethod("none")).invoke(component));
+        assertEquals(3, MethodInvoker
+                .of(Component.class.getMethod("sum", int.class, int.class))
+                .invoke(component, new Object[] { 1, 2 }));
+        assertEquals("abcde", MethodInvoker
+                .of(Component.class.getMethod("concat", String.class, String.class, String.class, String.class,
+                        String.class))
+                .invoke(component, new Object[] { "a", "b", "c", "d", "e" }));
+        assertEquals("static", MethodInvoker.of(Component.class.getMethod("create")).invoke(null));
+    }
+
+    @Test
+    void errors() throws Exception {
+        final MethodInvoker fail = MethodInvoker.of(Component.class.getMethod("fail"));
+        final InvocationTargetException thrown =
+                assertThrows(InvocationTargetException.class, () -> fail.invoke(new Component()));
+        assertTrue(IllegalStateException.class.isInstance(thrown.getTargetException()));
+        assertThrows(IllegalArgumentException.class, () -> fail.invoke(new Component(), new Object[] { "extra" }));
+
+        final LifecycleImpl lifecycle = new LifecycleImpl(new Component(), "Root", "Test", "Plugin");
+        assertThrows(IllegalStateException.class, () -> lifecycle.doInvoke(fail));
+    }
+
+    @Test
+    void invocationErrorsAreNotWrapped() throws Exception {
+        final MethodInvoker sum = MethodInvoker.of(Component.class.getMethod("sum", int.class, int.class));
+        assertThrows(IllegalArgumentException.class, () -> sum.invoke(new Component(), new Object[] { "1", 2 }));
+        assertThrows(IllegalArgumentException.class, () -> sum.invoke("not a component", new Object[] { 1, 2 }));
+
+        final LifecycleImpl lifecycle = new LifecycleImpl(new Component(), "Root", "Test", "Plugin");
+        final IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> lifecycle.doInvoke(sum, new Object[] { "1", 2 }));
+        assertTrue(ClassCastException.class.isInstance(error.getCause()));
+    }
+
+    public static class Component {
+
+        public static String create() {
+            return "static";
+        }
+
+        public String none() {
+            return "none";
+        }
+
+        public int sum(final int a, final int b) {
+            return a + b;
+        }
+
+        public String concat(final String a, final String b, final String c, final String d, final String e) {
+            return a + b + c + d + e;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("expected");
+        }
+    }
+}
@@ -15,9 +15,13 @@
  */
 package org.talend.sdk.component.runtime.input;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -32,6 +36,9 @@ import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.runtime.serialization.Serializer;
 import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.input.RecordBatch;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -72,6 +79,47 @@ class InputImplTest {
         assertEquals(10, delegate.count);
     }
 
+    @Test
+    void batches() {
+        final BatchComponent delegate = new BatchComponent();
+        final Input input = new InputImpl("Root", "Test", "Plugin", delegate);
+        input.start();
+
+        // a page smaller than max flows as a whole, a bigger one is split
+        assertEquals(3, input.nextBatch(10).size());
+        assertEquals(asList(0, 1), input.nextBatch(2).stream().map(r -> ((Record) r).getInt("id")).collect(toList()));
+        assertEquals(asList(2), input.nextBatch(2).stream().map(r -> ((Record) r).getInt("id")).collect(toList()));
+        assertEquals(2, delegate.calls);
+
+        // next() serves the page record by record
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, Record.class.cast(input.next()).getInt("id"));
+        }
+        assertEquals(3, delegate.calls);
+
+        // the empty page ends the input
+        assertTrue(input.nextBatch(10).isEmpty());
+        assertNull(input.next());
+        assertEquals(5, delegate.calls);
+        input.stop();
+    }
+
+    @Test
+    void batchesOfCustomNext() {
+        final Input input = new InputImpl() {
+
+            private int remaining = 2;
+
+            @Override
+            public Object next() {
+                return remaining-- > 0 ? "value" : null;
+            }
+        };
+        assertEquals(asList("value"), input.nextBatch(10));
+        assertEquals(asList("value"), input.nextBatch(10));
+        assertEquals(emptyList(), input.nextBatch(10));
+    }
+
     @Test
     void serialization() throws IOException, ClassNotFoundException {
         final Component delegate = new Component();
@@ -107,6 +155,24 @@ class InputImplTest {
         }
     }
 
+    public static class BatchComponent implements Serializable {
+
+        private int calls;
+
+        @Producer
+        public RecordBatch produces() {
+            if (calls++ >= 3) {
+                return RecordBatch.of(emptyList());
+            }
+            final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+            return RecordBatch
+                    .of(IntStream
+                            .range(0, 3)
+                            .mapToObj(i -> factory.newRecordBuilder().withInt("id", i).build())
+                            .collect(toList()));
+        }
+    }
+
     @Data
     @AllArgsConstructor
     public static class Sample {
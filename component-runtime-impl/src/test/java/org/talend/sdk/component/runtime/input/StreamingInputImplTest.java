@@ -17,6 +17,7 @@ package org.talend.sdk.component.runtime.input;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -25,7 +26,9 @@ import static org.talend.sdk.component.runtime.input.Streaming.RetryConfiguratio
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
@@ -297,6 +300,59 @@ public class StreamingInputImplTest {
         }
     }
 
+    @Test
+    void maxActiveTimeReadsShareOneReaderThread() {
+        final RetryConfiguration retryStrategy = new RetryConfiguration(1, new RetryConfiguration.Constant(500));
+        final StopStrategy stopStrategy = new StopConfiguration(null, 60_000L, System.currentTimeMillis());
+        final Set<Thread> readers = new HashSet<>();
+        final Input input = new StreamingInputImpl("a", "b", "c", new Serializable() {
+
+            @Producer
+            public Object next() {
+                readers.add(Thread.currentThread());
+                return new Object();
+            }
+        }, retryStrategy, stopStrategy);
+        input.start();
+        try {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(input.next());
+            }
+        } finally {
+            input.stop();
+        }
+        assertEquals(1, readers.size());
+        final Thread reader = readers.iterator().next();
+        assertNotEquals(Thread.currentThread(), reader);
+        assertTrue(reader.getName().startsWith("StreamingInputImpl-reader_a-b"), reader.getName());
+    }
+
+    @Test
+    void stopInterruptsRetryPause() throws InterruptedException {
+        final RetryConfiguration retryStrategy = new RetryConfiguration(2, new RetryConfiguration.Constant(60_000));
+        final Input input = new StreamingInputImpl("a", "b", "c", new Serializable() {
+
+            @Producer
+            public Object next() {
+                return null;
+            }
+        }, retryStrategy, defaultStopStrategy);
+        input.start();
+        final Thread stopper = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            input.stop();
+        });
+        stopper.start();
+        final long start = System.currentTimeMillis();
+        assertNull(input.next());
+        assertTrue(System.currentTimeMillis() - start < 10_000);
+        stopper.join();
+    }
+
     @Test
     void respectStopMaxDurationWithLaggingInput() {
         final RetryConfiguration retryStrategy = new RetryConfiguration(1, new RetryConfiguration.Constant(500));
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.processor.AfterGroup;
+import org.talend.sdk.component.api.processor.ElementListener;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.InputImpl;
+import org.talend.sdk.component.runtime.output.Processor;
+import org.talend.sdk.component.runtime.output.ProcessorImpl;
+
+class ComponentMetricsTest {
+
+    @BeforeEach
+    void enable() {
+        ComponentMetrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void disable() {
+        ComponentMetrics.setEnabled(false);
+        ComponentMetrics.remove("metrics");
+    }
+
+    @Test
+    void disabled() {
+        ComponentMetrics.setEnabled(false);
+        assertNull(ComponentMetrics.find("metrics", "Root", "Test"));
+    }
+
+    @Test
+    void histogram() {
+        final Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50.5, snapshot.getMean());
+        assertEquals(63, snapshot.getP50()); // upper bound of [32, 63]
+        assertEquals(100, snapshot.getP99()); // capped by the max
+        assertEquals(100, snapshot.getMax());
+    }
+
+    @Test
+    void processor() throws Exception {
+        final Processor processor = new ProcessorImpl("Root", "Splitter", "metrics", emptyMap(), new Splitter());
+        processor.start();
+        processor.beforeGroup();
+        for (int i = 0; i < 3; i++) {
+            final int value = i;
+            processor.onNext(name -> value, name -> v -> {
+                // no-op
+            });
+        }
+        processor.afterGroup(name -> v -> {
+            // no-op
+        });
+        processor.stop();
+
+        final NodeMetrics metrics = ComponentMetrics.find("metrics", "Root", "Splitter");
+        assertEquals(3, metrics.getRecordsIn());
+        assertEquals(3, metrics.getRecordsOut().get("even") + metrics.getRecordsOut().get("odd"));
+        assertEquals(1, metrics.getRecordsOut().get("after"));
+        assertEquals(3, metrics.getElementListenerDuration().getCount());
+        assertEquals(1, metrics.getAfterGroupDuration().getCount());
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = ComponentMetrics.toObjectName(metrics);
+        assertEquals(3L, server.getAttribute(name, "RecordsIn"));
+        assertEquals(3L,
+                CompositeData.class.cast(server.getAttribute(name, "ElementListenerDuration")).get("count"));
+
+        ComponentMetrics.remove("metrics");
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void input() {
+        final Input input = new InputImpl("Root", "Values", "metrics", new Values());
+        input.start();
+        final Collection<Object> values = new ArrayList<>();
+        Object next;
+        while ((next = input.next()) != null) {
+            values.add(next);
+        }
+        input.stop();
+
+        final NodeMetrics metrics = ComponentMetrics.find("metrics", "Root", "Values");
+        assertEquals(singletonMap("__default__", 2L), metrics.getRecordsOut());
+        assertEquals(3, metrics.getProducerDuration().getCount()); // last call returns null
+        assertTrue(ComponentMetrics.nodes().contains(metrics));
+    }
+
+    public static class Splitter implements Serializable {
+
+        @ElementListener
+        public void onNext(final int value, @Output("even") final OutputEmitter<Integer> even,
+                @Output("odd") final OutputEmitter<Integer> odd) {
+            (value % 2 == 0 ? even : odd).emit(value);
+        }
+
+        @AfterGroup
+        public void after(@Output("after") final OutputEmitter<String> after) {
+            after.emit("done");
+        }
+    }
+
+    public static class Values implements Serializable {
+
+        private int remaining = 2;
+
+        @Producer
+        public String next() {
+            return remaining-- > 0 ? "value" : null;
+        }
+    }
+}
@@ -23,11 +23,18 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.IntStream;
 
 import javax.annotation.PostConstruct;
@@ -37,6 +44,8 @@ import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.BeforeGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.runtime.record.RecordImpl;
 import org.talend.sdk.component.runtime.serialization.Serializer;
@@ -90,6 +99,70 @@ class ProcessorImplTest {
         assertEquals("Plugin", copy.plugin());
     }
 
+    @Test
+    void asyncOrdered() {
+        final AsyncProcessor delegate = new AsyncProcessor();
+        final Processor processor = new ProcessorImpl("Root", "Test", "Plugin", emptyMap(), delegate);
+        final Map<String, List<Object>> outputs = new HashMap<>();
+        final OutputFactory output = name -> value -> outputs.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        processor.start();
+        processor.beforeGroup();
+        processor.onNext(name -> new Sample(1), output);
+        processor.onNext(name -> new Sample(2), output);
+        delegate.pending.get(1).complete(new Sample(2));
+        assertTrue(outputs.isEmpty()); // waits for the first element
+
+        // max in flight reached: the next element waits for the first one
+        final CompletableFuture<Sample> first = delegate.pending.get(0);
+        CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            first.complete(new Sample(1));
+        });
+        processor.onNext(name -> new Sample(3), output);
+        assertEquals(2, delegate.pending.size());
+        assertEquals(asList(new Sample(1), new Sample(2), new Sample(3)), outputs.get(Branches.DEFAULT_BRANCH));
+        assertEquals(asList(1, 2, 3), outputs.get("side"));
+
+        processor.afterGroup(output);
+        assertEquals(3, outputs.get(Branches.DEFAULT_BRANCH).size());
+        processor.stop();
+    }
+
+    @Test
+    void asyncUnordered() {
+        final UnorderedAsyncProcessor delegate = new UnorderedAsyncProcessor();
+        final Processor processor = new ProcessorImpl("Root", "Test", "Plugin", emptyMap(), delegate);
+        final List<Object> outputs = new ArrayList<>();
+        processor.start();
+        processor.beforeGroup();
+        processor.onNext(name -> new Sample(1), name -> outputs::add);
+        processor.onNext(name -> new Sample(3), name -> outputs::add);
+        assertEquals(singletonList(new Sample(3)), outputs);
+
+        delegate.pending.get(0).complete(new Sample(1));
+        processor.afterGroup(name -> outputs::add);
+        assertEquals(asList(new Sample(3), new Sample(1)), outputs);
+        assertEquals(asList("start", "beforeGroup", "afterGroup"), delegate.stack);
+        processor.stop();
+    }
+
+    @Test
+    void asyncFailure() {
+        final UnorderedAsyncProcessor delegate = new UnorderedAsyncProcessor();
+        final Processor processor = new ProcessorImpl("Root", "Test", "Plugin", emptyMap(), delegate);
+        processor.start();
+        processor.beforeGroup();
+        processor.onNext(name -> new Sample(1), NO_OUTPUT);
+        delegate.pending.get(0).completeExceptionally(new IllegalArgumentException("failed"));
+        assertEquals("failed",
+                assertThrows(IllegalArgumentException.class, () -> processor.afterGroup(NO_OUTPUT)).getMessage());
+        processor.stop();
+    }
+
     private void assertLifecycle(final Base delegate) {
         final Processor processor = new ProcessorImpl("Root", "Test", "Plugin", emptyMap(), delegate);
         assertEquals(emptyList(), delegate.stack);
@@ -172,6 +245,41 @@ class ProcessorImplTest {
         }
     }
 
+    public static class AsyncProcessor implements Serializable {
+
+        private final transient List<CompletableFuture<Sample>> pending = new ArrayList<>();
+
+        @ElementListener(maxInFlight = 2)
+        public CompletionStage<Sample> onNext(final Sample sample,
+                @Output("side") final OutputEmitter<Integer> side) {
+            if (sample.data == 3) {
+                side.emit(3);
+                return CompletableFuture.completedFuture(sample);
+            }
+            final CompletableFuture<Sample> future = new CompletableFuture<>();
+            pending.add(future);
+            return future.thenApply(it -> { // emitted from the completing thread
+                side.emit(it.data);
+                return it;
+            });
+        }
+    }
+
+    public static class UnorderedAsyncProcessor extends Base {
+
+        private final transient List<CompletableFuture<Sample>> pending = new ArrayList<>();
+
+        @ElementListener(ordered = false)
+        public CompletionStage<Sample> onNext(final Sample sample) {
+            if (sample.data == 3) {
+                return CompletableFuture.completedFuture(sample);
+            }
+            final CompletableFuture<Sample> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+    }
+
     public static class SampleOutput extends Base {
 
         @ElementListener
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+class JsonRecordTest {
+
+    private final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl("test");
+
+    private final JsonBuilderFactory jsonFactory = Json.createBuilderFactory(emptyMap());
+
+    private final JsonObject json = jsonFactory
+            .createObjectBuilder()
+            .add("name", "json")
+            .add("age", 42)
+            .add("active", true)
+            .add("first name", "sanitized")
+            .addNull("missing")
+            .add("address", jsonFactory.createObjectBuilder().add("street", "here").add("number", 1))
+            .add("tags", jsonFactory.createArrayBuilder().add("a").add("b"))
+            .add("lines", jsonFactory
+                    .createArrayBuilder()
+                    .add(jsonFactory.createObjectBuilder().add("id", 1))
+                    .add(jsonFactory.createObjectBuilder().add("id", 2).add("label", "two")))
+            .build();
+
+    @Test
+    void sameRecordAsEagerConversion() {
+        final Record eager = new RecordConverters().json2Record(factory, json);
+        final Record lazy = JsonRecord.of(factory, json);
+        assertEquals(eager.getSchema(), lazy.getSchema());
+        eager
+                .getSchema()
+                .getAllEntries()
+                .filter(e -> e.getType() != Schema.Type.RECORD && e.getType() != Schema.Type.ARRAY)
+                .forEach(e -> assertEquals(eager.get(Object.class, e.getName()), lazy.get(Object.class, e.getName()),
+                        e.getName()));
+        assertEquals(42., lazy.getDouble("age"));
+        assertEquals(42, lazy.getInt("age"));
+        assertTrue(lazy.getBoolean("active"));
+        assertEquals("sanitized", lazy.getString("first_name"));
+        assertNull(lazy.getString("first name"));
+        assertNull(lazy.getString("missing"));
+        assertEquals("here", lazy.getRecord("address").getString("street"));
+        assertEquals(eager.getRecord("address").getSchema(), lazy.getRecord("address").getSchema());
+        assertEquals(eager.getArray(String.class, "tags"), lazy.getArray(String.class, "tags"));
+        final Collection<Record> lines = lazy.getArray(Record.class, "lines");
+        assertEquals(2, lines.size());
+        assertEquals("two", lines.stream().skip(1).findFirst().get().getString("label"));
+        assertEquals(eager.toString(), lazy.toString());
+    }
+
+    @Test
+    void nonPortableKeys() {
+        final JsonObject object = jsonFactory.createObjectBuilder().add("first name", "Ada").build();
+        final Record record = JsonRecord.of(factory, object);
+        assertEquals("Ada", record.getString("first_name")); // before the schema is inferred
+        assertEquals("first_name", record.getSchema().getEntries().get(0).getName());
+        assertEquals("Ada", record.getString("first_name"));
+
+        final JsonObject colliding =
+                jsonFactory.createObjectBuilder().add("a b", "space").add("a_b", "underscore").build();
+        final Record eager = new RecordConverters().json2Record(factory, colliding);
+        eager.getSchema().getEntries().forEach(entry -> {
+            final Record lazy = JsonRecord.of(factory, colliding);
+            assertEquals(eager.getString(entry.getName()), lazy.getString(entry.getName()), entry.getName());
+        });
+    }
+
+    @Test
+    void schemaCachedPerShape() {
+        final Record first = JsonRecord.of(factory, json);
+        final Record sameShape =
+                JsonRecord.of(factory, jsonFactory.createObjectBuilder(json).add("name", "other").build());
+        final Record otherShape =
+                JsonRecord.of(factory, jsonFactory.createObjectBuilder(json).add("age", "old").build());
+        assertSame(first.getSchema(), sameShape.getSchema());
+        assertNotSame(first.getSchema(), otherShape.getSchema());
+        assertEquals(Schema.Type.STRING, otherShape.getSchema().getEntry("age").getType());
+        // nested records reuse the element schema of the parent
+        assertSame(first.getSchema().getEntry("address").getElementSchema(),
+                first.getRecord("address").getSchema());
+    }
+
+    @Test
+    void lazyParsing() {
+        final Record record = JsonRecord.of(factory, Json.createReaderFactory(emptyMap()),
+                json.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals("json", record.getString("name"));
+        assertEquals(JsonRecord.of(factory, json), record);
+    }
+
+    @Test
+    void toRecordIsLazy() {
+        final Record record = new RecordConverters()
+                .toRecord(new RecordConverters.MappingMetaRegistry(), json, () -> null, () -> factory);
+        assertTrue(JsonRecord.class.isInstance(record));
+        assertEquals("json", record.getString("name"));
+    }
+
+    @Test
+    void equalsThroughRecordApi() {
+        final Record eager = new RecordConverters().json2Record(factory, json);
+        final Record lazy = JsonRecord.of(factory, json);
+        assertEquals(lazy, eager);
+        assertEquals(lazy, JsonRecord.of(factory, jsonFactory.createObjectBuilder(json).build()));
+        assertEquals(lazy.hashCode(), JsonRecord.of(factory, Json.createReaderFactory(emptyMap()),
+                json.toString().getBytes(StandardCharsets.UTF_8)).hashCode());
+        assertNotEquals(lazy, JsonRecord.of(factory, jsonFactory.createObjectBuilder(json).add("name", "o").build()));
+        assertNotEquals(lazy, new RecordConverters()
+                .json2Record(factory, jsonFactory.createObjectBuilder(json).add("name", "o").build()));
+    }
+
+    @Test
+    void toRecordIsEagerForOtherFactories() {
+        final RecordBuilderFactoryImpl custom = new RecordBuilderFactoryImpl("test") {
+        };
+        final Record record = new RecordConverters()
+                .toRecord(new RecordConverters.MappingMetaRegistry(), json, () -> null, () -> custom);
+        assertFalse(JsonRecord.class.isInstance(record));
+        assertEquals("json", record.getString("name"));
+    }
+}
@@ -17,6 +17,10 @@ package org.talend.sdk.component.runtime.record;
 
 import static java.util.stream.Collectors.joining;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.talend.sdk.component.api.record.Schema.Type.INT;
 import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
@@ -93,6 +97,27 @@ class RecordBuilderFactoryImplTest {
                 output.toString());
     }
 
+    @Test
+    void intern() {
+        final Schema copy = factory.newSchemaBuilder(baseSchema).build();
+        assertNotSame(baseSchema, copy);
+        final Schema canonical = factory.intern(baseSchema);
+        assertSame(canonical, factory.intern(copy));
+        assertSame(canonical, factory.intern(canonical));
+        assertEquals(baseSchema, canonical);
+        assertEquals(canonical, baseSchema);
+        assertEquals(baseSchema.hashCode(), canonical.hashCode());
+        assertNotEquals(canonical, factory.intern(address));
+        assertThrows(UnsupportedOperationException.class, () -> canonical.getProps().put("k", "v"));
+
+        // records share the canonical schema
+        final Schema canonicalAddress = factory.intern(address);
+        final Record record =
+                factory.newRecordBuilder(canonicalAddress).withString("street", "here").withInt("number", 1).build();
+        assertSame(canonicalAddress, record.getSchema());
+        assertSame(canonicalAddress, factory.intern(record.getSchema()));
+    }
+
     @Test
     void serial() throws IOException, ClassNotFoundException {
         DynamicContainerFinder.LOADERS.put("test", Thread.currentThread().getContextClassLoader());
@@ -17,8 +17,12 @@ package org.talend.sdk.component.runtime.record;
 
 import static java.util.stream.Collectors.joining;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -56,6 +60,31 @@ import javax.json.bind.annotation.JsonbTransient;
 
 class RecordBuilderImplTest {
 
+    @Test
+    void equalityIgnoresClearedPrimitiveSlots() {
+        final Schema schema = new SchemaImpl.BuilderImpl()
+                .withType(Schema.Type.RECORD)
+                .withEntry(new SchemaImpl.EntryImpl.BuilderImpl()
+                        .withName("value")
+                        .withNullable(true)
+                        .withType(Schema.Type.LONG)
+                        .build())
+                .build();
+        final IndexedValues cleared = new IndexedValues(EntryIndex.of(schema));
+        cleared.setLong(0, 5);
+        cleared.set(0, "5");
+        final IndexedValues direct = new IndexedValues(EntryIndex.of(schema));
+        direct.set(0, "5");
+        assertEquals(direct, cleared);
+        assertEquals(direct.hashCode(), cleared.hashCode());
+
+        direct.setLong(0, 6);
+        cleared.setLong(0, 6);
+        assertEquals(direct, cleared);
+        cleared.setLong(0, 7);
+        assertNotEquals(direct, cleared);
+    }
+
     @Test
     void providedSchemaGetSchema() {
         final Schema schema = new SchemaImpl.BuilderImpl()
@@ -74,6 +103,142 @@ class RecordBuilderImplTest {
                 .collect(Collectors.toList()));
     }
 
+    @Test
+    void providedSchemaIndexedValues() {
+        final Schema schema = new SchemaImpl.BuilderImpl()
+                .withType(Type.RECORD)
+                .withEntry(newEntry("name", Type.STRING))
+                .withEntry(newEntry("age", Type.INT))
+                .withEntry(newMetaEntry("meta", Type.STRING))
+                .build();
+        final Record first = new RecordImpl.BuilderImpl(schema)
+                .withInt("age", 30)
+                .withString("meta", "m")
+                .withString("name", "first")
+                .build();
+        final Record second = new RecordImpl.BuilderImpl(schema).withString("name", "second").build();
+        assertEquals("first", first.getString("name"));
+        assertEquals(30, first.getInt("age"));
+        assertEquals("m", first.getString("meta"));
+        assertEquals("second", second.getString("name"));
+        assertNull(second.get(Integer.class, "age"));
+        assertNull(second.getString("unknown"));
+        assertEquals(first, new RecordImpl.BuilderImpl(schema)
+                .withString("name", "first")
+                .withString("meta", "m")
+                .withInt("age", 30)
+                .build());
+        // the name to position table is computed once per schema
+        assertSame(SchemaImpl.class.cast(schema).getEntryIndex(), SchemaImpl.class.cast(schema).getEntryIndex());
+        assertThrows(IllegalArgumentException.class,
+                () -> new RecordImpl.BuilderImpl(schema).withString("unknown", "value"));
+    }
+
+    @Test
+    void providedSchemaPrimitiveValues() {
+        final Schema schema = new SchemaImpl.BuilderImpl()
+                .withType(Type.RECORD)
+                .withEntry(newEntry("i", Type.INT))
+                .withEntry(newEntry("l", Type.LONG))
+                .withEntry(newEntry("f", Type.FLOAT))
+                .withEntry(newEntry("d", Type.DOUBLE))
+                .withEntry(newEntry("b", Type.BOOLEAN))
+                .withEntry(newEntry("s", Type.STRING))
+                .withEntry(newEntry("missing", Type.LONG))
+                .build();
+        final Record record = new RecordImpl.BuilderImpl(schema)
+                .withInt("i", 1)
+                .withLong("l", 2L)
+                .withFloat("f", 3.5f)
+                .withDouble("d", 4.25)
+                .withBoolean("b", true)
+                .withString("s", "five")
+                .build();
+        assertEquals(1, record.getInt("i"));
+        assertEquals(2L, record.getLong("l"));
+        assertEquals(3.5f, record.getFloat("f"));
+        assertEquals(4.25, record.getDouble("d"));
+        assertTrue(record.getBoolean("b"));
+        assertEquals(2L, record.getOptionalLong("l").getAsLong());
+        assertFalse(record.getOptionalLong("missing").isPresent());
+        assertNull(record.get(Long.class, "missing"));
+        // boxed access keeps the natural wrapper types
+        assertEquals(Integer.valueOf(1), record.get(Object.class, "i"));
+        assertEquals(Long.valueOf(2L), record.get(Object.class, "l"));
+        assertEquals(Float.valueOf(3.5f), record.get(Object.class, "f"));
+        assertEquals(Double.valueOf(4.25), record.get(Object.class, "d"));
+        assertEquals(Boolean.TRUE, record.get(Object.class, "b"));
+        // coercion to another numeric type still works
+        assertEquals(1L, record.getLong("i"));
+        assertEquals(4.25f, record.getFloat("d"));
+        // dynamic and provided schema builders produce the same layout
+        final Record dynamic = new RecordImpl.BuilderImpl()
+                .withInt("i", 1)
+                .withLong("l", 2L)
+                .withFloat("f", 3.5f)
+                .withDouble("d", 4.25)
+                .withBoolean("b", true)
+                .withString("s", "five")
+                .build();
+        assertEquals(record.getInt("i"), dynamic.getInt("i"));
+        assertEquals(record.getDouble("d"), dynamic.getDouble("d"));
+        assertEquals(record.get(Object.class, "b"), dynamic.get(Object.class, "b"));
+        assertThrows(IllegalArgumentException.class, () -> new RecordImpl.BuilderImpl(schema).withLong("i", 1L));
+    }
+
+    @Test
+    void resetProvidedSchema() {
+        final Schema schema = new SchemaImpl.BuilderImpl()
+                .withType(Type.RECORD)
+                .withEntry(newEntry("id", Type.INT))
+                .withEntry(newEntry("name", Type.STRING))
+                .build();
+        final Record.Builder builder = new RecordImpl.BuilderImpl(schema);
+        final Record first = builder.withInt("id", 1).withString("name", "first").build();
+        final Record second = builder.reset().withInt("id", 2).build();
+        assertEquals(1, first.getInt("id"));
+        assertEquals("first", first.getString("name"));
+        assertEquals(2, second.getInt("id"));
+        assertNull(second.getString("name"));
+        assertSame(first.getSchema(), second.getSchema());
+    }
+
+    @Test
+    void resetDynamicSchema() {
+        final Record.Builder builder = new RecordImpl.BuilderImpl();
+        final Record first = builder.withInt("id", 1).withString("name", "first").build();
+        final Record second = builder.reset().withInt("id", 2).withString("name", "second").build();
+        final Record third = builder.reset().withInt("id", 3).withString("name", "third").build();
+        assertEquals(1, first.getInt("id"));
+        assertEquals("first", first.getString("name"));
+        assertEquals("second", second.getString("name"));
+        assertEquals(3, third.getInt("id"));
+        // same entries in the same order share the schema
+        assertSame(first.getSchema(), second.getSchema());
+        assertSame(first.getSchema(), third.getSchema());
+
+        final Record other = builder.reset().withString("name", "other").withInt("id", 4).build();
+        assertNotSame(first.getSchema(), other.getSchema());
+        assertEquals(Arrays.asList("name", "id"),
+                other.getSchema().getEntriesOrdered().stream().map(Entry::getName).collect(Collectors.toList()));
+        final Record partial = builder.reset().withString("name", "partial").build();
+        assertEquals(1, partial.getSchema().getEntries().size());
+        assertNull(partial.get(Object.class, "id"));
+        assertSame(partial.getSchema(), builder.reset().withString("name", "again").build().getSchema());
+    }
+
+    @Test
+    void resetAfterEntriesAddedPastBuild() {
+        final Record.Builder builder = new RecordImpl.BuilderImpl();
+        final Record first = builder.withString("a", "1").build();
+        builder.withString("b", "2"); // not built
+        final Record second = builder.reset().withString("a", "3").withString("b", "4").build();
+        assertEquals(1, first.getSchema().getEntries().size());
+        assertEquals(2, second.getSchema().getEntries().size());
+        assertEquals("3", second.getString("a"));
+        assertEquals("4", second.getString("b"));
+    }
+
     @Test
     void getValue() {
         final RecordImpl.BuilderImpl builder = new RecordImpl.BuilderImpl();
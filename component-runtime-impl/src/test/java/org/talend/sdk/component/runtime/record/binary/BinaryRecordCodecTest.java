@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.binary;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class BinaryRecordCodecTest {
+
+    private final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl("test");
+
+    private final SchemaRegistry registry = new SchemaRegistry();
+
+    private final BinaryRecordEncoder encoder = new BinaryRecordEncoder(registry);
+
+    private final BinaryRecordDecoder decoder = new BinaryRecordDecoder(factory, registry);
+
+    @Test
+    void roundTrip() {
+        final Record record = newRecord();
+        final byte[] bytes = encoder.encode(record);
+        assertEquals(record, decoder.decode(bytes));
+        assertTrue(bytes.length < record.toString().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void stream() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 200; i++) {
+            encoder.write(factory.newRecordBuilder().withInt("id", i).withString("name", "n" + i).build(), out);
+        }
+        final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (int i = 0; i < 200; i++) {
+            final Record record = decoder.read(in);
+            assertEquals(i, record.getInt("id"));
+            assertEquals("n" + i, record.getString("name"));
+        }
+        assertNull(decoder.read(in));
+    }
+
+    @Test
+    void dateTimeArrays() {
+        final ZoneId utc = ZoneId.of("UTC");
+        final Schema dateTimes = factory.newSchemaBuilder(Schema.Type.DATETIME).build();
+        final Record record = factory
+                .newRecordBuilder()
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("dates")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(dateTimes)
+                        .build(),
+                        asList(ZonedDateTime.of(2024, 1, 2, 3, 4, 5, 123_000_000, utc), null,
+                                ZonedDateTime.of(1969, 12, 31, 23, 59, 59, 0, utc)))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("nested")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(
+                                factory.newSchemaBuilder(Schema.Type.ARRAY).withElementSchema(dateTimes).build())
+                        .build(), asList(asList(ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, utc))))
+                .build();
+        final Record decoded = decoder.decode(encoder.encode(record));
+        assertEquals(record, decoded);
+        assertTrue(decoded
+                .getArray(Object.class, "dates")
+                .stream()
+                .filter(Objects::nonNull)
+                .allMatch(ZonedDateTime.class::isInstance));
+    }
+
+    @Test
+    void largeRecord() throws IOException {
+        // a multi megabytes payload, the length prefix is a fixed int whatever the payload size is
+        final char[] chars = new char[(1 << 21) + 1];
+        Arrays.fill(chars, 'a');
+        final Record record = factory.newRecordBuilder().withString("value", new String(chars)).build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.write(record, out);
+        encoder.write(record, out);
+        final byte[] bytes = out.toByteArray();
+        final int length =
+                (bytes[0] & 0xFF) | (bytes[1] & 0xFF) << 8 | (bytes[2] & 0xFF) << 16 | (bytes[3] & 0xFF) << 24;
+        assertEquals(bytes.length / 2 - Integer.BYTES, length);
+
+        final ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        assertEquals(record, decoder.read(in));
+        assertEquals(record, decoder.read(in));
+        assertNull(decoder.read(in));
+    }
+
+    @Test
+    void maxRecordLength() throws IOException {
+        // a length above 2^28, the payload is never allocated
+        final byte[] header = new byte[] { 1, 0, 0, 0x10 };
+        final IOException error =
+                assertThrows(IOException.class, () -> decoder.read(new ByteArrayInputStream(header)));
+        assertTrue(error.getMessage().contains("268435457"), error.getMessage());
+        assertThrows(IOException.class, () -> decoder.read(new ByteArrayInputStream(new byte[] { -1, -1, -1, -1 })));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.write(newRecord(), out);
+        assertThrows(IOException.class, () -> new BinaryRecordDecoder(factory, registry, 16)
+                .read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void boundedRegistry() {
+        final SchemaRegistry bounded = new SchemaRegistry(2);
+        final Schema first = factory.newRecordBuilder().withInt("first", 1).build().getSchema();
+        final Schema second = factory.newRecordBuilder().withInt("second", 1).build().getSchema();
+        final Schema third = factory.newRecordBuilder().withInt("third", 1).build().getSchema();
+        final long firstFingerprint = bounded.register(first);
+        final long secondFingerprint = bounded.register(second);
+        bounded.resolve(firstFingerprint); // second becomes the least recently used
+        bounded.register(third);
+        assertEquals(first, bounded.resolve(firstFingerprint));
+        assertNull(bounded.resolve(secondFingerprint));
+        assertEquals(2, bounded.getSchemas().size());
+    }
+
+    @Test
+    void sharedBoundedRegistry() {
+        final SchemaRegistry bounded = new SchemaRegistry(1);
+        final BinaryRecordEncoder firstEncoder = new BinaryRecordEncoder(bounded);
+        final BinaryRecordEncoder secondEncoder = new BinaryRecordEncoder(bounded);
+        final BinaryRecordDecoder boundedDecoder = new BinaryRecordDecoder(factory, bounded);
+        final Record first = factory.newRecordBuilder().withInt("first", 1).build();
+        final Record second = factory.newRecordBuilder().withInt("second", 2).build();
+        for (int i = 0; i < 3; i++) {
+            // each encoder evicts the schema of the other one, the schema in use must be registered again
+            assertEquals(first, boundedDecoder.decode(firstEncoder.encode(first)));
+            assertEquals(second, boundedDecoder.decode(secondEncoder.encode(second)));
+        }
+    }
+
+    @Test
+    void fingerprint() {
+        final Schema schema = newRecord().getSchema();
+        assertEquals(SchemaFingerprint.of(schema), SchemaFingerprint.of(newRecord().getSchema()));
+        assertNotEquals(SchemaFingerprint.of(schema),
+                SchemaFingerprint.of(factory.newRecordBuilder().withString("name", "").build().getSchema()));
+    }
+
+    @Test
+    void unknownSchema() {
+        final byte[] bytes = encoder.encode(newRecord());
+        final BinaryRecordDecoder other = new BinaryRecordDecoder(factory, new SchemaRegistry());
+        assertThrows(IllegalStateException.class, () -> other.decode(bytes));
+
+        // once shipped the schemas are resolved on the other side
+        final SchemaRegistry remote = new SchemaRegistry();
+        registry.getSchemas().values().forEach(remote::register);
+        assertEquals(newRecord(), new BinaryRecordDecoder(factory, remote).decode(bytes));
+    }
+
+    private Record newRecord() {
+        final Record address = factory.newRecordBuilder().withString("street", "here").withInt("number", 1).build();
+        return factory
+                .newRecordBuilder()
+                .withString("name", "é\"quoted\"")
+                .withInt("int", -1)
+                .withLong("long", Long.MIN_VALUE)
+                .withFloat("float", 0.1f)
+                .withDouble("double", -2.5)
+                .withBoolean("bool", true)
+                .withBytes("bytes", new byte[] { 1, 2, 3 })
+                .withDateTime("date", ZonedDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneId.of("UTC")))
+                .withInstant("instant", Instant.ofEpochSecond(1_700_000_000L, 123_456_789))
+                .withDecimal("decimal", new BigDecimal("-12.345"))
+                .withRecord("address", address)
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("strings")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory.newSchemaBuilder(Schema.Type.STRING).build())
+                        .build(), asList("a", null, "b"))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("records")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(address.getSchema())
+                        .build(), asList(address, address))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("matrix")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory
+                                .newSchemaBuilder(Schema.Type.ARRAY)
+                                .withElementSchema(factory.newSchemaBuilder(Schema.Type.LONG).build())
+                                .build())
+                        .build(), asList(asList(1L, 2L), emptyList()))
+                .withString(factory
+                        .newEntryBuilder()
+                        .withName("nullable")
+                        .withType(Schema.Type.STRING)
+                        .withNullable(true)
+                        .build(), null)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record.json;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+import org.talend.sdk.component.runtime.record.RecordConverters;
+
+class RecordJsonWriterTest {
+
+    private final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl("test");
+
+    private final RecordJsonWriter writer = new RecordJsonWriter(Json.createGeneratorFactory(emptyMap()));
+
+    @Test
+    void sameAsJsonObject() throws Exception {
+        final Record address = factory.newRecordBuilder().withString("street", "here").withInt("number", 1).build();
+        final Record record = factory
+                .newRecordBuilder()
+                .withString("name", "escaped \"quotes\"\né")
+                .withInt("int", 1)
+                .withLong("long", Long.MAX_VALUE)
+                .withFloat("float", 0.1f)
+                .withDouble("double", 2.5)
+                .withBoolean("bool", true)
+                .withBytes("bytes", new byte[] { 1, 2, 3 })
+                .withDateTime("date", ZonedDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneId.of("UTC")))
+                .withDecimal("decimal", new BigDecimal("12.345"))
+                .withRecord("address", address)
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("strings")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory.newSchemaBuilder(Schema.Type.STRING).build())
+                        .build(), asList("a", "b"))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("floats")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory.newSchemaBuilder(Schema.Type.FLOAT).build())
+                        .build(), asList(1.5f, 0.3f))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("records")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(address.getSchema())
+                        .build(), asList(address, address))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("empty")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory.newSchemaBuilder(Schema.Type.LONG).build())
+                        .build(), emptyList())
+                .withString(factory
+                        .newEntryBuilder()
+                        .withName("nullable")
+                        .withType(Schema.Type.STRING)
+                        .withNullable(true)
+                        .build(), null)
+                .build();
+
+        final String expected;
+        try (final Jsonb jsonb = JsonbBuilder.create()) {
+            expected = new RecordConverters()
+                    .toType(new RecordConverters.MappingMetaRegistry(), record, JsonObject.class,
+                            () -> Json.createBuilderFactory(emptyMap()), JsonProvider::provider, () -> jsonb,
+                            () -> factory)
+                    .toString();
+        }
+        assertEquals(expected, writer.toJson(record));
+        assertEquals(expected, record.toString());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(record, out);
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nullArrayItems() throws Exception {
+        final Record address = factory.newRecordBuilder().withString("street", "here").build();
+        final Record record = factory
+                .newRecordBuilder()
+                .withArray(arrayEntry("leading", factory.newSchemaBuilder(Schema.Type.STRING).build()),
+                        asList(null, "a"))
+                .withArray(arrayEntry("embedded", factory.newSchemaBuilder(Schema.Type.LONG).build()),
+                        asList(1L, null, 2L))
+                .withArray(arrayEntry("records", address.getSchema()), asList(address, null))
+                .withArray(arrayEntry("nulls", factory.newSchemaBuilder(Schema.Type.STRING).build()),
+                        asList(null, null))
+                .build();
+
+        final String json = writer.toJson(record);
+        assertEquals("{\"leading\":[null,\"a\"],\"embedded\":[1,null,2],"
+                + "\"records\":[{\"street\":\"here\"},null],\"nulls\":[null,null]}", json);
+        try (final Jsonb jsonb = JsonbBuilder.create()) {
+            assertEquals(json, new RecordConverters()
+                    .toType(new RecordConverters.MappingMetaRegistry(), record, JsonObject.class,
+                            () -> Json.createBuilderFactory(emptyMap()), JsonProvider::provider, () -> jsonb,
+                            () -> factory)
+                    .toString());
+        }
+    }
+
+    @Test
+    void streamRecords() {
+        final StringWriter out = new StringWriter();
+        try (final JsonGenerator generator = Json.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < 3; i++) {
+                writer.write(factory.newRecordBuilder().withInt("id", i).build(), generator);
+            }
+            generator.writeEnd();
+        }
+        assertEquals("[{\"id\":0},{\"id\":1},{\"id\":2}]", out.toString());
+    }
+
+    private Schema.Entry arrayEntry(final String name, final Schema elementSchema) {
+        return factory
+                .newEntryBuilder()
+                .withName(name)
+                .withType(Schema.Type.ARRAY)
+                .withElementSchema(elementSchema)
+                .build();
+    }
+}
@@ -172,6 +172,7 @@ import org.talend.sdk.component.runtime.manager.util.LazyMap;
 import org.talend.sdk.component.runtime.manager.xbean.KnownClassesFilter;
 import org.talend.sdk.component.runtime.manager.xbean.NestedJarArchive;
 import org.talend.sdk.component.runtime.manager.xbean.registry.EnrichedPropertyEditorRegistry;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
 import org.talend.sdk.component.runtime.output.ProcessorImpl;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.serialization.LightContainer;
@@ -1639,6 +1640,7 @@ public class ComponentManager implements AutoCloseable {
                             log.warn(e.getMessage(), e);
                         }
                     });
+            ComponentMetrics.remove(container.getId());
         }
 
         private void doInvoke(final String container, final Object instance, final Class<? extends Annotation> marker) {
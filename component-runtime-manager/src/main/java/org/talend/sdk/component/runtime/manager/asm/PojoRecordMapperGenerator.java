@@ -0,0 +1,511 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.asm;
+
+import static java.util.Arrays.asList;
+import static org.apache.xbean.asm9.Opcodes.ACC_FINAL;
+import static org.apache.xbean.asm9.Opcodes.ACC_PUBLIC;
+import static org.apache.xbean.asm9.Opcodes.ACC_SUPER;
+import static org.apache.xbean.asm9.Opcodes.ACC_SYNTHETIC;
+import static org.apache.xbean.asm9.Opcodes.ALOAD;
+import static org.apache.xbean.asm9.Opcodes.ARETURN;
+import static org.apache.xbean.asm9.Opcodes.ASTORE;
+import static org.apache.xbean.asm9.Opcodes.CHECKCAST;
+import static org.apache.xbean.asm9.Opcodes.DUP;
+import static org.apache.xbean.asm9.Opcodes.F2D;
+import static org.apache.xbean.asm9.Opcodes.GETFIELD;
+import static org.apache.xbean.asm9.Opcodes.IFNULL;
+import static org.apache.xbean.asm9.Opcodes.INVOKEINTERFACE;
+import static org.apache.xbean.asm9.Opcodes.INVOKESPECIAL;
+import static org.apache.xbean.asm9.Opcodes.INVOKESTATIC;
+import static org.apache.xbean.asm9.Opcodes.INVOKEVIRTUAL;
+import static org.apache.xbean.asm9.Opcodes.NEW;
+import static org.apache.xbean.asm9.Opcodes.POP;
+import static org.apache.xbean.asm9.Opcodes.PUTFIELD;
+import static org.apache.xbean.asm9.Opcodes.RETURN;
+
+import java.beans.BeanInfo;
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import javax.json.JsonValue;
+
+import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.Label;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Type;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.PojoRecordMapper;
+import org.talend.sdk.component.runtime.record.PojoRecordMapperFactory;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates (reusing the {@link ProxyGenerator} class definition) a {@link PojoRecordMapper} copying
+ * the properties of a POJO with direct field/accessor calls.
+ *
+ * It only handles the POJOs where it is trivial to produce exactly what the framework JSON-B mapping does:
+ * public concrete classes with a public default constructor, without any JSON-B/Johnzon annotation
+ * and only string, boolean and numeric properties (public fields or bean accessors named after their private field).
+ * Other types return null and keep using JSON-B.
+ */
+@Slf4j
+public class PojoRecordMapperGenerator implements PojoRecordMapperFactory {
+
+    private static final Collection<Class<?>> INT_TYPES =
+            asList(int.class, Integer.class, short.class, Short.class, byte.class, Byte.class);
+
+    private static final Collection<Class<?>> LONG_TYPES = asList(long.class, Long.class);
+
+    private static final Collection<Class<?>> DOUBLE_TYPES =
+            asList(float.class, Float.class, double.class, Double.class);
+
+    private static final Collection<Class<?>> BOOLEAN_TYPES = asList(boolean.class, Boolean.class);
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+    static {
+        WRAPPERS.put(Integer.class, int.class);
+        WRAPPERS.put(Short.class, short.class);
+        WRAPPERS.put(Byte.class, byte.class);
+        WRAPPERS.put(Long.class, long.class);
+        WRAPPERS.put(Float.class, float.class);
+        WRAPPERS.put(Double.class, double.class);
+        WRAPPERS.put(Boolean.class, boolean.class);
+    }
+
+    private final ProxyGenerator proxyGenerator = new ProxyGenerator();
+
+    private final ClassValue<Optional<PojoRecordMapper>> mappers = new ClassValue<Optional<PojoRecordMapper>>() {
+
+        @Override
+        protected Optional<PojoRecordMapper> computeValue(final Class<?> type) {
+            return Optional.ofNullable(generate(type));
+        }
+    };
+
+    @Override
+    public PojoRecordMapper create(final Class<?> type) {
+        return mappers.get(type).orElse(null);
+    }
+
+    private PojoRecordMapper generate(final Class<?> type) {
+        if (!isSupportedType(type)) {
+            return null;
+        }
+        final Map<String, Accessor> readers = new TreeMap<>(); // JSON-B default order is lexicographical
+        final Map<String, Accessor> writers = new TreeMap<>();
+        if (!findAccessors(type, readers, writers) || readers.isEmpty()) {
+            return null;
+        }
+        try {
+            final Class<?> mapperClass = generateClass(type, readers.values(), writers.values());
+            final PojoRecordMapper mapper =
+                    PojoRecordMapper.class.cast(mapperClass.getConstructor().newInstance());
+            return new SchemaCheckingMapper(mapper, acceptedEntryTypes(writers));
+        } catch (final Exception | LinkageError e) {
+            log.debug("Can't generate the record mapper of {}, JSON-B will be used", type.getName(), e);
+            return null;
+        }
+    }
+
+    private boolean isSupportedType(final Class<?> type) {
+        final int modifiers = type.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || type.isInterface() || type.isEnum()
+                || type.isArray() || type.isPrimitive() || type.getClassLoader() == null
+                || (type.getEnclosingClass() != null && !Modifier.isStatic(modifiers))
+                || type.getName().startsWith("java.") || type.getName().startsWith("javax.")
+                || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                || JsonValue.class.isAssignableFrom(type) || Record.class.isAssignableFrom(type)) {
+            return false;
+        }
+        try {
+            type.getConstructor();
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current =
+                current.getSuperclass()) {
+            if (hasJsonbAnnotation(current.getAnnotations())
+                    || Stream
+                            .concat(Stream.of(current.getDeclaredFields()), Stream.of(current.getDeclaredMethods()))
+                            .map(AccessibleObject::getAnnotations)
+                            .anyMatch(this::hasJsonbAnnotation)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasJsonbAnnotation(final Annotation[] annotations) {
+        return Stream.of(annotations).map(a -> a.annotationType().getName()).anyMatch(name -> name.startsWith(
+                "javax.json.bind.") || name.startsWith("org.apache.johnzon."));
+    }
+
+    // the framework JSON-B mapping (TalendAccessMode) reads the bean accessors, public fields and private fields,
+    // only the types where every private field is exposed by an accessor of the same name are handled here
+    private boolean findAccessors(final Class<?> type, final Map<String, Accessor> readers,
+            final Map<String, Accessor> writers) {
+        final BeanInfo beanInfo;
+        try {
+            beanInfo = Introspector.getBeanInfo(type, Object.class);
+        } catch (final IntrospectionException e) {
+            return false;
+        }
+        for (final PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+            if (IndexedPropertyDescriptor.class.isInstance(descriptor)
+                    || !isSupportedProperty(descriptor.getPropertyType())) {
+                return false;
+            }
+            if (descriptor.getReadMethod() != null) {
+                readers.put(descriptor.getName(), new Accessor(descriptor.getName(),
+                        descriptor.getPropertyType(), null, descriptor.getReadMethod()));
+            }
+            if (descriptor.getWriteMethod() != null) {
+                writers.put(descriptor.getName(), new Accessor(descriptor.getName(),
+                        descriptor.getPropertyType(), null, descriptor.getWriteMethod()));
+            }
+        }
+        for (final Field field : type.getFields()) {
+            final int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers)) {
+                continue;
+            }
+            if (Modifier.isTransient(modifiers) || !isSupportedProperty(field.getType())
+                    || readers.containsKey(field.getName()) || writers.containsKey(field.getName())) {
+                return false;
+            }
+            final Accessor accessor = new Accessor(field.getName(), field.getType(), field, null);
+            readers.put(field.getName(), accessor);
+            if (!Modifier.isFinal(modifiers)) {
+                writers.put(field.getName(), accessor);
+            }
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current =
+                current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isPublic(modifiers)
+                        || field.isSynthetic()) {
+                    continue;
+                }
+                // a field without accessor or whose accessor has another name (getALong() for aLong)
+                if (!readers.containsKey(field.getName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isSupportedProperty(final Class<?> type) {
+        return type == String.class || INT_TYPES.contains(type) || LONG_TYPES.contains(type)
+                || DOUBLE_TYPES.contains(type) || BOOLEAN_TYPES.contains(type);
+    }
+
+    // the entry types JSON-B would map to the property without any custom conversion
+    private Map<String, Set<Schema.Type>> acceptedEntryTypes(final Map<String, Accessor> writers) {
+        final Map<String, Set<Schema.Type>> accepted = new HashMap<>();
+        writers.forEach((name, accessor) -> {
+            final Class<?> type = accessor.type;
+            if (type == String.class) {
+                accepted.put(name, EnumSet.of(Schema.Type.STRING));
+            } else if (INT_TYPES.contains(type)) {
+                accepted.put(name, EnumSet.of(Schema.Type.INT));
+            } else if (LONG_TYPES.contains(type)) {
+                accepted.put(name, EnumSet.of(Schema.Type.INT, Schema.Type.LONG));
+            } else if (DOUBLE_TYPES.contains(type)) {
+                accepted
+                        .put(name, EnumSet
+                                .of(Schema.Type.INT, Schema.Type.LONG, Schema.Type.FLOAT, Schema.Type.DOUBLE));
+            } else {
+                accepted.put(name, EnumSet.of(Schema.Type.BOOLEAN));
+            }
+        });
+        return accepted;
+    }
+
+    private Class<?> generateClass(final Class<?> type, final Collection<Accessor> readers,
+            final Collection<Accessor> writers) {
+        final String mapperClassName = proxyGenerator
+                .fixPreservedPackages((type.getSigners() != null ? proxyGenerator.getSignedClassProxyName(type)
+                        : type.getName()) + "$$TalendRecordMapper");
+        final String classFileName = mapperClassName.replace('.', '/');
+        final String pojoName = Type.getInternalName(type);
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+
+            @Override
+            protected String getCommonSuperClass(final String type1, final String type2) {
+                return "java/lang/Object"; // frames never merge two distinct types, avoids to load the classes
+            }
+        };
+        cw
+                .visit(proxyGenerator.findJavaVersion(type), ACC_PUBLIC + ACC_FINAL + ACC_SUPER + ACC_SYNTHETIC,
+                        classFileName, null, "java/lang/Object",
+                        new String[] { Type.getInternalName(PojoRecordMapper.class) });
+        cw.visitSource(classFileName + ".java", null);
+
+        createConstructor(cw);
+        createToRecord(cw, pojoName, readers);
+        createToPojo(cw, pojoName, writers);
+
+        cw.visitEnd();
+        return Unsafes.defineAndLoadClass(type.getClassLoader(), mapperClassName, cw.toByteArray());
+    }
+
+    private void createConstructor(final ClassWriter cw) {
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+    }
+
+    // locals: 1 = pojo, 2 = factory, 3 = typed pojo, 4 = builder, 5 = property value
+    private void createToRecord(final ClassWriter cw, final String pojoName, final Collection<Accessor> readers) {
+        final String builderName = Type.getInternalName(Record.Builder.class);
+        final MethodVisitor mv = cw
+                .visitMethod(ACC_PUBLIC, "toRecord", Type
+                        .getMethodDescriptor(Type.getType(Record.class), Type.getType(Object.class),
+                                Type.getType(RecordBuilderFactory.class)),
+                        null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, pojoName);
+        mv.visitVarInsn(ASTORE, 3);
+        mv.visitVarInsn(ALOAD, 2);
+        mv
+                .visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(RecordBuilderFactory.class),
+                        "newRecordBuilder", "()L" + builderName + ";", true);
+        mv.visitVarInsn(ASTORE, 4);
+
+        for (final Accessor reader : readers) {
+            final Label skip = new Label();
+            final Class<?> primitive = reader.type.isPrimitive() ? reader.type : WRAPPERS.get(reader.type);
+            if (reader.type.isPrimitive()) {
+                mv.visitVarInsn(ALOAD, 4);
+                mv.visitLdcInsn(reader.name);
+                readValue(mv, pojoName, reader);
+            } else { // null values are skipped
+                readValue(mv, pojoName, reader);
+                mv.visitVarInsn(ASTORE, 5);
+                mv.visitVarInsn(ALOAD, 5);
+                mv.visitJumpInsn(IFNULL, skip);
+                mv.visitVarInsn(ALOAD, 4);
+                mv.visitLdcInsn(reader.name);
+                mv.visitVarInsn(ALOAD, 5);
+                if (primitive != null) {
+                    unbox(mv, reader.type, primitive);
+                }
+            }
+
+            final String method;
+            final String valueDescriptor;
+            if (primitive == null) {
+                method = "withString";
+                valueDescriptor = "Ljava/lang/String;";
+            } else if (INT_TYPES.contains(primitive)) {
+                method = "withInt";
+                valueDescriptor = "I";
+            } else if (LONG_TYPES.contains(primitive)) {
+                method = "withLong";
+                valueDescriptor = "J";
+            } else if (DOUBLE_TYPES.contains(primitive)) {
+                if (primitive == float.class) {
+                    mv.visitInsn(F2D);
+                }
+                method = "withDouble";
+                valueDescriptor = "D";
+            } else {
+                method = "withBoolean";
+                valueDescriptor = "Z";
+            }
+            mv
+                    .visitMethodInsn(INVOKEINTERFACE, builderName, method,
+                            "(Ljava/lang/String;" + valueDescriptor + ")L" + builderName + ";", true);
+            mv.visitInsn(POP);
+            mv.visitLabel(skip);
+        }
+
+        mv.visitVarInsn(ALOAD, 4);
+        mv.visitMethodInsn(INVOKEINTERFACE, builderName, "build", "()" + Type.getDescriptor(Record.class), true);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+    }
+
+    // locals: 1 = record, 2 = pojo, 3 = entry value
+    private void createToPojo(final ClassWriter cw, final String pojoName, final Collection<Accessor> writers) {
+        final MethodVisitor mv = cw
+                .visitMethod(ACC_PUBLIC, "toPojo",
+                        Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Record.class)), null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(NEW, pojoName);
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, pojoName, "<init>", "()V", false);
+        mv.visitVarInsn(ASTORE, 2);
+
+        for (final Accessor writer : writers) {
+            final Class<?> primitive = writer.type.isPrimitive() ? writer.type : WRAPPERS.get(writer.type);
+            final Class<?> valueType;
+            if (primitive == null) {
+                valueType = String.class;
+            } else if (primitive == boolean.class) {
+                valueType = Boolean.class;
+            } else {
+                valueType = Number.class;
+            }
+
+            final Label skip = new Label();
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitLdcInsn(Type.getType(valueType));
+            mv.visitLdcInsn(writer.name);
+            mv
+                    .visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(Record.class), "get",
+                            "(Ljava/lang/Class;Ljava/lang/String;)Ljava/lang/Object;", true);
+            mv.visitVarInsn(ASTORE, 3);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitJumpInsn(IFNULL, skip);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(valueType));
+            if (primitive != null) {
+                if (valueType == Number.class || writer.type.isPrimitive()) {
+                    unbox(mv, valueType, primitive);
+                }
+                if (!writer.type.isPrimitive() && valueType == Number.class) {
+                    final String wrapper = Type.getInternalName(writer.type);
+                    mv
+                            .visitMethodInsn(INVOKESTATIC, wrapper, "valueOf",
+                                    "(" + Type.getDescriptor(primitive) + ")L" + wrapper + ";", false);
+                }
+            }
+            if (writer.field != null) {
+                mv
+                        .visitFieldInsn(PUTFIELD, pojoName, writer.name,
+                                Type.getDescriptor(writer.field.getType()));
+            } else {
+                mv
+                        .visitMethodInsn(INVOKEVIRTUAL, pojoName, writer.method.getName(),
+                                Type.getMethodDescriptor(writer.method), false);
+            }
+            mv.visitLabel(skip);
+        }
+
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+    }
+
+    private void readValue(final MethodVisitor mv, final String pojoName, final Accessor reader) {
+        mv.visitVarInsn(ALOAD, 3);
+        if (reader.field != null) {
+            mv.visitFieldInsn(GETFIELD, pojoName, reader.name, Type.getDescriptor(reader.field.getType()));
+        } else {
+            mv
+                    .visitMethodInsn(INVOKEVIRTUAL, pojoName, reader.method.getName(),
+                            Type.getMethodDescriptor(reader.method), false);
+        }
+    }
+
+    private void unbox(final MethodVisitor mv, final Class<?> from, final Class<?> primitive) {
+        // byte/short are written as int as JSON-B does
+        final Class<?> target = primitive == byte.class || primitive == short.class
+                ? (from == Number.class ? primitive : int.class)
+                : primitive;
+        mv
+                .visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(from), proxyGenerator.getPrimitiveMethod(target),
+                        "()" + Type.getDescriptor(target), false);
+    }
+
+    @AllArgsConstructor
+    private static class Accessor {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final Field field;
+
+        private final Method method;
+    }
+
+    /**
+     * Ensures the generated code only reads records JSON-B would map the same way,
+     * other records return null to let the caller fallback on JSON-B.
+     */
+    private static class SchemaCheckingMapper implements PojoRecordMapper {
+
+        private final PojoRecordMapper delegate;
+
+        private final Map<String, Set<Schema.Type>> acceptedEntryTypes;
+
+        // schemas are shared by records so checking the last compatible one is generally enough
+        private volatile Schema lastCompatibleSchema;
+
+        private SchemaCheckingMapper(final PojoRecordMapper delegate,
+                final Map<String, Set<Schema.Type>> acceptedEntryTypes) {
+            this.delegate = delegate;
+            this.acceptedEntryTypes = acceptedEntryTypes;
+        }
+
+        @Override
+        public Record toRecord(final Object pojo, final RecordBuilderFactory factory) {
+            return delegate.toRecord(pojo, factory);
+        }
+
+        @Override
+        public Object toPojo(final Record record) {
+            final Schema schema = record.getSchema();
+            if (schema != lastCompatibleSchema) {
+                if (!isCompatible(schema)) {
+                    return null;
+                }
+                lastCompatibleSchema = schema;
+            }
+            return delegate.toPojo(record);
+        }
+
+        private boolean isCompatible(final Schema schema) {
+            return acceptedEntryTypes.entrySet().stream().allMatch(accepted -> {
+                final Schema.Entry entry = schema.getEntry(accepted.getKey());
+                return entry == null || (!entry.isMetadata() && accepted.getValue().contains(entry.getType()));
+            });
+        }
+    }
+}
@@ -453,13 +453,13 @@ public class ProxyGenerator implements Serializable {
         mv.visitTypeInsn(ANEWARRAY, type.getCanonicalName().replace('.', '/'));
     }
 
-    private <T> String getSignedClassProxyName(final Class<T> classToProxy) {
+    <T> String getSignedClassProxyName(final Class<T> classToProxy) {
         // avoid java.lang.SecurityException: class's signer information
         // does not match signer information of other classes in the same package
         return "org.talend.generated.proxy.signed." + classToProxy.getName();
     }
 
-    private String fixPreservedPackages(final String name) {
+    String fixPreservedPackages(final String name) {
         String proxyClassName = name;
         proxyClassName = fixPreservedPackage(proxyClassName, "java.");
         proxyClassName = fixPreservedPackage(proxyClassName, "javax.");
@@ -478,7 +478,7 @@ public class ProxyGenerator implements Serializable {
         return fixedClassName;
     }
 
-    private int findJavaVersion(final Class<?> from) {
+    int findJavaVersion(final Class<?> from) {
         final String resource = from.getName().replace('.', '/') + ".class";
         try (final InputStream stream = from.getClassLoader().getResourceAsStream(resource)) {
             if (stream == null) {
@@ -694,7 +694,7 @@ public class ProxyGenerator implements Serializable {
         return Type.getInternalName(returnType);
     }
 
-    private String getPrimitiveMethod(final Class<?> type) {
+    String getPrimitiveMethod(final Class<?> type) {
         if (Integer.TYPE.equals(type)) {
             return "intValue";
         } else if (Boolean.TYPE.equals(type)) {
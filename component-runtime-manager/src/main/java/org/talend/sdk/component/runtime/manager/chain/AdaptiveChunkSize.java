@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.function.DoubleSupplier;
+
+import lombok.Getter;
+
+/**
+ * Chunk size of an {@link AutoChunkProcessor} adjusted after each full chunk.
+ *
+ * With a target latency the size is scaled to make the {@code @AfterGroup} call last about that latency,
+ * otherwise it moves in the direction improving the throughput of the chunks (hill climbing).
+ * In both cases it stays in its bounds and is halved when the heap usage goes over the configured ratio.
+ */
+public class AdaptiveChunkSize {
+
+    private static final double STEP = 1.5;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long targetFlushNanos;
+
+    private final double maxHeapUsage;
+
+    private final DoubleSupplier heapUsage;
+
+    @Getter
+    private volatile int chunkSize;
+
+    private double lastThroughput = -1;
+
+    private boolean growing = true;
+
+    /**
+     * @param initialSize the chunk size to start with.
+     * @param minSize the minimum chunk size.
+     * @param maxSize the maximum chunk size.
+     * @param targetFlushLatency the expected {@code @AfterGroup} duration in milliseconds, if not positive the
+     * size maximizes the throughput.
+     * @param maxHeapUsage the heap usage ratio (between 0 and 1) over which the size is reduced.
+     */
+    public AdaptiveChunkSize(final int initialSize, final int minSize, final int maxSize,
+            final long targetFlushLatency, final double maxHeapUsage) {
+        this(initialSize, minSize, maxSize, targetFlushLatency, maxHeapUsage, heapUsage());
+    }
+
+    AdaptiveChunkSize(final int initialSize, final int minSize, final int maxSize, final long targetFlushLatency,
+            final double maxHeapUsage, final DoubleSupplier heapUsage) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetFlushNanos = MILLISECONDS.toNanos(targetFlushLatency);
+        this.maxHeapUsage = maxHeapUsage;
+        this.heapUsage = heapUsage;
+        this.chunkSize = bound(initialSize);
+    }
+
+    /**
+     * Computes the size of the next chunk.
+     *
+     * @param chunkNanos the duration of the chunk, from the first element to the end of the flush.
+     * @param flushNanos the duration of the flush ({@code @AfterGroup}).
+     * @return the new chunk size.
+     */
+    public synchronized int onChunk(final long chunkNanos, final long flushNanos) {
+        final int size = chunkSize;
+        if (heapUsage.getAsDouble() > maxHeapUsage) {
+            lastThroughput = -1;
+            growing = false;
+            return chunkSize = bound(size / 2);
+        }
+        if (targetFlushNanos > 0) {
+            if (flushNanos <= targetFlushNanos && flushNanos >= targetFlushNanos * .8) {
+                return size;
+            }
+            // proportional to the latency but never more than doubling or dividing by 4 at once
+            final double ratio = flushNanos <= 0 ? 2 : targetFlushNanos / (double) flushNanos;
+            return chunkSize = bound((int) Math.round(size * Math.max(.25, Math.min(2, ratio))));
+        }
+
+        final double throughput = size / (double) Math.max(1, chunkNanos);
+        if (lastThroughput >= 0 && throughput < lastThroughput * .95) {
+            growing = !growing;
+        }
+        lastThroughput = throughput;
+        return chunkSize = bound(growing ? (int) Math.ceil(size * STEP) : (int) Math.floor(size / STEP));
+    }
+
+    private int bound(final int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static DoubleSupplier heapUsage() {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        return () -> {
+            final MemoryUsage usage = memory.getHeapMemoryUsage();
+            return usage.getMax() > 0 ? usage.getUsed() / (double) usage.getMax() : 0;
+        };
+    }
+}
@@ -16,23 +16,59 @@
 package org.talend.sdk.component.runtime.manager.chain;
 
 import org.talend.sdk.component.runtime.base.Lifecycle;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.metrics.NodeMetrics;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
 
-import lombok.RequiredArgsConstructor;
-
-@RequiredArgsConstructor
 public class AutoChunkProcessor implements Lifecycle {
 
-    private final int chunkSize;
+    private final AdaptiveChunkSize adaptiveChunkSize; // null for a fixed chunk size
 
     private final Processor processor;
 
+    private final NodeMetrics metrics; // null when disabled
+
+    private int chunkSize;
+
     private int processedItemCount = 0;
 
+    private long chunkStart;
+
+    public AutoChunkProcessor(final int chunkSize, final Processor processor) {
+        this(chunkSize, null, processor);
+    }
+
+    public AutoChunkProcessor(final AdaptiveChunkSize chunkSize, final Processor processor) {
+        this(chunkSize.getChunkSize(), chunkSize, processor);
+    }
+
+    private AutoChunkProcessor(final int chunkSize, final AdaptiveChunkSize adaptiveChunkSize,
+            final Processor processor) {
+        this.chunkSize = chunkSize;
+        this.processor = processor;
+        this.adaptiveChunkSize = adaptiveChunkSize;
+        this.metrics = ComponentMetrics.isEnabled()
+                ? ComponentMetrics.find(processor.plugin(), processor.rootName(), processor.name())
+                : null;
+        if (metrics != null) {
+            metrics.setChunkSizeGauge(this::getChunkSize);
+        }
+    }
+
+    /**
+     * @return the size of the current chunk, can change between chunks when the size is adaptive.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
     public void onElement(final InputFactory ins, final OutputFactory outs) {
         if (processedItemCount == 0) {
+            if (adaptiveChunkSize != null) {
+                chunkStart = System.nanoTime();
+            }
             processor.beforeGroup();
         }
         try {
@@ -40,14 +76,25 @@ public class AutoChunkProcessor implements Lifecycle {
             processedItemCount++;
         } finally {
             if (processedItemCount == chunkSize) {
+                if (metrics != null) {
+                    metrics.onBatch(processedItemCount);
+                }
+                final long flushStart = adaptiveChunkSize != null ? System.nanoTime() : 0;
                 processor.afterGroup(outs);
                 processedItemCount = 0;
+                if (adaptiveChunkSize != null) {
+                    final long end = System.nanoTime();
+                    chunkSize = adaptiveChunkSize.onChunk(end - chunkStart, end - flushStart);
+                }
             }
         }
     }
 
     public void flush(final OutputFactory outs) {
         if (processedItemCount > 0) {
+            if (metrics != null) {
+                metrics.onBatch(processedItemCount);
+            }
             processor.afterGroup(outs);
             processedItemCount = 0;
         }
@@ -15,6 +15,10 @@
  */
 package org.talend.sdk.component.runtime.manager.chain;
 
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+
 import org.talend.sdk.component.runtime.input.Input;
 
 import lombok.RequiredArgsConstructor;
@@ -45,6 +49,25 @@ public final class ChainedInput implements Input {
         }
     }
 
+    @Override
+    public List<Object> nextBatch(final int max) {
+        while (true) {
+            if (delegate == null) {
+                delegate = parent.getIterator().hasNext() ? parent.getIterator().next().create() : null;
+                if (delegate == null) {
+                    return emptyList();
+                }
+                delegate.start();
+            }
+            final List<Object> next = delegate.nextBatch(max);
+            if (!next.isEmpty()) {
+                return next;
+            }
+            delegate.stop();
+            delegate = null;
+        }
+    }
+
     @Override
     public String plugin() {
         return parent.plugin();
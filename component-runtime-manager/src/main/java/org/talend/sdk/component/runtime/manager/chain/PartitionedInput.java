@@ -0,0 +1,230 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.manager.chain.internal.BoundedQueue;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the partitions of a {@link PartitionedMapper} on up to {@code parallelism} threads. Each reader pushes
+ * pages of records in a bounded queue, blocking when the consumer is late. When ordered, every partition has
+ * its own queue and they are consumed one after the other so the records come in the same order as a sequential
+ * read of the partitions, otherwise all partitions share a queue and records come as soon as they are read.
+ * If the mapper has a timeout, the input ends when the partitions are not read in time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public final class PartitionedInput implements Input {
+
+    private static final int PAGE_SIZE = 256;
+
+    private static final int QUEUE_SIZE = 16;
+
+    private static final Object END = new Object();
+
+    private final PartitionedMapper parent;
+
+    private ExecutorService executor;
+
+    private BoundedQueue<Object>[] queues;
+
+    private int ended;
+
+    private long deadline; // 0 when there is no timeout
+
+    private List<Object> page = emptyList();
+
+    private int offset;
+
+    @Override
+    public void start() {
+        final List<Mapper> partitions = parent.getPartitions();
+        queues = new BoundedQueue[partitions.size()];
+        deadline = parent.getTimeout() > 0 ? System.currentTimeMillis() + parent.getTimeout() : 0;
+        if (parent.isOrdered()) {
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = new BoundedQueue<>(QUEUE_SIZE);
+            }
+        } else {
+            Arrays.fill(queues, new BoundedQueue<>(QUEUE_SIZE * Math.max(1, queues.length)));
+        }
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        executor = Executors
+                .newFixedThreadPool(Math.max(1, Math.min(parent.getParallelism(), partitions.size())),
+                        parent.getThreadFactory() != null ? parent.getThreadFactory() : newThreadFactory());
+        // submitted in order: an ordered read never waits for a partition which has no thread
+        for (int i = 0; i < partitions.size(); i++) {
+            final Mapper partition = partitions.get(i);
+            final BoundedQueue<Object> queue = queues[i];
+            executor.submit(() -> read(partition, queue));
+        }
+        executor.shutdown();
+    }
+
+    @Override
+    public Object next() {
+        final List<Object> next = nextBatch(1);
+        return next.isEmpty() ? null : next.get(0);
+    }
+
+    @Override
+    public List<Object> nextBatch(final int max) {
+        if (offset == page.size()) {
+            page = take();
+            offset = 0;
+        }
+        if (offset == 0 && page.size() <= max) {
+            offset = page.size();
+            return page;
+        }
+        if (max == 1) {
+            return singletonList(page.get(offset++));
+        }
+        final int end = Math.min(page.size(), offset + max);
+        final List<Object> next = new ArrayList<>(page.subList(offset, end));
+        offset = end;
+        return next;
+    }
+
+    @Override
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow(); // unblocks the readers when the consumer stops early
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Some partitions of {} are still being read", parent.name());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String plugin() {
+        return parent.plugin();
+    }
+
+    @Override
+    public String rootName() {
+        return parent.rootName();
+    }
+
+    @Override
+    public String name() {
+        return parent.name();
+    }
+
+    private ThreadFactory newThreadFactory() {
+        final String prefix = parent.plugin() + "-" + parent.name() + "-partition-";
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private List<Object> take() {
+        if (queues == null) {
+            throw new IllegalStateException("Input " + parent.name() + " read before being started");
+        }
+        try {
+            while (ended < queues.length) {
+                final BoundedQueue<Object> queue = queues[parent.isOrdered() ? ended : 0];
+                final Object next = deadline == 0 ? queue.take()
+                        : queue.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    log.warn("Partitions of {} not read after {}ms, ending the input", parent.name(),
+                            parent.getTimeout());
+                    ended = queues.length;
+                } else if (next == END) {
+                    ended++;
+                } else if (Failure.class.isInstance(next)) {
+                    final Throwable error = Failure.class.cast(next).error;
+                    if (Error.class.isInstance(error)) {
+                        throw Error.class.cast(error);
+                    }
+                    throw RuntimeException.class.cast(error);
+                } else {
+                    return (List<Object>) next;
+                }
+            }
+            return emptyList();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void read(final Mapper partition, final BoundedQueue<Object> queue) {
+        try {
+            try {
+                final Input input = partition.create();
+                input.start();
+                try {
+                    // inputs without batch support return a record per call, queue full pages anyway
+                    List<Object> page = new ArrayList<>(PAGE_SIZE);
+                    List<Object> next;
+                    while (!(next = input.nextBatch(PAGE_SIZE - page.size())).isEmpty()) {
+                        page.addAll(next);
+                        if (page.size() >= PAGE_SIZE) {
+                            queue.put(page);
+                            page = new ArrayList<>(PAGE_SIZE);
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        queue.put(page);
+                    }
+                } finally {
+                    input.stop();
+                }
+            } catch (final RuntimeException | Error e) {
+                queue.put(new Failure(e));
+                return;
+            }
+            queue.put(END);
+        } catch (final InterruptedException ie) { // consumer stopped
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Failure {
+
+        private final Throwable error;
+    }
+}
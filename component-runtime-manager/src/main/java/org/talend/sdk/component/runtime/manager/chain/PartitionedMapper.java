@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain;
+
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Reads the partitions of a split source concurrently, see {@link PartitionedInput}.
+ */
+@AllArgsConstructor
+public final class PartitionedMapper implements Mapper {
+
+    private final Mapper root;
+
+    private final List<Mapper> partitions;
+
+    private final int parallelism;
+
+    private final boolean ordered;
+
+    private final ThreadFactory threadFactory; // null for default reader threads
+
+    private final long timeout; // ms to read all partitions, not positive to wait until they end
+
+    public PartitionedMapper(final Mapper root, final List<Mapper> partitions, final int parallelism,
+            final boolean ordered) {
+        this(root, partitions, parallelism, ordered, null);
+    }
+
+    public PartitionedMapper(final Mapper root, final List<Mapper> partitions, final int parallelism,
+            final boolean ordered, final ThreadFactory threadFactory) {
+        this(root, partitions, parallelism, ordered, threadFactory, -1);
+    }
+
+    /**
+     * Splits a started mapper.
+     *
+     * @param mapper the mapper to split.
+     * @param splitSize the desired partition size, if not positive it is computed from the parallelism.
+     * @param parallelism the desired partition count when no split size is set, if lower than 2 the mapper
+     * is split with its own assessed size (generally one partition).
+     * @return the partitions of the mapper.
+     */
+    public static List<Mapper> split(final Mapper mapper, final long splitSize, final int parallelism) {
+        if (splitSize > 0) {
+            return mapper.split(splitSize);
+        }
+        final long size = mapper.assess();
+        return mapper.split(parallelism > 1 ? Math.max(1, size / parallelism) : size);
+    }
+
+    @Override
+    public long assess() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Mapper> split(final long desiredSize) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Input create() {
+        return new PartitionedInput(this);
+    }
+
+    @Override
+    public boolean isStream() {
+        return false;
+    }
+
+    @Override
+    public String plugin() {
+        return root.plugin();
+    }
+
+    @Override
+    public String rootName() {
+        return root.rootName();
+    }
+
+    @Override
+    public String name() {
+        return root.name();
+    }
+
+    @Override
+    public void start() {
+        // no-op: already done for the split
+    }
+
+    @Override
+    public void stop() {
+        // no-op: must be handled outside this
+    }
+
+    List<Mapper> getPartitions() {
+        return partitions;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    long getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded multi-producer queue: items are stored in a lock-free queue and two semaphores count the free
+ * slots and the available items, so the uncontended path is only CAS operations while producers of a
+ * full queue and consumers of an empty one park.
+ *
+ * @param <T> the item type.
+ */
+public class BoundedQueue<T> {
+
+    private final Queue<T> items = new ConcurrentLinkedQueue<>();
+
+    private final Semaphore slots;
+
+    private final Semaphore available = new Semaphore(0);
+
+    public BoundedQueue(final int capacity) {
+        this.slots = new Semaphore(capacity);
+    }
+
+    public void put(final T item) throws InterruptedException {
+        slots.acquire();
+        items.offer(item);
+        available.release();
+    }
+
+    /**
+     * @return the number of items waiting to be taken.
+     */
+    public int size() {
+        return available.availablePermits();
+    }
+
+    public T take() throws InterruptedException {
+        available.acquire();
+        final T item = items.poll();
+        slots.release();
+        return item;
+    }
+
+    /**
+     * @param timeout the maximum duration to wait for an item.
+     * @param unit the unit of the timeout.
+     * @return the next item or null if none was put in time.
+     * @throws InterruptedException if the caller is interrupted while waiting.
+     */
+    public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        if (!available.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        final T item = items.poll();
+        slots.release();
+        return item;
+    }
+}
@@ -0,0 +1,329 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.binary.BinaryRecordDecoder;
+import org.talend.sdk.component.runtime.record.binary.BinaryRecordEncoder;
+import org.talend.sdk.component.runtime.record.binary.SchemaRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hash join of the inputs of a multi-input node: records are grouped by their {@link
+ * org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider} key and a group is ready as soon as every
+ * branch has records for its key, later records of the same key starting a new group. Ready groups are polled
+ * by key order.
+ *
+ * Keys are hashed into partitions. When more than {@code maxInMemoryRecords} records wait for their match,
+ * the partition holding the most of them is spilled to a local file in the binary record format and its next
+ * records are appended to this file until {@link #restore()} loads it back, one partition at a time.
+ * Not thread safe.
+ */
+@Slf4j
+class HashJoin implements AutoCloseable {
+
+    private static final int PARTITIONS = 16;
+
+    private final Map<String, Integer> branches = new LinkedHashMap<>();
+
+    private final long maxInMemoryRecords;
+
+    private final Path spillDirectory;
+
+    private final RecordBuilderFactory factory;
+
+    private final Partition[] partitions = new Partition[PARTITIONS];
+
+    private final Map<String, Group> groups = new HashMap<>();
+
+    // as the previous sort-merge join, the smallest ready key is processed first
+    private final Queue<Group> ready =
+            new PriorityQueue<>(Comparator.comparing((Group g) -> g.key).thenComparingLong(g -> g.sequence));
+
+    // scoped to the join, the spilled records must always be readable back so nothing is evicted
+    private final SchemaRegistry schemas = new SchemaRegistry(Integer.MAX_VALUE);
+
+    private final BinaryRecordEncoder encoder = new BinaryRecordEncoder(schemas);
+
+    private long pending;
+
+    private long sequence;
+
+    private long spilled;
+
+    private boolean restoring;
+
+    HashJoin(final Collection<String> branches, final long maxInMemoryRecords, final Path spillDirectory,
+            final RecordBuilderFactory factory) {
+        if (branches.size() > 255) {
+            throw new IllegalArgumentException("Too many joined branches: " + branches);
+        }
+        branches.forEach(b -> this.branches.put(b, this.branches.size()));
+        this.maxInMemoryRecords = maxInMemoryRecords;
+        this.spillDirectory = spillDirectory;
+        this.factory = factory;
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    void add(final String branch, final String key, final Record record) {
+        final Integer index = branches.get(branch);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown branch '" + branch + "', expected one of " + branches.keySet());
+        }
+        final Partition partition = partitions[(key.hashCode() & 0x7FFFFFFF) % PARTITIONS];
+        if (partition.file != null) {
+            partition.write(index, key, record);
+            spilled++;
+            return;
+        }
+
+        final Group group = groups.computeIfAbsent(key, k -> new Group(k, sequence++, partition, branches.size()));
+        group.add(index, record);
+        partition.pending++;
+        pending++;
+        if (group.missing == 0) {
+            groups.remove(key);
+            partition.pending -= group.size;
+            pending -= group.size;
+            ready.add(group);
+        } else if (pending > maxInMemoryRecords && !restoring) {
+            spill();
+        }
+    }
+
+    /**
+     * @return the next group ready to be processed (branch to records) or null if none is ready.
+     */
+    Map<String, Collection<Record>> poll() {
+        final Group group = ready.poll();
+        if (group == null) {
+            return null;
+        }
+        final Map<String, Collection<Record>> data = new LinkedHashMap<>();
+        branches.forEach((branch, index) -> data.put(branch, group.records[index]));
+        return data;
+    }
+
+    /**
+     * Loads back in memory the records of a spilled partition, the groups it completes are then available
+     * through {@link #poll()}.
+     *
+     * @return false if there was no spilled partition.
+     */
+    boolean restore() {
+        for (final Partition partition : partitions) {
+            if (partition.file != null) {
+                final List<String> names = new ArrayList<>(branches.keySet());
+                restoring = true; // a single partition can exceed the limit, don't spill it back
+                try {
+                    partition.read((index, key, record) -> add(names.get(index), key, record));
+                } finally {
+                    restoring = false;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long getSpilledRecords() {
+        return spilled;
+    }
+
+    @Override
+    public void close() {
+        for (final Partition partition : partitions) {
+            partition.delete();
+        }
+    }
+
+    private void spill() {
+        Partition largest = null;
+        for (final Partition partition : partitions) {
+            if (partition.file == null && (largest == null || partition.pending > largest.pending)) {
+                largest = partition;
+            }
+        }
+        if (largest == null || largest.pending == 0) {
+            return;
+        }
+        largest.open();
+        final Iterator<Group> iterator = groups.values().iterator();
+        while (iterator.hasNext()) {
+            final Group group = iterator.next();
+            if (group.partition != largest) {
+                continue;
+            }
+            for (int i = 0; i < group.records.length; i++) {
+                if (group.records[i] != null) {
+                    for (final Record record : group.records[i]) {
+                        largest.write(i, group.key, record);
+                    }
+                }
+            }
+            spilled += group.size;
+            pending -= group.size;
+            iterator.remove();
+        }
+        log.debug("Spilled {} join records to {}", largest.pending, largest.file);
+        largest.pending = 0;
+    }
+
+    private static class Group {
+
+        private final String key;
+
+        private final long sequence;
+
+        private final Partition partition;
+
+        private final List<Record>[] records;
+
+        private int missing;
+
+        private int size;
+
+        private Group(final String key, final long sequence, final Partition partition, final int branches) {
+            this.key = key;
+            this.sequence = sequence;
+            this.partition = partition;
+            this.records = new List[branches];
+            this.missing = branches;
+        }
+
+        private void add(final int branch, final Record record) {
+            if (records[branch] == null) {
+                records[branch] = new ArrayList<>();
+                missing--;
+            }
+            records[branch].add(record);
+            size++;
+        }
+    }
+
+    private interface SpilledRecordConsumer {
+
+        void accept(int branch, String key, Record record);
+    }
+
+    private class Partition {
+
+        private long pending; // in memory records waiting for their match
+
+        private Path file;
+
+        private DataOutputStream output;
+
+        private long count;
+
+        private void open() {
+            try {
+                file = Files.createTempFile(spillDirectory, "talend-join-", ".bin");
+                output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            } catch (final IOException e) {
+                throw new IllegalStateException("Can't create join spill file in " + spillDirectory, e);
+            }
+        }
+
+        private void write(final int branch, final String key, final Record record) {
+            try {
+                // not writeUTF() which is limited to 64KB
+                final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                output.writeByte(branch);
+                output.writeInt(keyBytes.length);
+                output.write(keyBytes);
+                encoder.write(record, output);
+                count++;
+            } catch (final IOException e) {
+                throw new IllegalStateException("Can't write join spill file " + file, e);
+            }
+        }
+
+        private void read(final SpilledRecordConsumer consumer) {
+            final Path source = file;
+            final long total = count;
+            try {
+                output.close();
+                output = null;
+                file = null;
+                count = 0;
+                spilled -= total;
+                // the file was written by this join, whatever the record size is
+                final BinaryRecordDecoder decoder = new BinaryRecordDecoder(factory, schemas, Integer.MAX_VALUE);
+                try (final DataInputStream input =
+                        new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+                    for (long i = 0; i < total; i++) {
+                        final int branch = input.readUnsignedByte();
+                        final byte[] keyBytes = new byte[input.readInt()];
+                        input.readFully(keyBytes);
+                        final String key = new String(keyBytes, StandardCharsets.UTF_8);
+                        consumer.accept(branch, key, decoder.read(input));
+                    }
+                }
+            } catch (final IOException e) {
+                throw new IllegalStateException("Can't read join spill file " + source, e);
+            } finally {
+                delete(source);
+            }
+        }
+
+        private void delete() {
+            if (output != null) {
+                try {
+                    output.close();
+                } catch (final IOException e) {
+                    log.debug(e.getMessage(), e);
+                }
+                output = null;
+            }
+            if (file != null) {
+                delete(file);
+                file = null;
+            }
+        }
+
+        private void delete(final Path path) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (final IOException e) {
+                log.warn("Can't delete join spill file {}", path, e);
+            }
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.talend.sdk.component.runtime.manager.chain.internal;
 
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
@@ -25,6 +27,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -39,6 +43,7 @@ import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -53,10 +58,12 @@ import org.talend.sdk.component.runtime.base.Lifecycle;
 import org.talend.sdk.component.runtime.input.Input;
 import org.talend.sdk.component.runtime.input.Mapper;
 import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.chain.AdaptiveChunkSize;
 import org.talend.sdk.component.runtime.manager.chain.AutoChunkProcessor;
 import org.talend.sdk.component.runtime.manager.chain.ChainedMapper;
 import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
 import org.talend.sdk.component.runtime.manager.chain.Job;
+import org.talend.sdk.component.runtime.manager.chain.PartitionedMapper;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
@@ -111,6 +118,8 @@ public class JobImpl implements Job {
 
         private final Map<Integer, Set<Component>> levels = new TreeMap<>();
 
+        private final List<Edge> fusableEdges = new ArrayList<>();
+
         @Override
         public ToBuilder from(final String id, final String branch) {
             final Component from = nodes
@@ -149,6 +158,16 @@ public class JobImpl implements Job {
                     .filter(node -> edges.stream().noneMatch(l -> l.getTo().getNode().equals(node)))
                     .forEach(component -> component.setSource(true));
             calculateGraphOrder(0, new HashSet<>(nodes), new ArrayList<>(edges), levels);
+
+            // a single input component doesn't need any grouping so it can be fed directly by its upstream emitter
+            fusableEdges.clear();
+            edges
+                    .stream()
+                    .filter(edge -> edges
+                            .stream()
+                            .filter(other -> other.getTo().getNode().equals(edge.getTo().getNode()))
+                            .count() == 1)
+                    .forEach(fusableEdges::add);
         }
 
         private void calculateGraphOrder(final int order, final Set<Component> nodes, final List<Edge> edges,
@@ -186,7 +205,7 @@ public class JobImpl implements Job {
         @Override
         public JobExecutor build() {
             doBuild();
-            return new JobExecutor(levels, edges, properties);
+            return new JobExecutor(levels, edges, fusableEdges, properties);
         }
     }
 
@@ -232,6 +251,8 @@ public class JobImpl implements Job {
 
         private final List<Edge> edges;
 
+        private final List<Edge> fusableEdges;
+
         private final Map<String, Map<String, Object>> componentProperties;
 
         private final Map<String, Object> jobProperties = new HashMap<>();
@@ -256,7 +277,9 @@ public class JobImpl implements Job {
                 final String name = String.class.cast(o).trim();
                 if (!"standalone".equalsIgnoreCase(name) && !"default".equalsIgnoreCase(name)
                         && !"local".equalsIgnoreCase(name)) {
-                    if ("beam".equalsIgnoreCase(name)) {
+                    if ("parallel".equalsIgnoreCase(name)) {
+                        runner = new ParallelExecutor(this);
+                    } else if ("beam".equalsIgnoreCase(name)) {
                         try {
                             runner = newRunner(Thread.currentThread().getContextClassLoader(),
                                     "org.talend.sdk.component.runtime.beam.chain.impl.BeamExecutor");
@@ -325,49 +348,62 @@ public class JobImpl implements Job {
             final long maxRecords =
                     Long.parseLong(String.valueOf(getJobProperties().getOrDefault("streaming.maxRecords", "-1")));
             final Map<String, InputRunner> inputs =
-                    levels.values().stream().flatMap(Collection::stream).filter(Component::isSource).map(n -> {
-                        final Mapper mapper = manager
-                                .findMapper(n.getNode().getFamily(), n.getNode().getComponent(),
-                                        n.getNode().getVersion(), n.getNode().getConfiguration())
-                                .orElseThrow(() -> new IllegalStateException("No mapper found for: " + n.getNode()));
-                        return new AbstractMap.SimpleEntry<>(n.getId(), new InputRunner(mapper, maxRecords));
-                    }).collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+                    levels
+                            .values()
+                            .stream()
+                            .flatMap(Collection::stream)
+                            .filter(Component::isSource)
+                            .map(n -> new AbstractMap.SimpleEntry<>(n.getId(),
+                                    new InputRunner(findMapper(n), maxRecords, getSplitSize(), getSourceParallelism(),
+                                            !"false".equalsIgnoreCase(jobProperty("source.ordered", "true")))))
+                            .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
             final Map<String, AutoChunkProcessor> processors = levels
                     .values()
                     .stream()
                     .flatMap(Collection::stream)
                     .filter(component -> !component.isSource())
-                    .map(component -> {
-                        final Processor processor = manager
-                                .findProcessor(component.getNode().getFamily(), component.getNode().getComponent(),
-                                        component.getNode().getVersion(), component.getNode().getConfiguration())
-                                .orElseThrow(() -> new IllegalStateException(
-                                        "No processor found for:" + component.getNode()));
-                        final AtomicInteger maxBatchSize = new AtomicInteger(1);
-                        if (ProcessorImpl.class.isInstance(processor)) {
-                            ProcessorImpl.class
-                                    .cast(processor)
-                                    .getInternalConfiguration()
-                                    .entrySet()
-                                    .stream()
-                                    .filter(it -> it.getKey().endsWith("$maxBatchSize") && it.getValue() != null
-                                            && !it.getValue().trim().isEmpty())
-                                    .findFirst()
-                                    .ifPresent(val -> {
-                                        try {
-                                            maxBatchSize.set(Integer.parseInt(val.getValue().trim()));
-                                        } catch (final NumberFormatException nfe) {
-                                            throw new IllegalArgumentException("Invalid configuratoin: " + val);
-                                        }
-                                    });
-                        }
-                        return new AbstractMap.SimpleEntry<>(component.getId(),
-                                new AutoChunkProcessor(maxBatchSize.get(), processor));
-                    })
+                    .map(component -> new AbstractMap.SimpleEntry<>(component.getId(), newProcessor(component)))
                     .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
             final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+            final Map<String, HashJoin> joins = new HashMap<>();
+            final Map<String, Map<String, Map<String, Collection<Record>>>> flowData = new HashMap<>();
+            final Map<String, DataOutputFactory> outputs = processors
+                    .entrySet()
+                    .stream()
+                    .collect(toMap(Map.Entry::getKey,
+                            e -> new DataOutputFactory(findServices(e.getValue()), registry)));
+            final Map<String, List<Consumer<Record>>> sourceRoutes = new HashMap<>();
+            final Set<String> bufferedSources = new HashSet<>();
+            final List<Edge> fusedEdges = getFusedEdges();
+            fusedEdges.forEach(edge -> {
+                final String fromId = edge.getFrom().getNode().getId();
+                final String toId = edge.getTo().getNode().getId();
+                final String toBranch = edge.getTo().getBranch();
+                final AutoChunkProcessor processor = processors.get(toId);
+                final DataOutputFactory processorOutputs = outputs.get(toId);
+                final DataInputFactory input = new DataInputFactory();
+                final Consumer<Record> route = record -> {
+                    processor.onElement(input.withInput(toBranch, singletonList(record)), processorOutputs);
+                    drain(edge.getTo().getNode(), processorOutputs, flowData);
+                };
+                // a branch can also feed connections which are not fused, their records are still buffered
+                final boolean buffered = getEdges()
+                        .stream()
+                        .filter(other -> other.getFrom().equals(edge.getFrom()))
+                        .anyMatch(other -> !fusedEdges.contains(other));
+                if (edge.getFrom().getNode().isSource()) {
+                    if ("__default__".equals(edge.getFrom().getBranch())) {
+                        sourceRoutes.computeIfAbsent(fromId, k -> new ArrayList<>()).add(route);
+                        if (buffered) {
+                            bufferedSources.add(fromId);
+                        }
+                    }
+                } else {
+                    outputs.get(fromId).route(edge.getFrom().getBranch(), route, buffered);
+                }
+            });
             try {
                 final Map<String, AtomicBoolean> sourcesWithData = levels
                         .values()
@@ -377,7 +413,7 @@ public class JobImpl implements Job {
                         .map(component -> new AbstractMap.SimpleEntry<>(component.getId(), new AtomicBoolean(true)))
                         .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
                 processors.values().forEach(Lifecycle::start); // start processor
-                final Map<String, Map<String, Map<String, Collection<Record>>>> flowData = new HashMap<>();
+
                 final AtomicBoolean running = new AtomicBoolean(true);
                 do {
                     levels.forEach((level, components) -> components.forEach((Component component) -> {
@@ -388,6 +424,13 @@ public class JobImpl implements Job {
                                 sourcesWithData.get(component.getId()).set(false);
                                 return;
                             }
+                            final List<Consumer<Record>> routes = sourceRoutes.get(component.getId());
+                            if (routes != null) {
+                                routes.forEach(route -> route.accept(data));
+                                if (!bufferedSources.contains(component.getId())) {
+                                    return;
+                                }
+                            }
                             final String key = getKeyProvider(component.getId())
                                     .apply(new GroupContextImpl(data, component.getId(), "__default__"));
                             flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
@@ -400,21 +443,27 @@ public class JobImpl implements Job {
                         } else {
                             final List<Edge> connections =
                                     getConnections(getEdges(), component, e -> e.getTo().getNode());
-                            final DataInputFactory dataInputFactory = new DataInputFactory();
+                            final List<DataInputFactory> dataInputFactories = new ArrayList<>(1);
                             if (connections.size() == 1) {
                                 final Edge edge = connections.get(0);
                                 final String fromId = edge.getFrom().getNode().getId();
                                 final String fromBranch = edge.getFrom().getBranch();
                                 final String toBranch = edge.getTo().getBranch();
 
-                                final Map<String, Map<String, Collection<Record>>> idData = flowData.get(fromId);
+                                final Map<String, Map<String, Collection<Record>>> idData =
+                                        fusedEdges.contains(edge) ? null : flowData.get(fromId);
                                 final Record data = idData == null ? null : pollFirst(idData.get(fromBranch));
                                 if (data != null) {
-                                    dataInputFactory.withInput(toBranch, singletonList(data));
+                                    dataInputFactories
+                                            .add(new DataInputFactory().withInput(toBranch, singletonList(data)));
                                 }
                             } else { // need grouping
-                                final Map<String, Map<String, Collection<Record>>> availableDataForStep =
-                                        new HashMap<>();
+                                final HashJoin join = joins
+                                        .computeIfAbsent(component.getId(),
+                                                id -> newJoin(connections
+                                                        .stream()
+                                                        .map(e -> e.getTo().getBranch())
+                                                        .collect(toList()), processors.get(id)));
                                 connections.forEach(edge -> {
                                     final String fromId = edge.getFrom().getNode().getId();
                                     final String fromBranch = edge.getFrom().getBranch();
@@ -422,19 +471,26 @@ public class JobImpl implements Job {
                                     final Map<String, Collection<Record>> data =
                                             flowData.get(fromId) == null ? null : flowData.get(fromId).get(fromBranch);
                                     if (data != null && !data.isEmpty()) {
-                                        availableDataForStep.put(toBranch, data);
+                                        data
+                                                .forEach((key, records) -> records
+                                                        .forEach(record -> join.add(toBranch, key, record)));
+                                        data.clear();
                                     }
                                 });
 
-                                final Map<String, String> joined = joinWithFusionSort(availableDataForStep);
-                                if (!joined.isEmpty() && connections.size() == joined.size()) {
-                                    joined.forEach((k, v) -> {
-                                        final Collection data = availableDataForStep.get(k).remove(v);
-                                        dataInputFactory.withInput(k, data);
-                                    });
+                                Map<String, Collection<Record>> group = join.poll();
+                                if (group == null && sourcesWithData.values().stream().noneMatch(AtomicBoolean::get)) {
+                                    while (group == null && join.restore()) {
+                                        group = join.poll();
+                                    }
+                                }
+                                for (; group != null; group = join.poll()) {
+                                    final DataInputFactory dataInputFactory = new DataInputFactory();
+                                    group.forEach(dataInputFactory::withInput);
+                                    dataInputFactories.add(dataInputFactory);
                                 }
                             }
-                            if (dataInputFactory.inputs.isEmpty()) {
+                            if (dataInputFactories.isEmpty()) {
                                 if (level.equals(levels.size() - 1)
                                         && sourcesWithData.entrySet().stream().noneMatch(e -> e.getValue().get())) {
                                     running.set(false);
@@ -442,28 +498,16 @@ public class JobImpl implements Job {
                                 return;
                             }
                             final AutoChunkProcessor processor = processors.get(component.getId());
-
-                            final DataOutputFactory dataOutputFactory = new DataOutputFactory(getManager()
-                                    .findPlugin(processor.plugin())
-                                    .get()
-                                    .get(ComponentManager.AllServices.class)
-                                    .getServices(), registry);
-                            processor.onElement(dataInputFactory, dataOutputFactory);
-                            dataOutputFactory.getOutputs().forEach((branch, data) -> data.forEach(item -> {
-                                final String key = getKeyProvider(component.getId())
-                                        .apply(new GroupContextImpl(item, component.getId(), branch));
-                                flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
-                                flowData.get(component.getId()).computeIfAbsent(branch, s -> new TreeMap<>());
-                                flowData
-                                        .get(component.getId())
-                                        .get(branch)
-                                        .computeIfAbsent(key, k -> new ArrayList<>())
-                                        .add(item);
-                            }));
+                            final DataOutputFactory dataOutputFactory = outputs.get(component.getId());
+                            dataInputFactories.forEach(in -> {
+                                processor.onElement(in, dataOutputFactory);
+                                drain(component, dataOutputFactory, flowData);
+                            });
                         }
                     }));
                 } while (running.get());
             } finally {
+                joins.values().forEach(HashJoin::close);
                 processors.values().forEach(Lifecycle::stop);
                 inputs.values().forEach(InputRunner::stop);
                 levels
@@ -475,26 +519,128 @@ public class JobImpl implements Job {
             }
         }
 
-        private Map<String, String>
-                joinWithFusionSort(final Map<String, Map<String, Collection<Record>>> dataByBranch) {
-            final Map<String, String> join = new HashMap<>();
-            dataByBranch.forEach((branch1, records1) -> {
-                dataByBranch.forEach((branch2, records2) -> {
-                    if (!branch1.equals(branch2)) {
-                        for (final String key1 : records1.keySet()) {
-                            for (final String key2 : records2.keySet()) {
-                                if (key1.equals(key2)) {
-                                    join.putIfAbsent(branch1, key1);
-                                    join.putIfAbsent(branch2, key2);
-                                } else if (key1.compareTo(key2) < 0) {
-                                    break;// see fusion sort
-                                }
+        private void drain(final Component component, final DataOutputFactory dataOutputFactory,
+                final Map<String, Map<String, Map<String, Collection<Record>>>> flowData) {
+            if (dataOutputFactory.getOutputs().isEmpty()) {
+                return;
+            }
+            dataOutputFactory.getOutputs().forEach((branch, data) -> data.forEach(item -> {
+                final String key =
+                        getKeyProvider(component.getId()).apply(new GroupContextImpl(item, component.getId(), branch));
+                flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
+                flowData.get(component.getId()).computeIfAbsent(branch, s -> new TreeMap<>());
+                flowData
+                        .get(component.getId())
+                        .get(branch)
+                        .computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(item);
+            }));
+            dataOutputFactory.getOutputs().clear();
+        }
+
+        /**
+         * Fused edges skip the buffering and the key computation of the connection, the records emitted by the
+         * upstream component are directly passed to the downstream one. When a branch feeds several connections, each
+         * fused one gets every record and the records are still buffered for the others. It is only possible when no
+         * {@link GroupKeyProvider} is configured for the upstream component since the key can then change the
+         * order of the records. Fusion can be disabled with the {@code chain.fusion} job property.
+         *
+         * @return the edges of the job to fuse.
+         */
+        List<Edge> getFusedEdges() {
+            if ("false".equalsIgnoreCase(jobProperty("chain.fusion", "true"))
+                    || GroupKeyProvider.class.isInstance(jobProperties.get(GroupKeyProvider.class.getName()))
+                    || ServiceLoader.load(GroupKeyProvider.class).iterator().hasNext()) {
+                return emptyList();
+            }
+            return fusableEdges
+                    .stream()
+                    .filter(edge -> componentProperties.get(edge.getFrom().getNode().getId()) == null
+                            || !GroupKeyProvider.class
+                                    .isInstance(componentProperties
+                                            .get(edge.getFrom().getNode().getId())
+                                            .get(GroupKeyProvider.class.getName())))
+                    .collect(toList());
+        }
+
+        /**
+         * @return the desired size of the partitions of the sources ({@code source.splitSize} job property),
+         * -1 to derive it from the parallelism.
+         */
+        long getSplitSize() {
+            return Long.parseLong(jobProperty("source.splitSize", "-1"));
+        }
+
+        /**
+         * @return the number of partitions of a source read concurrently ({@code source.parallelism} job property,
+         * default 1), 0 or a negative value meaning the number of available processors.
+         */
+        int getSourceParallelism() {
+            final int parallelism = Integer.parseInt(jobProperty("source.parallelism", "1"));
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+
+        private String jobProperty(final String name, final String defaultValue) {
+            return String.valueOf(jobProperties.getOrDefault(name, defaultValue)).trim();
+        }
+
+        Mapper findMapper(final Component component) {
+            return manager
+                    .findMapper(component.getNode().getFamily(), component.getNode().getComponent(),
+                            component.getNode().getVersion(), component.getNode().getConfiguration())
+                    .orElseThrow(() -> new IllegalStateException("No mapper found for: " + component.getNode()));
+        }
+
+        AutoChunkProcessor newProcessor(final Component component) {
+            final Processor processor = manager
+                    .findProcessor(component.getNode().getFamily(), component.getNode().getComponent(),
+                            component.getNode().getVersion(), component.getNode().getConfiguration())
+                    .orElseThrow(() -> new IllegalStateException("No processor found for:" + component.getNode()));
+            final AtomicInteger maxBatchSize = new AtomicInteger(1);
+            if (ProcessorImpl.class.isInstance(processor)) {
+                ProcessorImpl.class
+                        .cast(processor)
+                        .getInternalConfiguration()
+                        .entrySet()
+                        .stream()
+                        .filter(it -> it.getKey().endsWith("$maxBatchSize") && it.getValue() != null
+                                && !it.getValue().trim().isEmpty())
+                        .findFirst()
+                        .ifPresent(val -> {
+                            try {
+                                maxBatchSize.set(Integer.parseInt(val.getValue().trim()));
+                            } catch (final NumberFormatException nfe) {
+                                throw new IllegalArgumentException("Invalid configuratoin: " + val);
                             }
-                        }
-                    }
-                });
-            });
-            return join;
+                        });
+            }
+            if (maxBatchSize.get() > 0 && Boolean.parseBoolean(jobProperty("chunk.adaptive", "false"))) {
+                return new AutoChunkProcessor(new AdaptiveChunkSize(maxBatchSize.get(),
+                        Integer.parseInt(jobProperty("chunk.minSize", "1")),
+                        Integer.parseInt(jobProperty("chunk.maxSize",
+                                Long.toString(Math.min(Integer.MAX_VALUE, maxBatchSize.get() * 10L)))),
+                        Long.parseLong(jobProperty("chunk.targetLatency", "-1")),
+                        Double.parseDouble(jobProperty("chunk.maxHeapUsage", "0.8"))), processor);
+            }
+            return new AutoChunkProcessor(maxBatchSize.get(), processor);
+        }
+
+        Map<Class<?>, Object> findServices(final AutoChunkProcessor processor) {
+            return manager.findPlugin(processor.plugin()).get().get(ComponentManager.AllServices.class).getServices();
+        }
+
+        HashJoin newJoin(final Collection<String> branches, final AutoChunkProcessor processor) {
+            final long maxInMemoryRecords = Long
+                    .parseLong(String.valueOf(jobProperties.getOrDefault("join.maxInMemoryRecords", "100000")).trim());
+            final Path spillDirectory = Paths
+                    .get(String
+                            .valueOf(jobProperties
+                                    .getOrDefault("join.spillDirectory", System.getProperty("java.io.tmpdir")))
+                            .trim());
+            final Object factory = findServices(processor).get(RecordBuilderFactory.class);
+            return new HashJoin(branches, maxInMemoryRecords, spillDirectory,
+                    RecordBuilderFactory.class.isInstance(factory) ? RecordBuilderFactory.class.cast(factory)
+                            : new RecordBuilderFactoryImpl(processor.plugin()));
         }
 
         private Record pollFirst(final Map<String, Collection<Record>> data) {
@@ -544,7 +690,7 @@ public class JobImpl implements Job {
     }
 
     @Data
-    private static class GroupContextImpl implements GroupKeyProvider.GroupContext {
+    static class GroupContextImpl implements GroupKeyProvider.GroupContext {
 
         private final Record data;
 
@@ -570,6 +716,8 @@ public class JobImpl implements Job {
     @Slf4j
     private static class InputRunner {
 
+        private static final int MAX_BATCH_SIZE = 1000;
+
         private final Mapper chainedMapper;
 
         private final Input input;
@@ -578,12 +726,18 @@ public class JobImpl implements Job {
 
         private long currentRecords;
 
-        private InputRunner(final Mapper mapper, final long maxRecords) {
+        private Iterator<Object> batch = emptyIterator();
+
+        private InputRunner(final Mapper mapper, final long maxRecords, final long splitSize,
+                final int parallelism, final boolean ordered) {
             this.maxRecords = maxRecords;
             RuntimeException error = null;
             try {
                 mapper.start();
-                chainedMapper = new ChainedMapper(mapper, mapper.split(mapper.assess()).iterator());
+                final List<Mapper> partitions = PartitionedMapper.split(mapper, splitSize, parallelism);
+                chainedMapper = parallelism > 1 && partitions.size() > 1
+                        ? new PartitionedMapper(mapper, partitions, parallelism, ordered)
+                        : new ChainedMapper(mapper, partitions.iterator());
                 chainedMapper.start();
                 input = chainedMapper.create();
                 input.start();
@@ -606,12 +760,16 @@ public class JobImpl implements Job {
             if (maxRecords > 0 && currentRecords >= maxRecords) {
                 return null;
             }
-            final Object next = input.next();
-            if (next == null) {
-                return null;
+            if (!batch.hasNext()) { // batch producers hand out a page per call, others a single record
+                final int max = maxRecords > 0 ? (int) Math.min(MAX_BATCH_SIZE, maxRecords - currentRecords)
+                        : MAX_BATCH_SIZE;
+                batch = input.nextBatch(max).iterator();
+                if (!batch.hasNext()) {
+                    return null;
+                }
             }
             currentRecords++;
-            return Record.class.cast(next);
+            return Record.class.cast(batch.next());
         }
 
         public void stop() {
@@ -639,7 +797,7 @@ public class JobImpl implements Job {
     }
 
     @Data
-    private static class DataOutputFactory implements OutputFactory {
+    static class DataOutputFactory implements OutputFactory {
 
         private final Map<Class<?>, Object> services;
 
@@ -647,6 +805,30 @@ public class JobImpl implements Job {
 
         private final Map<String, Collection<Record>> outputs = new HashMap<>();
 
+        private final Map<String, List<Consumer<Record>>> routes = new HashMap<>();
+
+        private final Set<String> bufferedRoutes = new HashSet<>();
+
+        private final RecordConverters converters = new RecordConverters();
+
+        /**
+         * Sends the records emitted on a branch to a consumer, a branch can be routed to several consumers which all
+         * get every record.
+         *
+         * @param branch the branch to route.
+         * @param consumer the consumer of the branch records.
+         * @param buffered whether the records are still collected in the outputs for the connections of the branch
+         * which are not routed.
+         * @return this factory.
+         */
+        DataOutputFactory route(final String branch, final Consumer<Record> consumer, final boolean buffered) {
+            routes.computeIfAbsent(branch, k -> new ArrayList<>()).add(consumer);
+            if (buffered) {
+                bufferedRoutes.add(branch);
+            }
+            return this;
+        }
+
         @Override
         public OutputEmitter create(final String name) {
             return new OutputEmitterImpl(name, registry);
@@ -661,19 +843,23 @@ public class JobImpl implements Job {
 
             @Override
             public void emit(final Object value) {
-                outputs
-                        .computeIfAbsent(name, k -> new ArrayList<>())
-                        .add(new RecordConverters()
-                                .toRecord(registry, value, () -> Jsonb.class.cast(services.get(Jsonb.class)),
-                                        () -> RecordBuilderFactory.class
-                                                .cast(services.get(RecordBuilderFactory.class))));
+                final Record record = converters
+                        .toRecord(registry, value, () -> Jsonb.class.cast(services.get(Jsonb.class)),
+                                () -> RecordBuilderFactory.class.cast(services.get(RecordBuilderFactory.class)));
+                final List<Consumer<Record>> consumers = routes.get(name);
+                if (consumers == null || bufferedRoutes.contains(name)) {
+                    outputs.computeIfAbsent(name, k -> new ArrayList<>()).add(record);
+                }
+                if (consumers != null) {
+                    consumers.forEach(consumer -> consumer.accept(record));
+                }
             }
         }
     }
 
-    private static class DataInputFactory implements InputFactory {
+    static class DataInputFactory implements InputFactory {
 
-        private final Map<String, Iterator<Object>> inputs = new HashMap<>();
+        private final Map<String, Iterator<?>> inputs = new HashMap<>();
 
         private volatile Jsonb jsonb;
 
@@ -681,7 +867,7 @@ public class JobImpl implements Job {
 
         private volatile RecordConverters.MappingMetaRegistry registry;
 
-        private DataInputFactory withInput(final String branch, final Collection<Object> branchData) {
+        DataInputFactory withInput(final String branch, final Collection<?> branchData) {
             inputs.put(branch, branchData.iterator());
             return this;
         }
@@ -700,11 +886,6 @@ public class JobImpl implements Job {
                 return next;
             }
 
-            final String str = jsonb().get().toJson(next);
-            // primitives mainly, not that accurate in main code but for now not forbidden
-            if (str.equals(next.toString())) {
-                return next;
-            }
             if (registry == null) {
                 synchronized (this) {
                     if (registry == null) {
@@ -712,6 +893,14 @@ public class JobImpl implements Job {
                     }
                 }
             }
+            // POJO with a direct record mapping don't need to be serialized to be identified
+            if (registry.find(next.getClass()).getPojoMapper() == null) {
+                final String str = jsonb().get().toJson(next);
+                // primitives mainly, not that accurate in main code but for now not forbidden
+                if (str.equals(next.toString())) {
+                    return next;
+                }
+            }
             // pojo
             return new RecordConverters().toRecord(registry, next, jsonb(), () -> {
                 if (factory == null) {
@@ -0,0 +1,494 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.manager.chain.AutoChunkProcessor;
+import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
+import org.talend.sdk.component.runtime.manager.chain.Job;
+import org.talend.sdk.component.runtime.manager.chain.PartitionedMapper;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.record.RecordConverters;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local executor running each node of the job on its own worker, selected with the {@code parallel} value
+ * of the {@link Job.ExecutorBuilder} job property.
+ *
+ * Every partition returned by {@link Mapper#split(long)} is read by a dedicated worker and each processor
+ * consumes a bounded inbound queue of record chunks, a full queue blocking its producers (backpressure).
+ * Joins (processors with several inputs) group the records by {@link GroupKeyProvider} key as the default
+ * local executor does.
+ *
+ * Supported job properties:
+ * <ul>
+ * <li>{@code source.splitSize} and {@code source.parallelism}: how sources are split (see
+ * {@link PartitionedMapper#split(Mapper, long, int)}), every partition getting its own worker,</li>
+ * <li>{@code streaming.maxRecords}: maximum number of records emitted by each source (default -1, no limit),</li>
+ * <li>{@code parallel.chunkSize}: number of records sent at once between two nodes (default 128),</li>
+ * <li>{@code parallel.queueSize}: number of chunks a node can have pending before blocking its producers
+ * (default 16),</li>
+ * <li>{@code join.maxInMemoryRecords} and {@code join.spillDirectory}: memory limit of each join and where it
+ * spills its overflow (see {@link HashJoin}),</li>
+ * <li>{@code parallel.threads}: {@code platform} (default) or {@code virtual} to run the workers on virtual
+ * threads when the JVM supports it.</li>
+ * </ul>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ParallelExecutor implements Job.ExecutorBuilder {
+
+    private static final String DEFAULT_BRANCH = "__default__";
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final JobImpl.JobExecutor job;
+
+    @Override
+    public Job.ExecutorBuilder property(final String name, final Object value) {
+        job.property(name, value);
+        return this;
+    }
+
+    @Override
+    public void run() {
+        final long maxRecords = Long.parseLong(property("streaming.maxRecords", "-1"));
+        final int chunkSize = Integer.parseInt(property("parallel.chunkSize", "128"));
+        final int queueSize = Integer.parseInt(property("parallel.queueSize", "16"));
+        if (chunkSize <= 0 || queueSize <= 0) {
+            throw new IllegalArgumentException("parallel.chunkSize and parallel.queueSize must be positive");
+        }
+
+        final List<Job.Component> components =
+                job.getLevels().values().stream().flatMap(Collection::stream).collect(toList());
+        final Map<String, ProcessorNode> processors = new HashMap<>();
+        components
+                .stream()
+                .filter(c -> !c.isSource())
+                .forEach(c -> processors.put(c.getId(), new ProcessorNode(c, job.newProcessor(c), queueSize)));
+        final Map<String, List<Mapper>> partitions = new HashMap<>();
+        components.stream().filter(Job.Component::isSource).forEach(c -> partitions.put(c.getId(), split(c)));
+        // computed once per component, a key provider can be stateful (default one is a sequence)
+        final Map<String, GroupKeyProvider> keyProviders = new HashMap<>();
+        components.forEach(c -> keyProviders.put(c.getId(), job.getKeyProvider(c.getId())));
+
+        job.getEdges().forEach(edge -> {
+            final ProcessorNode target = processors.get(edge.getTo().getNode().getId());
+            final String from = edge.getFrom().getNode().getId();
+            target.branches.add(edge.getTo().getBranch());
+            target.pendingEnds += partitions.containsKey(from) ? partitions.get(from).size() : 1;
+        });
+
+        final List<Callable<Void>> workers = new ArrayList<>();
+        partitions.forEach((id, mappers) -> {
+            final AtomicLong emitted = new AtomicLong();
+            mappers
+                    .forEach(mapper -> workers
+                            .add(new SourceWorker(mapper, emitted, maxRecords, chunkSize,
+                                    new Router(id, keyProviders.get(id), processors, chunkSize))));
+        });
+        processors
+                .values()
+                .forEach(node -> workers
+                        .add(new ProcessorWorker(node,
+                                new Router(node.component.getId(), keyProviders.get(node.component.getId()),
+                                        processors, chunkSize))));
+
+        try {
+            execute(workers);
+        } finally {
+            components.stream().map(Job.Component::getId).forEach(JobImpl.LocalSequenceHolder::clean);
+        }
+    }
+
+    private void execute(final List<Callable<Void>> workers) {
+        if (workers.isEmpty()) {
+            return;
+        }
+        // all workers must run concurrently since they wait on each other
+        final ExecutorService executor = Executors.newFixedThreadPool(workers.size(), newThreadFactory());
+        final ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        try {
+            workers.forEach(completion::submit);
+            for (int i = 0; i < workers.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (final ExecutionException ee) { // stop the other workers blocked on this one
+                    executor.shutdownNow();
+                    final Throwable cause = ee.getCause();
+                    if (RuntimeException.class.isInstance(cause)) {
+                        throw RuntimeException.class.cast(cause);
+                    }
+                    if (Error.class.isInstance(cause)) {
+                        throw Error.class.cast(cause);
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ie);
+        } finally {
+            executor.shutdownNow();
+            try { // let interrupted workers stop their components
+                if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.warn("Some job workers are still running");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ThreadFactory newThreadFactory() {
+        if ("virtual".equalsIgnoreCase(property("parallel.threads", "platform"))) {
+            try { // reflection since the runtime targets java 8
+                final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                return ThreadFactory.class
+                        .cast(Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder));
+            } catch (final Exception e) {
+                log.warn("Virtual threads not supported by this JVM, using platform threads");
+            }
+        }
+        final String prefix = "talend-job-" + POOL_COUNTER.incrementAndGet() + "-";
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        };
+    }
+
+    private List<Mapper> split(final Job.Component component) {
+        final Mapper mapper = job.findMapper(component);
+        RuntimeException error = null;
+        try {
+            mapper.start();
+            return PartitionedMapper.split(mapper, job.getSplitSize(), job.getSourceParallelism());
+        } catch (final RuntimeException re) {
+            error = re;
+            throw re;
+        } finally {
+            try {
+                mapper.stop();
+            } catch (final RuntimeException re) {
+                if (error == null) {
+                    throw re;
+                }
+                log.error(re.getMessage(), re);
+            }
+        }
+    }
+
+    private String property(final String name, final String defaultValue) {
+        return String.valueOf(job.getJobProperties().getOrDefault(name, defaultValue)).trim();
+    }
+
+    @RequiredArgsConstructor
+    private static class SourceWorker implements Callable<Void> {
+
+        private final Mapper mapper;
+
+        private final AtomicLong emitted; // shared by the partitions of the source
+
+        private final long maxRecords;
+
+        private final int chunkSize;
+
+        private final Router router;
+
+        @Override
+        public Void call() throws InterruptedException {
+            mapper.start();
+            try {
+                final Input input = mapper.create();
+                input.start();
+                try {
+                    read(input);
+                } finally {
+                    input.stop();
+                }
+            } finally {
+                mapper.stop();
+            }
+            router.end();
+            return null;
+        }
+
+        private void read(final Input input) throws InterruptedException {
+            while (!Thread.currentThread().isInterrupted()) {
+                int max = chunkSize;
+                if (maxRecords > 0) {
+                    final long remaining = maxRecords - emitted.get();
+                    if (remaining <= 0) {
+                        return;
+                    }
+                    max = (int) Math.min(max, remaining);
+                }
+                final List<Object> batch = input.nextBatch(max);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                for (final Object record : batch) {
+                    if (maxRecords > 0 && emitted.incrementAndGet() > maxRecords) {
+                        router.flush();
+                        return;
+                    }
+                    router.emit(DEFAULT_BRANCH, Record.class.cast(record));
+                }
+                router.flush();
+            }
+            throw new InterruptedException();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class ProcessorWorker implements Callable<Void> {
+
+        private final ProcessorNode node;
+
+        private final Router router;
+
+        @Override
+        public Void call() throws InterruptedException {
+            final JobImpl.DataOutputFactory outputs = new JobImpl.DataOutputFactory(
+                    job.findServices(node.processor), new RecordConverters.MappingMetaRegistry());
+            final HashJoin join = node.branches.size() > 1 ? job.newJoin(node.branches, node.processor) : null;
+
+            node.processor.start();
+            try {
+                int ends = node.pendingEnds;
+                while (ends > 0) {
+                    final Chunk chunk = node.inbox.take();
+                    if (chunk.records == null) {
+                        ends--;
+                        continue;
+                    }
+                    if (join == null) {
+                        for (final Record record : chunk.records) {
+                            process(new JobImpl.DataInputFactory().withInput(chunk.branch, singletonList(record)),
+                                    outputs);
+                        }
+                    } else {
+                        for (int i = 0; i < chunk.records.size(); i++) {
+                            join.add(chunk.branch, chunk.keys.get(i), chunk.records.get(i));
+                        }
+                        processGroups(join, outputs);
+                    }
+                    router.flush();
+                }
+                if (join != null) { // all inputs are done, match what was spilled
+                    while (join.restore()) {
+                        processGroups(join, outputs);
+                    }
+                }
+                node.processor.flush(outputs);
+                route(outputs);
+            } finally {
+                try {
+                    node.processor.stop();
+                } finally {
+                    if (join != null) {
+                        join.close();
+                    }
+                }
+            }
+            router.end();
+            return null;
+        }
+
+        private void processGroups(final HashJoin join, final JobImpl.DataOutputFactory outputs)
+                throws InterruptedException {
+            for (Map<String, Collection<Record>> group = join.poll(); group != null; group = join.poll()) {
+                final JobImpl.DataInputFactory inputs = new JobImpl.DataInputFactory();
+                group.forEach(inputs::withInput);
+                process(inputs, outputs);
+            }
+        }
+
+        private void process(final JobImpl.DataInputFactory inputs, final JobImpl.DataOutputFactory outputs)
+                throws InterruptedException {
+            node.processor.onElement(inputs, outputs);
+            route(outputs);
+        }
+
+        private void route(final JobImpl.DataOutputFactory outputs) throws InterruptedException {
+            if (outputs.getOutputs().isEmpty()) {
+                return;
+            }
+            for (final Map.Entry<String, Collection<Record>> branch : outputs.getOutputs().entrySet()) {
+                for (final Record record : branch.getValue()) {
+                    router.emit(branch.getKey(), record);
+                }
+            }
+            outputs.getOutputs().clear();
+        }
+    }
+
+    private static class ProcessorNode {
+
+        private final Job.Component component;
+
+        private final AutoChunkProcessor processor;
+
+        private final BoundedQueue<Chunk> inbox;
+
+        private final Set<String> branches = new LinkedHashSet<>();
+
+        private int pendingEnds; // one end marker per upstream worker and edge
+
+        private ProcessorNode(final Job.Component component, final AutoChunkProcessor processor,
+                final int queueSize) {
+            this.component = component;
+            this.processor = processor;
+            this.inbox = new BoundedQueue<>(queueSize);
+            if (ComponentMetrics.isEnabled()) {
+                ComponentMetrics
+                        .find(processor.plugin(), processor.rootName(), processor.name())
+                        .setQueueDepthGauge(inbox::size);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the records a worker emits to the downstream nodes, buffering them in chunks per edge.
+     * Owned by a single worker.
+     */
+    private class Router {
+
+        private final String componentId;
+
+        private final GroupKeyProvider keyProvider;
+
+        private final Map<String, List<Outlet>> outlets = new HashMap<>();
+
+        private final List<Outlet> all = new ArrayList<>();
+
+        private Router(final String componentId, final GroupKeyProvider keyProvider,
+                final Map<String, ProcessorNode> processors, final int chunkSize) {
+            this.componentId = componentId;
+            this.keyProvider = keyProvider;
+            job.getEdges().stream().filter(e -> e.getFrom().getNode().getId().equals(componentId)).forEach(e -> {
+                final ProcessorNode target = processors.get(e.getTo().getNode().getId());
+                final Outlet outlet = new Outlet(target.inbox, e.getTo().getBranch(), chunkSize,
+                        target.branches.size() > 1);
+                outlets.computeIfAbsent(e.getFrom().getBranch(), b -> new ArrayList<>()).add(outlet);
+                all.add(outlet);
+            });
+        }
+
+        private void emit(final String branch, final Record record) throws InterruptedException {
+            final List<Outlet> targets = outlets.get(branch);
+            if (targets == null) { // not connected
+                return;
+            }
+            String key = null;
+            for (final Outlet outlet : targets) {
+                if (outlet.keyed && key == null) {
+                    key = keyProvider.apply(new JobImpl.GroupContextImpl(record, componentId, branch));
+                }
+                outlet.add(record, key);
+            }
+        }
+
+        private void flush() throws InterruptedException {
+            for (final Outlet outlet : all) {
+                outlet.flush();
+            }
+        }
+
+        private void end() throws InterruptedException {
+            for (final Outlet outlet : all) {
+                outlet.flush();
+                outlet.target.put(Chunk.END);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Outlet {
+
+        private final BoundedQueue<Chunk> target;
+
+        private final String branch;
+
+        private final int chunkSize;
+
+        private final boolean keyed;
+
+        private List<Record> records;
+
+        private List<String> keys;
+
+        private void add(final Record record, final String key) throws InterruptedException {
+            if (records == null) {
+                records = new ArrayList<>(chunkSize);
+                keys = keyed ? new ArrayList<>(chunkSize) : null;
+            }
+            records.add(record);
+            if (keyed) {
+                keys.add(key);
+            }
+            if (records.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws InterruptedException {
+            if (records != null) {
+                target.put(new Chunk(branch, records, keys));
+                records = null;
+                keys = null;
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Chunk {
+
+        private static final Chunk END = new Chunk(null, null, null);
+
+        private final String branch;
+
+        private final List<Record> records;
+
+        private final List<String> keys;
+    }
+}
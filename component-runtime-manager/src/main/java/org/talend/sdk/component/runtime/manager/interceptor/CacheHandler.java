@@ -18,43 +18,257 @@ package org.talend.sdk.component.runtime.manager.interceptor;
 import static java.util.stream.Collectors.joining;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.api.service.cache.Cached;
 import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.interceptor.InterceptorHandler;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Handles {@link Cached} methods: the cache stores one {@link Holder} per method and arguments which loads the
+ * value once for all the concurrent callers and can reload it in background ({@link Cached#refreshAfter()}).
+ * With the default {@link LocalCacheService}, the reloads run on the cache executor, the ages are computed with the
+ * cache clock and the validity of the cache entry follows the last loaded value. Other caches reload synchronously.
+ */
+@Slf4j
 public class CacheHandler implements InterceptorHandler {
 
     private final BiFunction<Method, Object[], Object> invoker;
 
     private final LocalCache cache;
 
-    private final ConcurrentMap<Method, Long> timeouts = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<Method, MethodCache> methods = new ConcurrentHashMap<>();
 
     public CacheHandler(final BiFunction<Method, Object[], Object> invoker, final LocalCache cache) {
+        // the executor is resolved lazily to not create the cache threads if nothing is refreshed
+        this(invoker, cache, LocalCacheService.class.isInstance(cache)
+                ? task -> LocalCacheService.class.cast(cache).getThreadService().execute(task)
+                : Runnable::run);
+    }
+
+    CacheHandler(final BiFunction<Method, Object[], Object> invoker, final LocalCache cache,
+            final Executor executor) {
         this.invoker = invoker;
         this.cache = cache;
+        this.executor = executor;
+        this.clock = LocalCacheService.class.isInstance(cache) ? LocalCacheService.class.cast(cache)::currentTime
+                : System::currentTimeMillis;
     }
 
     @Override
     public Object invoke(final Method method, final Object[] args) {
-        final String key = toKey(method, args);
-        final long timeout = timeouts.computeIfAbsent(method, m -> findAnnotation(m, Cached.class).get().timeout());
-        return cache.computeIfAbsent(Object.class, key, timeout, () -> invoker.apply(method, args));
+        final MethodCache config = methods.computeIfAbsent(method, MethodCache::new);
+        final Key key = new Key(method, args);
+        final String cacheKey = config.toKey(args);
+        final Holder[] created = new Holder[1];
+        final Holder holder = cache
+                .computeIfAbsent(Holder.class, cacheKey,
+                        element -> Holder.class.cast(element.getValue()).isExpired(), config.timeout, () -> {
+                            created[0] = new Holder(key, cacheKey, config, invoker.apply(method, args));
+                            return created[0];
+                        });
+        if (holder == created[0]) {
+            final Loaded loaded = holder.current;
+            if (holder.timeout(loaded) != config.timeout) { // negative result
+                holder.updateValidity(loaded);
+            }
+            return loaded.value;
+        }
+        if (!holder.key.equals(key)) { // arguments with the same string representation, can't be cached
+            return invoker.apply(method, args);
+        }
+        return holder.get(args);
+    }
+
+    private final class MethodCache {
+
+        private final String prefix;
+
+        private final long timeout;
+
+        private final long refreshAfter;
+
+        private final long negativeTimeout;
+
+        private MethodCache(final Method method) {
+            final Cached cached = findAnnotation(method, Cached.class).get();
+            this.prefix = method.getDeclaringClass().getName() + "#" + method.getName() + "(";
+            // like LocalCache, a non positive timeout never expires, only 0 is kept for the negative results
+            this.timeout = cached.timeout() > 0 ? cached.timeout() : -1;
+            this.refreshAfter = cached.refreshAfter();
+            this.negativeTimeout = cached.negativeTimeout() >= 0 ? cached.negativeTimeout() : this.timeout;
+        }
+
+        // assumes toString() and hashCode() of params are representative, the holder checks the actual arguments
+        private String toKey(final Object[] args) {
+            return prefix + (args == null ? ""
+                    : Stream
+                            .of(args)
+                            .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
+                            .collect(joining(",")))
+                    + ")";
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Key {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = Key.class.cast(o);
+            return method.equals(key.method) && Arrays.deepEquals(args, key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + Arrays.deepHashCode(args);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Loaded {
+
+        private final Object value;
+
+        private final long timestamp;
+
+        private boolean isNegative() {
+            return value == null || (Optional.class.isInstance(value) && !Optional.class.cast(value).isPresent())
+                    || (Collection.class.isInstance(value) && Collection.class.cast(value).isEmpty())
+                    || (Map.class.isInstance(value) && Map.class.cast(value).isEmpty());
+        }
     }
 
-    // assumes toString() and hashCode() of params are representative
-    private String toKey(final Method method, final Object[] args) {
-        return method.getDeclaringClass().getName() + "#" + method.getName() + "("
-                + (args == null ? ""
-                        : Stream
-                                .of(args)
-                                .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
-                                .collect(joining(",")))
-                + ")";
+    private final class Holder {
+
+        private final Key key;
+
+        private final String cacheKey;
+
+        private final MethodCache config;
+
+        private final AtomicReference<CompletableFuture<Loaded>> loading = new AtomicReference<>();
+
+        private volatile Loaded current;
+
+        private Holder(final Key key, final String cacheKey, final MethodCache config, final Object value) {
+            this.key = key;
+            this.cacheKey = cacheKey;
+            this.config = config;
+            this.current = new Loaded(value, clock.getAsLong());
+        }
+
+        private boolean isExpired() {
+            final Loaded loaded = current;
+            return isExpired(loaded, clock.getAsLong() - loaded.timestamp);
+        }
+
+        private boolean isExpired(final Loaded loaded, final long age) {
+            final long timeout = timeout(loaded);
+            return timeout >= 0 && age >= timeout;
+        }
+
+        private Object get(final Object[] args) {
+            final Loaded loaded = current;
+            final long age = clock.getAsLong() - loaded.timestamp;
+            if (isExpired(loaded, age)) {
+                try {
+                    return load(args, false).join().value;
+                } catch (final CompletionException ce) {
+                    if (RuntimeException.class.isInstance(ce.getCause())) {
+                        throw RuntimeException.class.cast(ce.getCause());
+                    }
+                    if (Error.class.isInstance(ce.getCause())) {
+                        throw Error.class.cast(ce.getCause());
+                    }
+                    throw ce;
+                }
+            }
+            if (config.refreshAfter >= 0 && age >= config.refreshAfter) {
+                load(args, true);
+            }
+            return loaded.value;
+        }
+
+        private long timeout(final Loaded loaded) {
+            return loaded.isNegative() ? config.negativeTimeout : config.timeout;
+        }
+
+        // the cache entry would otherwise keep the validity of the first loaded value
+        private void updateValidity(final Loaded loaded) {
+            final long timeout = timeout(loaded);
+            if (timeout == 0) {
+                cache.evictIfValue(cacheKey, this);
+            } else if (LocalCacheService.class.isInstance(cache)) {
+                LocalCacheService.class.cast(cache).renew(cacheKey, this, timeout);
+            }
+        }
+
+        // single flight: a caller either starts the load or gets the pending one
+        private CompletableFuture<Loaded> load(final Object[] args, final boolean async) {
+            final CompletableFuture<Loaded> future = new CompletableFuture<>();
+            while (!loading.compareAndSet(null, future)) {
+                final CompletableFuture<Loaded> pending = loading.get();
+                if (pending != null) {
+                    return pending;
+                }
+            }
+            final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            final Runnable task = () -> {
+                final Thread thread = Thread.currentThread();
+                final ClassLoader oldLoader = thread.getContextClassLoader();
+                thread.setContextClassLoader(loader);
+                try {
+                    final Loaded loaded = new Loaded(invoker.apply(key.method, args), clock.getAsLong());
+                    current = loaded;
+                    updateValidity(loaded);
+                    future.complete(loaded);
+                } catch (final RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                    if (async) {
+                        log.warn("Can't refresh " + cacheKey + ", keeping the cached value", e);
+                    }
+                } finally {
+                    thread.setContextClassLoader(oldLoader);
+                    loading.compareAndSet(future, null);
+                }
+            };
+            if (async) {
+                executor.execute(task);
+            } else {
+                task.run();
+            }
+            return future;
+        }
     }
 }
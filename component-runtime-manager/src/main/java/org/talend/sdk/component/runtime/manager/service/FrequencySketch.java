@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service;
+
+/**
+ * Approximate access frequency of the cache keys: a count-min sketch of 4 bits counters, halved every
+ * {@code 10 x maximum size} increments so old accesses are progressively forgotten.
+ * It is not thread safe, callers must synchronize the accesses.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS =
+            { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private long[] table;
+
+    private int sampleSize;
+
+    private int additions;
+
+    /**
+     * Sizes the sketch for a cache, a smaller table is never shrunk.
+     *
+     * @param maximumSize the maximum size of the cache.
+     */
+    void ensureCapacity(final int maximumSize) {
+        final int length = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 24)) - 1) << 1;
+        if (table != null && table.length >= length) {
+            return;
+        }
+        table = new long[length];
+        sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * maximumSize);
+        additions = 0;
+    }
+
+    int frequency(final Object key) {
+        if (table == null) {
+            return 0;
+        }
+        final int hash = key.hashCode();
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long h = hash(hash, i);
+            frequency = Math.min(frequency, (int) ((table[index(h)] >>> offset(h)) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(final Object key) {
+        if (table == null) {
+            return;
+        }
+        final int hash = key.hashCode();
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long h = hash(hash, i);
+            final int index = index(h);
+            final int offset = offset(h);
+            if (((table[index] >>> offset) & 0xF) != 0xF) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+    }
+
+    private long hash(final int hash, final int i) {
+        final long h = (hash ^ SEEDS[i]) * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 32);
+    }
+
+    private int index(final long hash) {
+        return (int) (hash >>> 4) & (table.length - 1);
+    }
+
+    private int offset(final long hash) {
+        return (int) (hash & 0xF) << 2;
+    }
+}
@@ -18,14 +18,13 @@ package org.talend.sdk.component.runtime.manager.service;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -43,6 +42,10 @@ import lombok.Data;
 
 /**
  * Implementation of LocalCache with in memory concurrent map.
+ *
+ * When a maximum size is configured the least recently used entry is evicted when the cache is full but only if
+ * the new entry is more frequently requested (TinyLFU admission), this way a burst of keys used once doesn't
+ * flush the hot entries. Timeouts are handled by a single timer wheel per cache.
  */
 public class LocalCacheService implements LocalCache, Serializable {
 
@@ -53,6 +56,25 @@ public class LocalCacheService implements LocalCache, Serializable {
 
     private final ConcurrentMap<String, ElementImpl> cache = new ConcurrentHashMap<>();
 
+    // guards the access order list and the frequency sketch
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final TimerWheel expirations;
+
+    /** most recently used element */
+    private ElementImpl head;
+
+    /** least recently used element */
+    private ElementImpl tail;
+
     @Configuration("talend.component.manager.services.cache.eviction")
     private Supplier<CacheConfiguration> configuration;
 
@@ -64,6 +86,7 @@ public class LocalCacheService implements LocalCache, Serializable {
         this.plugin = plugin;
         this.timer = timer;
         this.threadServiceGetter = threadServiceGetter;
+        this.expirations = new TimerWheel(timer, this::getThreadService);
     }
 
     /**
@@ -76,14 +99,18 @@ public class LocalCacheService implements LocalCache, Serializable {
         final String realKey = internalKey(key);
 
         // use compute to be able to call release.
+        final ElementImpl[] removed = new ElementImpl[1];
         cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
             if (oldElement != null && oldElement.canBeEvict()) {
                 // ok to evict, so do release.
-                oldElement.release();
+                removed[0] = oldElement;
                 return null;
             }
             return oldElement;
         });
+        if (removed[0] != null) {
+            onRemoval(removed[0]);
+        }
     }
 
     @Override
@@ -91,40 +118,54 @@ public class LocalCacheService implements LocalCache, Serializable {
         final String realKey = internalKey(key);
 
         // use compute to be able to call release.
+        final ElementImpl[] removed = new ElementImpl[1];
         cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
             if (oldElement != null && (Objects.equals(oldElement.getValue(), expected) || oldElement.canBeEvict())) {
                 // ok to evit, so do release.
-                oldElement.release();
+                removed[0] = oldElement;
                 return null;
             }
             return oldElement;
         });
-
+        if (removed[0] != null) {
+            onRemoval(removed[0]);
+        }
     }
 
     @Override
     public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Predicate<Element> toRemove,
             final long timeoutMs, final Supplier<T> value) {
-
-        final Integer maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
-        if (maxSize > 0 && this.cache.size() >= maxSize) {
-            this.clean(); // clean before add one element.
-            if (this.cache.size() >= maxSize) {
-                synchronized (this.cache) {
-                    while (this.cache.size() >= maxSize) {
-                        final String keyToRemove = this.cache.keySet().iterator().next();
-                        this.cache.remove(keyToRemove);
-                    }
-                }
-            }
+        final String internalKey = internalKey(key);
+        final ElementImpl existing = cache.get(internalKey);
+        if (existing != null && !existing.mustBeRemoved()) { // hit, no need to lock the entry
+            onHit(existing);
+            return existing.getValue(expectedClass);
         }
 
-        final ScheduledFuture<?> task = timeoutMs > 0 ? this.evictionTask(key, timeoutMs) : null;
-
         final long endOfValidity = this.calcEndOfValidity(timeoutMs);
-        final ElementImpl element =
-                this.addToMap(key, () -> new ElementImpl(value, toRemove, endOfValidity, task, this.timer));
+        final ElementImpl[] created = new ElementImpl[1];
+        final ElementImpl[] replaced = new ElementImpl[1];
+        final ElementImpl element = cache.compute(internalKey, (String k, ElementImpl old) -> {
+            if (old != null && !old.mustBeRemoved()) {
+                return old;
+            }
+            replaced[0] = old;
+            created[0] = new ElementImpl(internalKey, value, toRemove, endOfValidity, this.timer);
+            return created[0];
+        });
+        if (created[0] == null) {
+            onHit(element);
+            return element.getValue(expectedClass);
+        }
 
+        misses.increment();
+        if (replaced[0] != null) {
+            onRemoval(replaced[0]);
+        }
+        if (timeoutMs > 0) {
+            element.expiration = expirations.schedule(endOfValidity, () -> expire(element));
+        }
+        admit(element);
         return element.getValue(expectedClass);
     }
 
@@ -142,22 +183,74 @@ public class LocalCacheService implements LocalCache, Serializable {
         return this.computeIfAbsent(expectedClass, key, null, timeoutMs, value);
     }
 
-    private ElementImpl addToMap(final String key, final Supplier<ElementImpl> builder) {
-        final String internalKey = internalKey(key);
-        return cache.compute(internalKey, (String k, ElementImpl old) -> //
-        old == null || old.mustBeRemoved() ? builder.get() : old);
-    }
-
     @Override
     public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Supplier<T> value) {
         final long timeOut = this.getConfigValue(CacheConfiguration::getDefaultEvictionTimeout, -1L);
         return computeIfAbsent(expectedClass, key, null, timeOut, value);
     }
 
+    /**
+     * Pushes back the end of validity of an entry, used when its value is reloaded in place.
+     *
+     * @param key the cache key.
+     * @param expected the value the entry must still hold to be renewed.
+     * @param timeoutMs the new duration of the entry from now.
+     */
+    public void renew(final String key, final Object expected, final long timeoutMs) {
+        final String internalKey = internalKey(key);
+        final long endOfValidity = this.calcEndOfValidity(timeoutMs);
+        final ElementImpl[] renewed = new ElementImpl[2];
+        cache.computeIfPresent(internalKey, (String k, ElementImpl old) -> {
+            if (old.value != expected) {
+                return old;
+            }
+            renewed[0] = old;
+            renewed[1] = new ElementImpl(internalKey, () -> expected, old.canBeRemoved, endOfValidity, this.timer);
+            return renewed[1];
+        });
+        if (renewed[1] == null) {
+            return;
+        }
+        renewed[0].release();
+        if (timeoutMs > 0) {
+            renewed[1].expiration = expirations.schedule(endOfValidity, () -> expire(renewed[1]));
+        }
+        lock.lock();
+        try {
+            unlink(renewed[0]);
+            if (cache.get(internalKey) == renewed[1]) {
+                link(renewed[1]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current time of the clock of this cache, timeouts are relative to it.
+     */
+    public long currentTime() {
+        return this.timer.get();
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        return new StatisticsImpl(hits.sum(), misses.sum(), evictions.sum());
+    }
+
     @PreDestroy
     public void release() {
+        lock.lock();
+        try {
+            while (head != null) {
+                unlink(head);
+            }
+        } finally {
+            lock.unlock();
+        }
         this.cache.forEach((String k, ElementImpl e) -> e.release());
         this.cache.clear();
+        this.expirations.clear();
     }
 
     private long calcEndOfValidity(final long timeoutMs) {
@@ -169,40 +262,145 @@ public class LocalCacheService implements LocalCache, Serializable {
     }
 
     public void clean() {
-        Stream<Entry<String, ElementImpl>> elements = //
+        Stream<ElementImpl> elements = //
                 this.cache
-                        .entrySet() //
+                        .values() //
                         .stream() //
-                        .filter(e -> e.getValue().mustBeRemoved());
+                        .filter(ElementImpl::mustBeRemoved);
 
         final int maxEviction = this.getConfigValue(CacheConfiguration::getMaxDeletionPerEvictionRun, -1);
         if (maxEviction > 0) {
             elements = elements.limit(maxEviction);
         }
-        final List<String> removableElements = elements.map(Entry::getKey).collect(Collectors.toList());// materialize
-                                                                                                        // before
-                                                                                                        // actually
-                                                                                                        // removing it
-        removableElements.forEach(this.cache::remove);
+        final List<ElementImpl> removableElements = elements.collect(Collectors.toList()); // materialize before
+                                                                                            // actually removing it
+        removableElements.forEach(element -> {
+            if (removeElement(element)) {
+                evictions.increment();
+                onRemoval(element);
+            }
+        });
     }
 
-    private ScheduledExecutorService getThreadService() {
-        return this.threadServiceGetter.get();
+    private void expire(final ElementImpl element) {
+        if (element.canBeEvict() && removeElement(element)) {
+            evictions.increment();
+            onRemoval(element);
+        }
+    }
+
+    private void onHit(final ElementImpl element) {
+        hits.increment();
+        if (!lock.tryLock()) { // under contention the access order is approximated
+            return;
+        }
+        try {
+            sketch.increment(element.key);
+            if (element.linked && head != element) {
+                unlink(element);
+                link(element);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(final ElementImpl element) {
+        final int maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
+        lock.lock();
+        try {
+            if (maxSize > 0) {
+                sketch.ensureCapacity(maxSize);
+            }
+            sketch.increment(element.key);
+            if (cache.get(element.key) != element) { // already removed
+                return;
+            }
+            link(element);
+            while (maxSize > 0 && cache.size() > maxSize && tail != null && tail != element) {
+                final ElementImpl victim = tail;
+                if (cache.get(victim.key) != victim) {
+                    unlink(victim);
+                } else if (sketch.frequency(element.key) > sketch.frequency(victim.key)) {
+                    evictElement(victim);
+                } else { // the new element is less used than the one it would replace, don't keep it
+                    evictElement(element);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictElement(final ElementImpl element) {
+        unlink(element);
+        if (removeElement(element)) {
+            evictions.increment();
+            element.release();
+        }
+    }
+
+    // elements equality is based on the value so ConcurrentMap#remove(key, value) can't be used
+    private boolean removeElement(final ElementImpl element) {
+        final boolean[] removed = new boolean[1];
+        cache.computeIfPresent(element.key, (String k, ElementImpl current) -> {
+            if (current != element) {
+                return current;
+            }
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private void onRemoval(final ElementImpl element) {
+        element.release();
+        lock.lock();
+        try {
+            unlink(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void link(final ElementImpl element) {
+        element.linked = true;
+        element.previous = null;
+        element.next = head;
+        if (head != null) {
+            head.previous = element;
+        }
+        head = element;
+        if (tail == null) {
+            tail = element;
+        }
+    }
+
+    private void unlink(final ElementImpl element) {
+        if (!element.linked) {
+            return;
+        }
+        if (element.previous == null) {
+            head = element.next;
+        } else {
+            element.previous.next = element.next;
+        }
+        if (element.next == null) {
+            tail = element.previous;
+        } else {
+            element.next.previous = element.previous;
+        }
+        element.linked = false;
+        element.previous = null;
+        element.next = null;
     }
 
     /**
-     * Schedule an eviction task for a key.
-     * 
-     * @param key : key to evict from cache.
-     * @param delayMillis : delay in millis before triggered.
-     * @return result of task.
+     * @return the executor of the background tasks of this cache.
      */
-    private ScheduledFuture<?> evictionTask(final String key, final long delayMillis) {
-        return this
-                .getThreadService()
-                .schedule(() -> this.evict(key), //
-                        delayMillis, //
-                        TimeUnit.MILLISECONDS); //
+    public ScheduledExecutorService getThreadService() {
+        return this.threadServiceGetter.get();
     }
 
     private <T> T getConfigValue(final Function<CacheConfiguration, T> getter, final T defaultValue) {
@@ -232,11 +430,24 @@ public class LocalCacheService implements LocalCache, Serializable {
         private int defaultMaxSize;
     }
 
+    @Data
+    private static class StatisticsImpl implements Statistics {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long evictions;
+    }
+
     /**
      * Wrapper for each cached object.
      */
     private static class ElementImpl implements Element {
 
+        /** internal key of the element */
+        private final String key;
+
         /** cached object */
         private final Object value;
 
@@ -246,17 +457,24 @@ public class LocalCacheService implements LocalCache, Serializable {
         /** give time object can be release (infinity if < 0) */
         private final long endOfValidity;
 
-        /** scheduled task to remove object if nedeed (to cancel if removed before) */
-        private final ScheduledFuture<?> removedTask;
-
         private final Supplier<Long> serviceTimer;
 
-        public <T> ElementImpl(final Supplier<T> value, final Predicate<Element> canBeRemoved, final long endOfValidity,
-                final ScheduledFuture<?> removedTask, final Supplier<Long> timer) {
+        /** timeout removing the object if nedeed (to cancel if removed before) */
+        private volatile TimerWheel.Timeout expiration;
+
+        /** access order links, guarded by the cache lock */
+        private boolean linked;
+
+        private ElementImpl previous;
+
+        private ElementImpl next;
+
+        public <T> ElementImpl(final String key, final Supplier<T> value, final Predicate<Element> canBeRemoved,
+                final long endOfValidity, final Supplier<Long> timer) {
+            this.key = key;
             this.value = value.get();
             this.canBeRemoved = canBeRemoved;
             this.endOfValidity = endOfValidity;
-            this.removedTask = removedTask;
             this.serviceTimer = timer;
         }
 
@@ -287,8 +505,8 @@ public class LocalCacheService implements LocalCache, Serializable {
          * Release this object because removed.
          */
         public synchronized void release() {
-            if (this.removedTask != null) {
-                this.removedTask.cancel(false);
+            if (this.expiration != null) {
+                this.expiration.cancel();
             }
         }
 
@@ -19,16 +19,21 @@ import static java.util.stream.Collectors.toList;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.RecordPointer;
 import org.talend.sdk.component.api.record.RecordPointerFactory;
 import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.runtime.record.RecordImpl;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
 import lombok.RequiredArgsConstructor;
@@ -36,11 +41,28 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class RecordPointerFactoryImpl implements RecordPointerFactory, Serializable {
 
+    private static final int MAX_CACHED_POINTERS = 1024;
+
     private final String plugin;
 
+    // pointers are compiled so reuse them when the caller asks for the same one again
+    private final transient ConcurrentMap<String, RecordPointer> pointers = new ConcurrentHashMap<>();
+
     @Override
     public RecordPointer apply(final String pointer) {
-        return new RecordPointerImpl(pointer);
+        if (pointer == null) {
+            throw new NullPointerException("pointer must not be null");
+        }
+        final RecordPointer existing = pointers.get(pointer);
+        if (existing != null) {
+            return existing;
+        }
+        final RecordPointer compiled = new RecordPointerImpl(pointer);
+        if (pointers.size() >= MAX_CACHED_POINTERS) {
+            pointers.clear();
+        }
+        pointers.putIfAbsent(pointer, compiled);
+        return compiled;
     }
 
     Object writeReplace() throws ObjectStreamException {
@@ -53,6 +75,9 @@ public class RecordPointerFactoryImpl implements RecordPointerFactory, Serializa
 
         private final List<String> tokens;
 
+        // compiled form of the tokens (the leading empty one excluded), rebuilt after a deserialization
+        private transient volatile Step[] steps;
+
         private RecordPointerImpl(final String pointer) {
             if (pointer == null) {
                 throw new NullPointerException("pointer must not be null");
@@ -80,121 +105,220 @@ public class RecordPointerFactoryImpl implements RecordPointerFactory, Serializa
             }
 
             Object current = target;
-            final int lastIdx = tokens.size() - 1;
-            for (int i = 1; i < tokens.size(); i++) {
-                current = getValue(current, tokens.get(i), i, lastIdx);
+            final Step[] compiled = getSteps();
+            final int lastIdx = compiled.length - 1;
+            for (int i = 0; i < compiled.length; i++) {
+                current = compiled[i].apply(current, i == lastIdx);
             }
             return type.cast(current);
         }
 
         public <T> T getEntry(final Record target, final Class<T> type) {
-            if (target == null) {
-                throw new NullPointerException("target must not be null");
-            }
-            if (pointer.equals("") || pointer.equals("/")) {
-                return type.cast(target);
+            return getValue(target, type);
+        }
+
+        private Step[] getSteps() {
+            Step[] compiled = steps;
+            if (compiled == null) {
+                compiled = tokens.stream().skip(1).map(Step::new).toArray(Step[]::new);
+                steps = compiled;
             }
+            return compiled;
+        }
 
-            Object current = target;
-            final int lastIdx = tokens.size() - 1;
-            for (int i = 1; i < tokens.size(); i++) {
-                current = getValue(current, tokens.get(i), i, lastIdx);
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
             }
-            return type.cast(current);
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            return pointer.equals(RecordPointerImpl.class.cast(obj).pointer);
+        }
+
+        @Override
+        public int hashCode() {
+            return pointer.hashCode();
+        }
+    }
+
+    /**
+     * One token of a pointer. The array index is parsed once and the record accessor is resolved once per schema
+     * instance met, the most recent ones first, so a cache hit does not look up the schema entry again.
+     * For {@link RecordImpl} the accessor reads the entry by position, other records are read by name.
+     */
+    private static final class Step {
+
+        // flows alternating schemas (unions, nested or mixed arrays) generally use a few of them
+        private static final int MAX_RESOLUTIONS = 16;
+
+        private static final Resolution[] NO_RESOLUTION = new Resolution[0];
+
+        private final String token;
+
+        // -1 when the token is not a valid array index
+        private final int arrayIndex;
+
+        // copied on write, a concurrent miss can be lost and resolved again later
+        private volatile Resolution[] resolutions = NO_RESOLUTION;
+
+        private Step(final String token) {
+            this.token = token;
+            this.arrayIndex = parseIndex(token);
         }
 
-        private Object getValue(final Object value, final String referenceToken, final int currentPosition,
-                final int referencePosition) {
+        private Object apply(final Object value, final boolean last) {
             if (Record.class.isInstance(value)) {
                 final Record record = Record.class.cast(value);
-                final Object nestedVal = getRecordEntry(referenceToken, record);
+                final Object nestedVal = resolve(record).accessor.apply(record);
                 if (nestedVal != null) {
                     return nestedVal;
                 }
-                throw new IllegalArgumentException(
-                        "'" + record + "' contains no value for name '" + referenceToken + "'");
+                throw new IllegalArgumentException("'" + record + "' contains no value for name '" + token + "'");
             }
             if (Collection.class.isInstance(value)) {
-                if (referenceToken.startsWith("+") || referenceToken.startsWith("-")) {
-                    throw new IllegalArgumentException(
-                            "An array index must not start with '" + referenceToken.charAt(0) + "'");
+                if (arrayIndex < 0) {
+                    throw invalidIndex();
                 }
-                if (referenceToken.startsWith("0") && referenceToken.length() > 1) {
-                    throw new IllegalArgumentException("An array index must not start with a leading '0'");
-                }
-
                 final Collection<?> array = Collection.class.cast(value);
-                try {
-                    final int arrayIndex = Integer.parseInt(referenceToken);
-                    if (arrayIndex >= array.size()) {
-                        throw new IllegalArgumentException(
-                                "'" + array + "' contains no element for index " + arrayIndex);
-                    }
-                    return List.class.isInstance(array) ? List.class.cast(array).get(arrayIndex)
-                            : new ArrayList<>(array).get(arrayIndex);
-                } catch (final NumberFormatException e) {
-                    throw new IllegalArgumentException("'" + referenceToken + "' is no valid array index", e);
+                if (arrayIndex >= array.size()) {
+                    throw new IllegalArgumentException("'" + array + "' contains no element for index " + arrayIndex);
                 }
+                return List.class.isInstance(array) ? List.class.cast(array).get(arrayIndex)
+                        : new ArrayList<>(array).get(arrayIndex);
             }
-            if (currentPosition != referencePosition) {
+            if (!last) {
                 return value;
             }
-            throw new IllegalArgumentException("'" + value + "' contains no element for '" + referenceToken + "'");
+            throw new IllegalArgumentException("'" + value + "' contains no element for '" + token + "'");
         }
 
-        private Object getRecordEntry(final Schema.Entry entry, final Record record) {
+        private Resolution resolve(final Record record) {
+            final Schema schema = record.getSchema();
+            final Resolution[] known = resolutions;
+            for (final Resolution resolution : known) {
+                if (resolution.schema == schema) {
+                    return resolution;
+                }
+            }
+            final Resolution resolved = new Resolution(schema, accessor(record, schema.getEntry(token)));
+            final int kept = Math.min(known.length, MAX_RESOLUTIONS - 1);
+            final Resolution[] updated = new Resolution[kept + 1];
+            updated[0] = resolved;
+            System.arraycopy(known, 0, updated, 1, kept);
+            resolutions = updated;
+            return resolved;
+        }
+
+        private Function<Record, Object> accessor(final Record record, final Schema.Entry entry) {
+            if (entry == null) {
+                return it -> it.get(Object.class, token);
+            }
+            final Function<Record, Object> byName = accessor(entry);
+            final int position =
+                    RecordImpl.class.isInstance(record) ? RecordImpl.class.cast(record).indexOf(entry.getName()) : -1;
+            if (position < 0) {
+                return byName;
+            }
+            // a schema instance can be shared by other record implementations
+            final Class<?> type = valueType(entry);
+            return it -> RecordImpl.class.isInstance(it) ? RecordImpl.class.cast(it).get(type, position)
+                    : byName.apply(it);
+        }
+
+        private Class<?> valueType(final Schema.Entry entry) {
             switch (entry.getType()) {
             case STRING:
-                return record.getString(entry.getName());
+                return String.class;
             case INT:
-                return record.getInt(entry.getName());
+                return Integer.class;
             case LONG:
-                return record.getLong(entry.getName());
+                return Long.class;
             case FLOAT:
-                return record.getFloat(entry.getName());
+                return Float.class;
             case DOUBLE:
-                return record.getDouble(entry.getName());
+                return Double.class;
             case BOOLEAN:
-                return record.getBoolean(entry.getName());
+                return Boolean.class;
             case BYTES:
-                return record.getBytes(entry.getName());
+                return byte[].class;
             case DATETIME:
-                return record.getDateTime(entry.getName());
+                return ZonedDateTime.class;
             case DECIMAL:
-                return record.getDecimal(entry.getName());
+                return BigDecimal.class;
             case RECORD:
-                return record.getRecord(entry.getName());
+                return Record.class;
             case ARRAY:
-                return record.getArray(Object.class, entry.getName());
+                return Collection.class;
             default:
                 throw new IllegalArgumentException("Unsupported entry type for: " + entry);
             }
         }
 
-        private Object getRecordEntry(final String referenceToken, final Record record) {
-            return getEntry(referenceToken, record)
-                    .map(entry -> getRecordEntry(entry, record))
-                    .orElseGet(() -> record.get(Object.class, referenceToken));
+        private Function<Record, Object> accessor(final Schema.Entry entry) {
+            final String name = entry.getName();
+            switch (entry.getType()) {
+            case STRING:
+                return record -> record.getString(name);
+            case INT:
+                return record -> record.getInt(name);
+            case LONG:
+                return record -> record.getLong(name);
+            case FLOAT:
+                return record -> record.getFloat(name);
+            case DOUBLE:
+                return record -> record.getDouble(name);
+            case BOOLEAN:
+                return record -> record.getBoolean(name);
+            case BYTES:
+                return record -> record.getBytes(name);
+            case DATETIME:
+                return record -> record.getDateTime(name);
+            case DECIMAL:
+                return record -> record.getDecimal(name);
+            case RECORD:
+                return record -> record.getRecord(name);
+            case ARRAY:
+                return record -> record.getArray(Object.class, name);
+            default:
+                throw new IllegalArgumentException("Unsupported entry type for: " + entry);
+            }
         }
 
-        private Optional<Schema.Entry> getEntry(final String referenceToken, final Record record) {
-            return Optional.ofNullable(record.getSchema().getEntry(referenceToken));
+        private IllegalArgumentException invalidIndex() {
+            if (token.startsWith("+") || token.startsWith("-")) {
+                return new IllegalArgumentException("An array index must not start with '" + token.charAt(0) + "'");
+            }
+            if (token.startsWith("0") && token.length() > 1) {
+                return new IllegalArgumentException("An array index must not start with a leading '0'");
+            }
+            try {
+                Integer.parseInt(token);
+                return new IllegalArgumentException("'" + token + "' is no valid array index");
+            } catch (final NumberFormatException e) {
+                return new IllegalArgumentException("'" + token + "' is no valid array index", e);
+            }
         }
 
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
+        private static int parseIndex(final String token) {
+            if (token.isEmpty() || token.startsWith("+") || token.startsWith("-")
+                    || (token.startsWith("0") && token.length() > 1)) {
+                return -1;
             }
-            if (obj == null || getClass() != obj.getClass()) {
-                return false;
+            try {
+                return Integer.parseInt(token);
+            } catch (final NumberFormatException e) {
+                return -1;
             }
-            return pointer.equals(RecordPointerImpl.class.cast(obj).pointer);
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return pointer.hashCode();
-        }
+    @RequiredArgsConstructor
+    private static final class Resolution {
+
+        private final Schema schema;
+
+        private final Function<Record, Object> accessor;
     }
 }
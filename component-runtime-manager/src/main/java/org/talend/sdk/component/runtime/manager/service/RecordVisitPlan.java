@@ -0,0 +1,343 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.SchemaProperty;
+import org.talend.sdk.component.api.service.record.RecordVisitor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link RecordServiceImpl#visit(RecordVisitor, Record)} compiled for a schema: the entries are bound once to the
+ * visitor callback matching their type so visiting a record is a plain loop over the handlers.
+ * Plans do not depend on the visitor and are cached per service in a {@link Cache}.
+ */
+final class RecordVisitPlan {
+
+    private final EntryVisit[] visits;
+
+    private RecordVisitPlan(final Schema schema, final Cache cache) {
+        this.visits = schema.getAllEntries().map(entry -> compile(entry, cache)).toArray(EntryVisit[]::new);
+    }
+
+    <T> T visit(final RecordVisitor<T> visitor, final Record record) {
+        T out = null;
+        for (final EntryVisit visit : visits) {
+            out = visit.visit(visitor, record, out);
+        }
+        final T visited = visitor.get();
+        if (out != null) {
+            return visitor.apply(out, visited);
+        }
+        return visited;
+    }
+
+    private static EntryVisit compile(final Schema.Entry entry, final Cache cache) {
+        final String name = entry.getName();
+        switch (entry.getType()) {
+        case INT:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onInt(entry, record.getOptionalInt(name));
+                    return out;
+                }
+            };
+        case LONG:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onLong(entry, record.getOptionalLong(name));
+                    return out;
+                }
+            };
+        case FLOAT:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onFloat(entry, record.getOptionalFloat(name));
+                    return out;
+                }
+            };
+        case DOUBLE:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onDouble(entry, record.getOptionalDouble(name));
+                    return out;
+                }
+            };
+        case BOOLEAN:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onBoolean(entry, record.getOptionalBoolean(name));
+                    return out;
+                }
+            };
+        case STRING:
+            if ("id_Object".equals(entry.getProp(SchemaProperty.STUDIO_TYPE))) {
+                return new EntryVisit() {
+
+                    @Override
+                    <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                        visitor.onObject(entry, Optional.ofNullable(record.get(Object.class, name)));
+                        return out;
+                    }
+                };
+            }
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onString(entry, record.getOptionalString(name));
+                    return out;
+                }
+            };
+        case DATETIME:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onDatetime(entry, record.getOptionalDateTime(name));
+                    return out;
+                }
+            };
+        case DECIMAL:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onDecimal(entry, record.getOptionalDecimal(name));
+                    return out;
+                }
+            };
+        case BYTES:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onBytes(entry, record.getOptionalBytes(name));
+                    return out;
+                }
+            };
+        case RECORD:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    final Optional<Record> optionalRecord = record.getOptionalRecord(name);
+                    final RecordVisitor<T> recordVisitor = visitor.onRecord(entry, optionalRecord);
+                    if (recordVisitor == null || !optionalRecord.isPresent()) {
+                        return out;
+                    }
+                    return merge(visitor, out, visitNested(cache, recordVisitor, optionalRecord.get()));
+                }
+            };
+        case ARRAY:
+            return compileArray(entry, name, cache);
+        default:
+            return unsupported(entry);
+        }
+    }
+
+    private static EntryVisit compileArray(final Schema.Entry entry, final String name, final Cache cache) {
+        switch (entry.getElementSchema().getType()) {
+        case INT:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onIntArray(entry, record.getOptionalArray(int.class, name));
+                    return out;
+                }
+            };
+        case LONG:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onLongArray(entry, record.getOptionalArray(long.class, name));
+                    return out;
+                }
+            };
+        case FLOAT:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onFloatArray(entry, record.getOptionalArray(float.class, name));
+                    return out;
+                }
+            };
+        case DOUBLE:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onDoubleArray(entry, record.getOptionalArray(double.class, name));
+                    return out;
+                }
+            };
+        case BOOLEAN:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onBooleanArray(entry, record.getOptionalArray(boolean.class, name));
+                    return out;
+                }
+            };
+        case STRING:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onStringArray(entry, record.getOptionalArray(String.class, name));
+                    return out;
+                }
+            };
+        case DATETIME:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onDatetimeArray(entry, record.getOptionalArray(ZonedDateTime.class, name));
+                    return out;
+                }
+            };
+        case DECIMAL:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onDecimalArray(entry, record.getOptionalArray(BigDecimal.class, name));
+                    return out;
+                }
+            };
+        case BYTES:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    visitor.onBytesArray(entry, record.getOptionalArray(byte[].class, name));
+                    return out;
+                }
+            };
+        case RECORD:
+            return new EntryVisit() {
+
+                @Override
+                <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                    final Optional<Collection<Record>> array = record.getOptionalArray(Record.class, name);
+                    final RecordVisitor<T> recordArrayVisitor = visitor.onRecordArray(entry, array);
+                    if (!array.isPresent()) {
+                        return out;
+                    }
+                    T current = out;
+                    for (final Record item : array.get()) {
+                        current = merge(visitor, current, visitNested(cache, recordArrayVisitor, item));
+                    }
+                    return current;
+                }
+            };
+        // array of array is not yet supported!
+        default:
+            return unsupported(entry);
+        }
+    }
+
+    // fails when reached to keep the callbacks of the previous entries
+    private static EntryVisit unsupported(final Schema.Entry entry) {
+        return new EntryVisit() {
+
+            @Override
+            <T> T visit(final RecordVisitor<T> visitor, final Record record, final T out) {
+                throw new IllegalStateException("Unsupported entry type: " + entry);
+            }
+        };
+    }
+
+    private static <T> T visitNested(final Cache cache, final RecordVisitor<T> visitor, final Record record) {
+        return cache.get(record.getSchema()).visit(visitor, record);
+    }
+
+    private static <T> T merge(final RecordVisitor<T> visitor, final T current, final T visited) {
+        if (visited == null) {
+            return current;
+        }
+        return current == null ? visited : visitor.apply(current, visited);
+    }
+
+    private abstract static class EntryVisit {
+
+        abstract <T> T visit(RecordVisitor<T> visitor, Record record, T out);
+    }
+
+    /**
+     * The plans of a service (so of a plugin): schemas are compared structurally, records rebuilding an equal schema
+     * share the same plan, and weakly referenced so unused schemas and their plans are released.
+     * The plan of the last schema is kept aside since records of a flow generally share the same schema instance
+     * and hashing a schema walks all its entries.
+     */
+    static final class Cache {
+
+        private final Map<Schema, RecordVisitPlan> plans = Collections.synchronizedMap(new WeakHashMap<>());
+
+        private volatile Last last;
+
+        RecordVisitPlan get(final Schema schema) {
+            final Last current = last;
+            if (current != null && current.schema.get() == schema) {
+                return current.plan;
+            }
+            RecordVisitPlan plan = plans.get(schema);
+            if (plan == null) {
+                plan = new RecordVisitPlan(schema, this);
+                final RecordVisitPlan existing = plans.putIfAbsent(schema, plan);
+                if (existing != null) {
+                    plan = existing;
+                }
+            }
+            last = new Last(new WeakReference<>(schema), plan);
+            return plan;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Last {
+
+        private final WeakReference<Schema> schema;
+
+        private final RecordVisitPlan plan;
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hierarchical timer wheel (4 levels of 64 buckets of {@link #TICK_MS} ms) used to expire the cache entries.
+ * A single task is scheduled, for the next non empty bucket, instead of one task per entry and timeouts
+ * are scheduled and cancelled in constant time.
+ */
+@Slf4j
+class TimerWheel {
+
+    static final long TICK_MS = 10;
+
+    private static final int BITS = 6;
+
+    private static final int SLOTS = 1 << BITS;
+
+    private static final int MASK = SLOTS - 1;
+
+    private static final int LEVELS = 4;
+
+    private final Supplier<Long> clock;
+
+    private final Supplier<ScheduledExecutorService> scheduler;
+
+    private final Timeout[][] buckets = new Timeout[LEVELS][SLOTS];
+
+    private long currentTick; // last processed tick
+
+    private int size;
+
+    private ScheduledFuture<?> wakeUp;
+
+    private long wakeUpTick = Long.MAX_VALUE;
+
+    TimerWheel(final Supplier<Long> clock, final Supplier<ScheduledExecutorService> scheduler) {
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param deadline the timestamp (in the clock unit, milliseconds) to run the task at.
+     * @param task the task to run.
+     * @return the timeout which can be cancelled.
+     */
+    synchronized Timeout schedule(final long deadline, final Runnable task) {
+        if (size == 0) { // nothing to process so jump to the current time
+            currentTick = clock.get() / TICK_MS;
+        }
+        final Timeout timeout = new Timeout(this, (deadline + TICK_MS - 1) / TICK_MS, task);
+        add(timeout, currentTick + 1);
+        size++;
+
+        final long base = currentTick >>> (BITS * timeout.level);
+        final int offset = (int) ((timeout.slot - base) & MASK);
+        final long due = (base + (offset == 0 ? SLOTS : offset)) << (BITS * timeout.level);
+        if (due < wakeUpTick) {
+            arm(due);
+        }
+        return timeout;
+    }
+
+    synchronized void cancel(final Timeout timeout) {
+        if (timeout.level < 0) {
+            return;
+        }
+        unlink(timeout);
+        size--;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void clear() {
+        for (final Timeout[] level : buckets) {
+            for (int i = 0; i < SLOTS; i++) {
+                for (Timeout timeout = level[i]; timeout != null; timeout = timeout.next) {
+                    timeout.level = -1;
+                }
+                level[i] = null;
+            }
+        }
+        size = 0;
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        wakeUpTick = Long.MAX_VALUE;
+    }
+
+    /**
+     * Runs the tasks of the expired timeouts, it is called by the scheduled task but can be called directly.
+     */
+    void advance() {
+        final List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            wakeUp = null;
+            wakeUpTick = Long.MAX_VALUE;
+            final long now = clock.get() / TICK_MS;
+            while (size > 0 && currentTick < now) {
+                currentTick++;
+                cascade();
+                final int slot = (int) (currentTick & MASK);
+                for (Timeout timeout = buckets[0][slot]; timeout != null; timeout = timeout.next) {
+                    timeout.level = -1;
+                    expired.add(timeout);
+                    size--;
+                }
+                buckets[0][slot] = null;
+            }
+            if (size == 0) {
+                currentTick = Math.max(currentTick, now);
+            } else {
+                arm(nextWakeUp());
+            }
+        }
+        expired.forEach(timeout -> {
+            try {
+                timeout.task.run();
+            } catch (final RuntimeException re) {
+                log.warn(re.getMessage(), re);
+            }
+        });
+    }
+
+    /**
+     * Moves the timeouts of the upper level buckets reached by the current tick to the lower levels.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) != 0) {
+                return;
+            }
+            final int slot = (int) ((currentTick >>> (BITS * level)) & MASK);
+            Timeout timeout = buckets[level][slot];
+            buckets[level][slot] = null;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                add(timeout, currentTick);
+                timeout = next;
+            }
+        }
+    }
+
+    private void add(final Timeout timeout, final long minTick) {
+        final long ticks = Math.max(timeout.ticks, minTick);
+        final long delta = ticks - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        // beyond the wheel, the timeout is put in the last bucket and re-added when it cascades
+        final long placed = Math.min(ticks, currentTick + (1L << (BITS * LEVELS)) - 1);
+        timeout.level = level;
+        timeout.slot = (int) ((placed >>> (BITS * level)) & MASK);
+        timeout.previous = null;
+        timeout.next = buckets[level][timeout.slot];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        buckets[level][timeout.slot] = timeout;
+    }
+
+    private void unlink(final Timeout timeout) {
+        if (timeout.previous == null) {
+            buckets[timeout.level][timeout.slot] = timeout.next;
+        } else {
+            timeout.previous.next = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.level = -1;
+        timeout.previous = null;
+        timeout.next = null;
+    }
+
+    private long nextWakeUp() {
+        long due = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            final long base = currentTick >>> (BITS * level);
+            for (int offset = 1; offset <= SLOTS; offset++) {
+                if (buckets[level][(int) ((base + offset) & MASK)] != null) {
+                    due = Math.min(due, (base + offset) << (BITS * level));
+                    break;
+                }
+            }
+        }
+        return due;
+    }
+
+    private void arm(final long tick) {
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpTick = tick;
+        wakeUp = scheduler
+                .get()
+                .schedule(this::advance, Math.max(0, tick * TICK_MS - clock.get()), TimeUnit.MILLISECONDS);
+    }
+
+    static class Timeout {
+
+        private final TimerWheel wheel;
+
+        private final long ticks;
+
+        private final Runnable task;
+
+        private int level = -1;
+
+        private int slot;
+
+        private Timeout previous;
+
+        private Timeout next;
+
+        private Timeout(final TimerWheel wheel, final long ticks, final Runnable task) {
+            this.wheel = wheel;
+            this.ticks = ticks;
+            this.task = task;
+        }
+
+        void cancel() {
+            wheel.cancel(this);
+        }
+    }
+}
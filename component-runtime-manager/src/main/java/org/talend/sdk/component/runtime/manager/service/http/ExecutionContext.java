@@ -31,7 +31,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.talend.sdk.component.api.service.http.Configurer;
 import org.talend.sdk.component.api.service.http.Decoder;
@@ -56,7 +59,40 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
 
     private final Map<String, Decoder> decoders;
 
+    private final HttpTransport transport;
+
+    // null for blocking methods, otherwise the method returns a CompletionStage completed on this executor
+    private final Executor asyncExecutor;
+
+    // null when the body is not decoded while it is read (Iterator, Stream)
+    private final Function<InputStream, Object> streamDecoder;
+
+    public ExecutionContext(final HttpRequestCreator requestCreator, final Type responseType,
+            final boolean isResponse, final Map<String, Decoder> decoders) {
+        this(requestCreator, responseType, isResponse, decoders, null, null, null);
+    }
+
     public Object apply(final String base, final Object[] params) {
+        if (asyncExecutor != null) {
+            return applyAsync(base, params);
+        }
+        if (transport != null) {
+            return send(requestCreator.apply(base, params));
+        }
+        return execute(base, params);
+    }
+
+    private CompletableFuture<Object> applyAsync(final String base, final Object[] params) {
+        if (transport == null) { // HttpURLConnection is blocking so just move the call to the executor
+            return CompletableFuture.supplyAsync(() -> execute(base, params), asyncExecutor);
+        }
+        return CompletableFuture
+                .supplyAsync(() -> requestCreator.apply(base, params), asyncExecutor)
+                .thenCompose(request -> transport.sendAsync(request, asyncExecutor))
+                .thenApplyAsync(this::onResponse, asyncExecutor);
+    }
+
+    private Object execute(final String base, final Object[] params) {
         HttpURLConnection urlConnection = null;
         try {
             final HttpRequest request = requestCreator.apply(base, params);
@@ -89,12 +125,12 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
             final byte[] response;
             try {
                 final InputStream inputStream = urlConnection.getInputStream();
-                if (getResponseType() == InputStream.class) {
+                if (isStreaming()) {
                     if (isResponse()) {
-                        return new InputStreamResponse(responseCode, PassthroughDecoder.INSTANCE,
-                                headers(urlConnection), null, inputStream);
+                        return new StreamResponse<>(responseCode, PassthroughDecoder.INSTANCE,
+                                headers(urlConnection), null, toStream(inputStream));
                     }
-                    return inputStream;
+                    return toStream(inputStream);
                 }
                 response = slurp(inputStream, urlConnection.getContentLength());
                 if (!isResponse()) {
@@ -131,6 +167,55 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         }
     }
 
+    private Object send(final HttpRequest request) {
+        try {
+            return onResponse(transport.send(request));
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object onResponse(final HttpTransport.Exchange exchange) {
+        final int responseCode = exchange.status();
+        final Map<String, List<String>> headers = exchange.headers();
+        final Decoder decoder = byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
+                : new CodecMatcher<Decoder>()
+                        .select(getDecoders(),
+                                ofNullable(headers.get("content-type"))
+                                        .filter(it -> !it.isEmpty())
+                                        .map(it -> it.get(0))
+                                        .orElse(null));
+        if (responseCode >= HttpURLConnection.HTTP_BAD_REQUEST) {
+            final Response<Object> errorResponse =
+                    new ResponseImpl(responseCode, decoder, headers, slurp(exchange.body(), -1), null,
+                            getResponseType());
+            if (isResponse()) {
+                return errorResponse;
+            }
+            throw new HttpException(errorResponse);
+        }
+        if (isStreaming()) {
+            if (isResponse()) {
+                return new StreamResponse<>(responseCode, PassthroughDecoder.INSTANCE, headers, null,
+                        toStream(exchange.body()));
+            }
+            return toStream(exchange.body());
+        }
+        final byte[] response = slurp(exchange.body(), -1);
+        if (!isResponse()) {
+            return byte[].class == getResponseType() ? response : decoder.decode(response, getResponseType());
+        }
+        return new ResponseImpl(responseCode, decoder, headers, null, response, getResponseType());
+    }
+
+    private boolean isStreaming() {
+        return streamDecoder != null || getResponseType() == InputStream.class;
+    }
+
+    private Object toStream(final InputStream inputStream) {
+        return streamDecoder == null ? inputStream : streamDecoder.apply(inputStream);
+    }
+
     private static byte[] slurp(final InputStream responseStream, final int len) {
         final byte[] buffer = new byte[8192];
         final ByteArrayOutputStream responseBuffer = new ByteArrayOutputStream(len > 0 ? len : buffer.length);
@@ -259,19 +344,19 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         }
     }
 
-    private static class InputStreamResponse<T> extends BaseResponse<InputStream> {
+    private static class StreamResponse<T> extends BaseResponse<T> {
 
-        private final InputStream inputStream;
+        private final T stream;
 
-        private InputStreamResponse(final int status, final Decoder decoder, final Map<String, List<String>> headers,
-                final byte[] error, final InputStream inputStream) {
+        private StreamResponse(final int status, final Decoder decoder, final Map<String, List<String>> headers,
+                final byte[] error, final T stream) {
             super(status, decoder, headers, error);
-            this.inputStream = inputStream;
+            this.stream = stream;
         }
 
         @Override
-        public InputStream body() {
-            return inputStream;
+        public T body() {
+            return stream;
         }
     }
 
@@ -15,6 +15,8 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http;
 
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Stream.of;
@@ -29,25 +31,35 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.json.bind.Jsonb;
 
+import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 import org.talend.sdk.component.api.service.http.HttpClient;
 import org.talend.sdk.component.api.service.http.HttpClientFactory;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.runtime.manager.proxy.SerializationHandlerReplacer;
 import org.talend.sdk.component.runtime.manager.reflect.Copiable;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
+import org.talend.sdk.component.runtime.manager.util.MemoizingSupplier;
 import org.talend.sdk.component.runtime.reflect.Defaults;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @AllArgsConstructor
 public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
 
@@ -59,6 +71,10 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
 
     private final Map<Class<?>, Object> services;
 
+    private final Supplier<Optional<HttpTransport>> transport = new MemoizingSupplier<>(this::createTransport);
+
+    private final Supplier<Executor> asyncExecutor = new MemoizingSupplier<>(this::createAsyncExecutor);
+
     public static <T> Collection<String> createErrors(final Class<T> api) {
         final Collection<String> errors = new ArrayList<>();
         final Collection<Method> methods =
@@ -82,8 +98,8 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
             throw new IllegalArgumentException(api + " is not an interface");
         }
         validate(api);
-        final HttpHandler handler =
-                new HttpHandler(api.getName(), plugin, new RequestParser(reflections, jsonb, services));
+        final HttpHandler handler = new HttpHandler(api.getName(), plugin,
+                new RequestParser(reflections, jsonb, services, transport.get().orElse(null), asyncExecutor));
         final T instance = api
                 .cast(Proxy
                         .newProxyInstance(api.getClassLoader(),
@@ -104,6 +120,63 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
         }
     }
 
+    private Optional<HttpTransport> createTransport() {
+        final LocalConfiguration configuration = LocalConfiguration.class.cast(services.get(LocalConfiguration.class));
+        if (configuration == null || !"jdk".equalsIgnoreCase(
+                ofNullable(configuration.get("talend.component.manager.http.client.transport")).orElse("").trim())) {
+            return Optional.empty();
+        }
+        // probed before loading JdkHttpTransport which links java.net.http and isn't compiled on java 8
+        try {
+            Class.forName("java.net.http.HttpClient");
+        } catch (final ClassNotFoundException | LinkageError e) {
+            log.warn("java.net.http is not available, falling back on HttpURLConnection for plugin {}", plugin);
+            return Optional.empty();
+        }
+        final String version =
+                ofNullable(configuration.get("talend.component.manager.http.client.version")).orElse("HTTP_2");
+        final int maxConnections =
+                intValue(configuration, "talend.component.manager.http.client.maxConnections", -1);
+        final int connectTimeout =
+                intValue(configuration, "talend.component.manager.http.client.connectTimeout", -1);
+        final int requestTimeout =
+                intValue(configuration, "talend.component.manager.http.client.requestTimeout", -1);
+        try {
+            return Optional
+                    .of(HttpTransport.class
+                            .cast(Class
+                                    .forName(HttpClientFactoryImpl.class.getPackage().getName() + ".JdkHttpTransport")
+                                    .getConstructor(String.class, int.class, int.class, int.class)
+                                    .newInstance(version, maxConnections, connectTimeout, requestTimeout)));
+        } catch (final InvocationTargetException e) {
+            throw toRuntimeException(e);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't create the java.net.http transport for plugin " + plugin, e);
+        }
+    }
+
+    // threads only live while requests are running, they block only with the HttpURLConnection transport
+    private Executor createAsyncExecutor() {
+        final int threads = ofNullable(LocalConfiguration.class.cast(services.get(LocalConfiguration.class)))
+                .map(c -> intValue(c, "talend.component.manager.http.client.asyncThreads", -1))
+                .filter(it -> it > 0)
+                .orElseGet(() -> Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        final String prefix = plugin + "-http-client-";
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(threads, threads, 1, MINUTES, new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static int intValue(final LocalConfiguration configuration, final String key, final int defaultValue) {
+        return ofNullable(configuration.get(key)).map(String::trim).map(Integer::parseInt).orElse(defaultValue);
+    }
+
     Object writeReplace() throws ObjectStreamException {
         return new SerializableService(plugin, HttpClientFactory.class.getName());
     }
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends the requests built from the {@code @Request} methods.
+ * When no transport is set the {@link ExecutionContext} uses {@link java.net.HttpURLConnection}.
+ */
+public interface HttpTransport {
+
+    /**
+     * @param request the request to send, its configurer is not yet applied.
+     * @return the response, its body must be closed by the caller.
+     * @throws IOException if the exchange fails.
+     */
+    Exchange send(HttpRequest request) throws IOException;
+
+    /**
+     * Sends the request without blocking the caller, by default it runs {@link #send(HttpRequest)} on the executor.
+     *
+     * @param request the request to send, its configurer is not yet applied.
+     * @param executor the executor of the asynchronous {@code @Request} methods.
+     * @return the response, its body must be closed by the caller.
+     */
+    default CompletionStage<Exchange> sendAsync(final HttpRequest request, final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(request);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    interface Exchange {
+
+        int status();
+
+        /**
+         * @return the response headers, keys are case insensitive.
+         */
+        Map<String, List<String>> headers();
+
+        InputStream body();
+    }
+}
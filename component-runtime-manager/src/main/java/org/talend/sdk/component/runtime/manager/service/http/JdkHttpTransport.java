@@ -0,0 +1,355 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Arrays.asList;
+import static java.util.Locale.ROOT;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.talend.sdk.component.api.service.http.Configurer;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link HttpTransport} relying on the {@code java.net.http} client (java 11+): connections are pooled and
+ * multiplexed when the server speaks HTTP/2.
+ * Clients are shared per connect timeout and redirect policy since the JDK only supports them at client level.
+ */
+@Slf4j
+public class JdkHttpTransport implements HttpTransport {
+
+    // headers the JDK client computes itself and rejects when set explicitly
+    private static final Collection<String> RESTRICTED_HEADERS =
+            new HashSet<>(asList("connection", "content-length", "expect", "host", "upgrade"));
+
+    private final HttpClient.Version version;
+
+    private final Semaphore permits;
+
+    private final int connectTimeout;
+
+    private final int requestTimeout;
+
+    private final ConcurrentMap<ClientKey, HttpClient> clients = new ConcurrentHashMap<>();
+
+    // asynchronous sends waiting for a permit, started when one is released instead of blocking a thread
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param version the preferred protocol version, the client falls back on HTTP/1.1 if the server does not
+     * support HTTP/2.
+     * @param maxConnections the maximum number of concurrent exchanges, negative or zero means unbounded.
+     * @param connectTimeout the default connect timeout in milliseconds, negative or zero means the JDK default.
+     * @param requestTimeout the default request timeout in milliseconds, negative or zero means no timeout.
+     */
+    public JdkHttpTransport(final String version, final int maxConnections, final int connectTimeout,
+            final int requestTimeout) {
+        this.version = HttpClient.Version.valueOf(version.toUpperCase(ROOT).replace('/', '_').replace('.', '_'));
+        this.permits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public Exchange send(final HttpRequest request) throws IOException {
+        final Prepared prepared = prepare(request);
+        acquire();
+        try {
+            final HttpResponse<InputStream> response =
+                    prepared.client.send(prepared.request, HttpResponse.BodyHandlers.ofInputStream());
+            return new JdkExchange(response.statusCode(), headers(response), new ReleasingInputStream(response.body()));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (final IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletionStage<Exchange> sendAsync(final HttpRequest request, final Executor executor) {
+        final Prepared prepared = prepare(request);
+        final CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        if (permits == null) {
+            sendAsync(prepared, result);
+        } else {
+            pending.add(() -> {
+                try {
+                    executor.execute(() -> sendAsync(prepared, result));
+                } catch (final RuntimeException e) {
+                    release();
+                    result.completeExceptionally(e);
+                }
+            });
+            startPending();
+        }
+        return result
+                .<Exchange> thenApply(response -> new JdkExchange(response.statusCode(), headers(response),
+                        new ByteArrayInputStream(response.body())));
+    }
+
+    // the body is buffered to not block a thread while it is read, the permit is released once it is received
+    private void sendAsync(final Prepared prepared, final CompletableFuture<HttpResponse<byte[]>> result) {
+        try {
+            prepared.client
+                    .sendAsync(prepared.request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        release();
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            result.complete(response);
+                        }
+                    });
+        } catch (final RuntimeException e) {
+            release();
+            result.completeExceptionally(e);
+        }
+    }
+
+    // called after a send is queued and after a permit is released so a queued send can't miss a free permit
+    private void startPending() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            final Runnable next = pending.poll();
+            if (next == null) { // taken by a concurrent caller
+                permits.release();
+            } else {
+                next.run();
+            }
+        }
+    }
+
+    private Prepared prepare(final HttpRequest request) {
+        final String queryParams = String.join("&", request.getQueryParams());
+        final JdkConnection connection = new JdkConnection(request.getMethodType(),
+                request.getUrl() + (queryParams.isEmpty() ? "" : "?" + queryParams), request.getBody().orElse(null));
+        request.getHeaders().forEach(connection::withHeader);
+        connection.connectTimeout = connectTimeout;
+        connection.readTimeout = requestTimeout;
+        if (request.getConfigurer() != null) {
+            request.getConfigurer().configure(connection, request.getConfigurationOptions());
+        }
+
+        final java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest
+                .newBuilder(URI.create(connection.url))
+                .method(connection.method,
+                        connection.payload == null ? java.net.http.HttpRequest.BodyPublishers.noBody()
+                                : java.net.http.HttpRequest.BodyPublishers.ofByteArray(connection.payload));
+        connection.headers.forEach((name, values) -> {
+            if (RESTRICTED_HEADERS.contains(name.toLowerCase(ROOT))) {
+                log.debug("Ignoring header '{}', it is handled by the HTTP client", name);
+                return;
+            }
+            values.forEach(value -> builder.header(name, value));
+        });
+        if (connection.readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(connection.readTimeout));
+        }
+
+        return new Prepared(clients
+                .computeIfAbsent(new ClientKey(connection.connectTimeout, connection.followRedirects),
+                        this::newClient),
+                builder.build());
+    }
+
+    private static Map<String, List<String>> headers(final HttpResponse<?> response) {
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers().map());
+        return headers;
+    }
+
+    private HttpClient newClient(final ClientKey key) {
+        final HttpClient.Builder builder = HttpClient
+                .newBuilder()
+                .version(version)
+                .followRedirects(key.followRedirects ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER);
+        if (key.connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(key.connectTimeout));
+        }
+        return builder.build();
+    }
+
+    private void acquire() throws InterruptedIOException {
+        if (permits == null) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    private void release() {
+        if (permits != null) {
+            permits.release();
+            startPending();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Prepared {
+
+        private final HttpClient client;
+
+        private final java.net.http.HttpRequest request;
+    }
+
+    @Data
+    private static class ClientKey {
+
+        private final int connectTimeout;
+
+        private final boolean followRedirects;
+    }
+
+    @RequiredArgsConstructor
+    private static class JdkExchange implements Exchange {
+
+        private final int status;
+
+        private final Map<String, List<String>> headers;
+
+        private final InputStream body;
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return headers;
+        }
+
+        @Override
+        public InputStream body() {
+            return body;
+        }
+    }
+
+    // the permit is held until the body is consumed
+    private class ReleasingInputStream extends FilterInputStream {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingInputStream(final InputStream delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class JdkConnection implements Configurer.Connection {
+
+        private final String method;
+
+        private final String url;
+
+        private final byte[] payload;
+
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        private int readTimeout;
+
+        private int connectTimeout;
+
+        private boolean followRedirects = true;
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getUrl() {
+            return url;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        @Override
+        public Configurer.Connection withHeader(final String name, final String value) {
+            headers.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+            return this;
+        }
+
+        @Override
+        public Configurer.Connection withReadTimeout(final int timeout) {
+            readTimeout = timeout;
+            return this;
+        }
+
+        @Override
+        public Configurer.Connection withConnectionTimeout(final int timeout) {
+            connectTimeout = timeout;
+            return this;
+        }
+
+        @Override
+        public Configurer.Connection withoutFollowRedirects() {
+            followRedirects = false;
+            return this;
+        }
+    }
+}
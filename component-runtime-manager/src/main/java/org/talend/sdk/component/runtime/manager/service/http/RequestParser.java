@@ -25,6 +25,7 @@ import static java.util.stream.Stream.empty;
 import static java.util.stream.Stream.of;
 import static org.talend.sdk.component.runtime.base.lang.exception.InvocationExceptionWrapper.toRuntimeException;
 
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -38,17 +39,27 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import javax.json.Json;
+import javax.json.JsonValue;
 import javax.json.bind.Jsonb;
+import javax.json.stream.JsonParserFactory;
 
+import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.http.Base;
 import org.talend.sdk.component.api.service.http.Codec;
 import org.talend.sdk.component.api.service.http.Configurer;
@@ -67,12 +78,15 @@ import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.api.service.http.Url;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.manager.reflect.Constructors;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.service.MediaTypeComparator;
 import org.talend.sdk.component.runtime.manager.service.http.codec.CodecMatcher;
+import org.talend.sdk.component.runtime.manager.service.http.codec.JsonStreamDecoder;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpDecoder;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpEncoder;
+import org.talend.sdk.component.runtime.record.RecordConverters;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -90,6 +104,10 @@ public class RequestParser {
     interface InstanceCreator {
 
         <T> T buildNew(Class<? extends T> realClass);
+
+        default <T> T findService(final Class<T> type) {
+            return null;
+        }
     }
 
     @AllArgsConstructor
@@ -112,22 +130,46 @@ public class RequestParser {
                 throw toRuntimeException(e);
             }
         }
+
+        @Override
+        public <T> T findService(final Class<T> type) {
+            return type.cast(services.get(type));
+        }
     }
 
+    private final Jsonb jsonb;
+
     private final Encoder jsonpEncoder;
 
     private final Decoder jsonpDecoder;
 
     private final JAXBManager jaxb = JAXB.ACTIVE ? new JAXBManager() : null;
 
+    private final HttpTransport transport;
+
+    private final Supplier<Executor> asyncExecutor;
+
     private volatile CodecMatcher<Encoder> codecMatcher = new CodecMatcher<>();
 
     public RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services) {
-        this(new ReflectionInstanceCreator(reflections, services), jsonb);
+        this(reflections, jsonb, services, null, ForkJoinPool::commonPool);
+    }
+
+    public RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services,
+            final HttpTransport transport, final Supplier<Executor> asyncExecutor) {
+        this(new ReflectionInstanceCreator(reflections, services), jsonb, transport, asyncExecutor);
     }
 
     public RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb) {
+        this(instanceCreator, jsonb, null, ForkJoinPool::commonPool);
+    }
+
+    public RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb, final HttpTransport transport,
+            final Supplier<Executor> asyncExecutor) {
         this.instanceCreator = instanceCreator;
+        this.transport = transport;
+        this.asyncExecutor = asyncExecutor;
+        this.jsonb = jsonb;
         this.jsonpEncoder = new JsonpEncoder(jsonb);
         this.jsonpDecoder = new JsonpDecoder(jsonb);
     }
@@ -204,10 +246,21 @@ public class RequestParser {
             }
         }
 
-        final boolean isResponse = method.getReturnType() == Response.class;
-        final Type responseType =
-                isResponse ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
+        final boolean isAsync =
+                method.getReturnType() == CompletionStage.class || method.getReturnType() == CompletableFuture.class;
+        if (isAsync && !ParameterizedType.class.isInstance(method.getGenericReturnType())) {
+            throw new IllegalArgumentException(method + " must define the type of its CompletionStage");
+        }
+        final Type returnType =
+                isAsync ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
                         : method.getReturnType();
+        final boolean isResponse = returnType == Response.class || (ParameterizedType.class.isInstance(returnType)
+                && ParameterizedType.class.cast(returnType).getRawType() == Response.class);
+        final Type responseType = !isResponse ? returnType
+                : ParameterizedType.class.cast(isAsync ? returnType : method.getGenericReturnType())
+                        .getActualTypeArguments()[0];
+        final Function<InputStream, Object> streamDecoder = createStreamDecoder(method,
+                isResponse || isAsync ? responseType : method.getGenericReturnType());
         final Integer httpMethodIndex = httpMethod;
         final Function<Object[], String> httpMethodProvider = params -> httpMethodIndex == null ? request.method()
                 : ofNullable(params[httpMethodIndex]).map(String::valueOf).orElse(request.method());
@@ -222,7 +275,41 @@ public class RequestParser {
 
         return new ExecutionContext(new HttpRequestCreator(httpMethodProvider, urlProvider, baseProvider, pathTemplate,
                 pathProvider, queryParamsProvider, headersProvider, payloadProvider, configurerInstance,
-                configurerOptionsProvider), responseType, isResponse, decoders);
+                configurerOptionsProvider), responseType, isResponse, decoders, transport,
+                isAsync ? asyncExecutor.get() : null, streamDecoder);
+    }
+
+    private Function<InputStream, Object> createStreamDecoder(final Method method, final Type responseType) {
+        final Type rawType = ParameterizedType.class.isInstance(responseType)
+                ? ParameterizedType.class.cast(responseType).getRawType()
+                : responseType;
+        if (Iterator.class != rawType && Stream.class != rawType) {
+            return null;
+        }
+        if (!ParameterizedType.class.isInstance(responseType)) {
+            throw new IllegalArgumentException(method + " must define the type of the elements it returns");
+        }
+        final Type elementType = ParameterizedType.class.cast(responseType).getActualTypeArguments()[0];
+        final JsonParserFactory parserFactory = ofNullable(instanceCreator.findService(JsonParserFactory.class))
+                .orElseGet(() -> Json.createParserFactory(emptyMap()));
+        return new JsonStreamDecoder(parserFactory, Class.class.cast(rawType), createElementMapper(elementType));
+    }
+
+    private Function<JsonValue, Object> createElementMapper(final Type elementType) {
+        if (Class.class.isInstance(elementType) && JsonValue.class.isAssignableFrom(Class.class.cast(elementType))) {
+            final Class<?> jsonType = Class.class.cast(elementType);
+            return jsonType::cast;
+        }
+        if (Record.class == elementType) {
+            final RecordBuilderFactory factory = instanceCreator.findService(RecordBuilderFactory.class);
+            if (factory == null) {
+                throw new IllegalStateException("No RecordBuilderFactory available to create records");
+            }
+            final RecordConverters converters = new RecordConverters();
+            final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+            return value -> converters.toRecord(registry, value.asJsonObject(), () -> jsonb, () -> factory);
+        }
+        return value -> jsonb.fromJson(value.toString(), elementType);
     }
 
     private BiFunction<String, Object[], Optional<byte[]>> buildPayloadProvider(final Map<String, Encoder> encoders,
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.codec;
+
+import static java.util.Spliterator.ORDERED;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Decodes a JSON array response while it is consumed: elements are parsed one by one from the response stream
+ * so the memory does not depend on the payload size. The response is released once the last element is read
+ * or when the returned {@link Stream} or {@link Iterator} (which is {@link AutoCloseable}) is closed.
+ */
+@AllArgsConstructor
+public class JsonStreamDecoder implements Function<InputStream, Object> {
+
+    private final JsonParserFactory parserFactory;
+
+    // Iterator or Stream
+    private final Class<?> containerType;
+
+    private final Function<JsonValue, Object> elementMapper;
+
+    @Override
+    public Object apply(final InputStream stream) {
+        final ElementIterator iterator = new ElementIterator(parserFactory.createParser(stream), elementMapper);
+        if (Stream.class == containerType) {
+            return StreamSupport
+                    .stream(Spliterators.spliteratorUnknownSize(iterator, ORDERED), false)
+                    .onClose(iterator::close);
+        }
+        return iterator;
+    }
+
+    private static class ElementIterator implements Iterator<Object>, AutoCloseable {
+
+        private final JsonParser parser;
+
+        private final Function<JsonValue, Object> elementMapper;
+
+        private boolean started;
+
+        private boolean closed;
+
+        private boolean ready;
+
+        private Object next;
+
+        private ElementIterator(final JsonParser parser, final Function<JsonValue, Object> elementMapper) {
+            this.parser = parser;
+            this.elementMapper = elementMapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (ready) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!started) {
+                    started = true;
+                    if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                        throw new IllegalStateException("Expected a JSON array");
+                    }
+                }
+                if (parser.next() == JsonParser.Event.END_ARRAY) {
+                    close();
+                    return false;
+                }
+                next = elementMapper.apply(parser.getValue());
+                ready = true;
+                return true;
+            } catch (final RuntimeException re) {
+                close();
+                throw re;
+            }
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object value = next;
+            next = null;
+            ready = false;
+            return value;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                parser.close();
+            }
+        }
+    }
+}
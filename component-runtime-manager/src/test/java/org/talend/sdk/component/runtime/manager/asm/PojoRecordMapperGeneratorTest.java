@@ -0,0 +1,227 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.asm;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import javax.json.Json;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.spi.JsonbProvider;
+import javax.json.spi.JsonProvider;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.runtime.manager.json.TalendAccessMode;
+import org.talend.sdk.component.runtime.manager.service.DefaultServiceProvider;
+import org.talend.sdk.component.runtime.record.PojoRecordMapper;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+import org.talend.sdk.component.runtime.record.json.OutputRecordHolder;
+import org.talend.sdk.component.runtime.record.json.PojoJsonbProvider;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+class PojoRecordMapperGeneratorTest {
+
+    private final PojoRecordMapperGenerator generator = new PojoRecordMapperGenerator();
+
+    private final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void beanToRecord() {
+        final PojoRecordMapper mapper = generator.create(Bean.class);
+        assertNotNull(mapper);
+        assertSame(mapper, generator.create(Bean.class));
+
+        final Bean bean = new Bean();
+        bean.setName("bean");
+        bean.setCount(1);
+        bean.setBoxed(2);
+        bean.setTotal(3L);
+        bean.setRatio(1.5f);
+        bean.setAmount(2.5);
+        bean.setActive(true);
+        bean.setSmall((short) 4);
+        final Record record = mapper.toRecord(bean, factory);
+
+        // same names, order, types and skipped null values than the JSON-B mapping
+        assertEquals(toJsonbRecord(bean), record);
+
+        final Bean copy = Bean.class.cast(mapper.toPojo(record));
+        assertEquals(bean, copy);
+    }
+
+    @Test
+    void publicFieldsToRecord() {
+        final PublicFields fields = new PublicFields();
+        fields.value = "v";
+        fields.count = 3;
+        fields.ratio = 2.;
+        assertEquals(toJsonbRecord(fields), generator.create(PublicFields.class).toRecord(fields, factory));
+    }
+
+    @Test
+    void privateFieldsWithoutAccessor() {
+        // JSON-B maps the private fields too, the generated mapper would miss them
+        assertNull(generator.create(PrivateField.class));
+        final PrivateField pojo = new PrivateField();
+        pojo.setName("n");
+        assertEquals(asList("hidden", "name"),
+                toJsonbRecord(pojo)
+                        .getSchema()
+                        .getEntries()
+                        .stream()
+                        .map(Schema.Entry::getName)
+                        .sorted()
+                        .collect(toList()));
+    }
+
+    @Test
+    void accessorNameNotMatchingField() {
+        // getALong() is the bean property "ALong" but the field is "aLong"
+        assertNull(generator.create(DivergingNames.class));
+    }
+
+    @Test
+    void publicFields() {
+        final PojoRecordMapper mapper = generator.create(PublicFields.class);
+        assertNotNull(mapper);
+
+        final Record record = factory
+                .newRecordBuilder()
+                .withString("value", "v")
+                .withInt("count", 3)
+                .withInt("ratio", 2)
+                .withString("ignored", "no field")
+                .build();
+        final PublicFields fields = PublicFields.class.cast(mapper.toPojo(record));
+        assertEquals("v", fields.value);
+        assertEquals(3L, fields.count);
+        assertEquals(2., fields.ratio);
+
+        final Record back = mapper.toRecord(fields, factory);
+        assertEquals(3L, back.getLong("count"));
+        assertEquals(Schema.Type.DOUBLE, back.getSchema().getEntry("ratio").getType());
+    }
+
+    @Test
+    void incompatibleSchema() {
+        final PojoRecordMapper mapper = generator.create(PublicFields.class);
+        assertNull(mapper.toPojo(factory.newRecordBuilder().withString("count", "3").build()));
+        assertNotNull(mapper.toPojo(factory.newRecordBuilder().withLong("count", 3).build()));
+    }
+
+    @Test
+    void unsupportedTypes() {
+        assertNull(generator.create(String.class));
+        assertNull(generator.create(Annotated.class));
+        assertNull(generator.create(Nested.class));
+        assertNull(generator.create(NoDefaultConstructor.class));
+    }
+
+    private Record toJsonbRecord(final Object pojo) {
+        final Jsonb jsonb = Jsonb.class
+                .cast(new DefaultServiceProvider(null, JsonProvider.provider(), Json.createGeneratorFactory(emptyMap()),
+                        Json.createReaderFactory(emptyMap()), Json.createBuilderFactory(emptyMap()),
+                        Json.createParserFactory(emptyMap()), Json.createWriterFactory(emptyMap()),
+                        new JsonbConfig().setProperty("johnzon.accessModeDelegate", new TalendAccessMode()),
+                        JsonbProvider.provider(), null, null, emptyList(), t -> factory, null)
+                                .lookup(null, Thread.currentThread().getContextClassLoader(), null, null,
+                                        Jsonb.class, null, null));
+        final OutputRecordHolder holder = new OutputRecordHolder(pojo);
+        try (final OutputRecordHolder stream = holder) {
+            PojoJsonbProvider.class.cast(jsonb).get().toJson(pojo, stream);
+        }
+        return holder.getRecord();
+    }
+
+    @Data
+    public static class Bean {
+
+        private String name;
+
+        private int count;
+
+        private Integer boxed;
+
+        private long total;
+
+        private float ratio;
+
+        private double amount;
+
+        private boolean active;
+
+        private short small;
+
+        private String nullString;
+    }
+
+    @Data
+    public static class DivergingNames {
+
+        private long aLong;
+    }
+
+    public static class PrivateField {
+
+        private String hidden = "h";
+
+        @Getter
+        @Setter
+        private String name;
+    }
+
+    public static class PublicFields {
+
+        public String value;
+
+        public long count;
+
+        public Double ratio;
+    }
+
+    public static class Annotated {
+
+        @JsonbProperty("renamed")
+        public String value;
+    }
+
+    public static class Nested {
+
+        public Bean bean;
+    }
+
+    public static class NoDefaultConstructor {
+
+        public String value;
+
+        public NoDefaultConstructor(final String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.output.InputFactory;
+import org.talend.sdk.component.runtime.output.OutputFactory;
+import org.talend.sdk.component.runtime.output.Processor;
+
+class AdaptiveChunkSizeTest {
+
+    @Test
+    void targetLatency() {
+        final AdaptiveChunkSize size = new AdaptiveChunkSize(100, 10, 1000, 100, 1, () -> 0);
+        assertEquals(200, size.onChunk(0, MILLISECONDS.toNanos(10))); // at most doubled
+        assertEquals(400, size.onChunk(0, MILLISECONDS.toNanos(50)));
+        assertEquals(400, size.onChunk(0, MILLISECONDS.toNanos(90))); // close enough
+        assertEquals(200, size.onChunk(0, MILLISECONDS.toNanos(200)));
+        assertEquals(50, size.onChunk(0, MILLISECONDS.toNanos(1000))); // at most divided by 4
+        assertEquals(13, size.onChunk(0, MILLISECONDS.toNanos(1000)));
+        assertEquals(10, size.onChunk(0, MILLISECONDS.toNanos(1000))); // min
+        for (int i = 0; i < 10; i++) {
+            size.onChunk(0, 0);
+        }
+        assertEquals(1000, size.getChunkSize()); // max
+    }
+
+    @Test
+    void throughput() {
+        final AdaptiveChunkSize size = new AdaptiveChunkSize(100, 1, 1000, -1, 1, () -> 0);
+        assertEquals(150, size.onChunk(100, 0)); // 1 record/ns
+        assertEquals(225, size.onChunk(100, 0)); // better
+        assertEquals(150, size.onChunk(450, 0)); // worse: go back
+        assertEquals(100, size.onChunk(75, 0)); // better
+    }
+
+    @Test
+    void heapUsage() {
+        final AtomicReference<Double> usage = new AtomicReference<>(.9);
+        final AdaptiveChunkSize size = new AdaptiveChunkSize(100, 30, 1000, 100, .8, usage::get);
+        assertEquals(50, size.onChunk(0, 0));
+        assertEquals(30, size.onChunk(0, 0));
+        usage.set(.5);
+        assertEquals(60, size.onChunk(0, 0));
+    }
+
+    @Test
+    void autoChunkProcessor() {
+        final List<String> calls = new ArrayList<>();
+        final AutoChunkProcessor processor = new AutoChunkProcessor(
+                new AdaptiveChunkSize(2, 1, 8, 1000, 1, () -> 0), new Processor() {
+
+                    @Override
+                    public void beforeGroup() {
+                        calls.add("before");
+                    }
+
+                    @Override
+                    public void afterGroup(final OutputFactory output) {
+                        calls.add("after");
+                    }
+
+                    @Override
+                    public void onNext(final InputFactory input, final OutputFactory output) {
+                        calls.add("next");
+                    }
+
+                    @Override
+                    public String plugin() {
+                        return "test";
+                    }
+
+                    @Override
+                    public String rootName() {
+                        return "test";
+                    }
+
+                    @Override
+                    public String name() {
+                        return "test";
+                    }
+
+                    @Override
+                    public void start() {
+                        // no-op
+                    }
+
+                    @Override
+                    public void stop() {
+                        // no-op
+                    }
+                });
+        for (int i = 0; i < 6; i++) {
+            processor.onElement(null, null);
+        }
+        // fast flushes double the size: 2 then 4
+        assertEquals(8, processor.getChunkSize());
+        assertEquals("before,next,next,after,before,next,next,next,next,after", String.join(",", calls));
+    }
+}
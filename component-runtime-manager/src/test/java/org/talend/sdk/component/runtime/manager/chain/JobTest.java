@@ -189,6 +189,96 @@ class JobTest {
         }
     }
 
+    @Test
+    void multipleEmitSupportWithoutFusion(final TestInfo info, @TempDir final Path temporaryFolder) {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final String testLocation = temporaryFolder.getParent().getFileName().toString();
+        try (final ComponentManager manager = newTestManager(jar)) {
+            final Collection<JsonObject> outputs =
+                    InMemCollector.getShadedOutputs(manager.findPlugin(plugin).get().getLoader(), testLocation);
+            outputs.clear();
+            Job
+                    .components()
+                    .component("from", "single://input")
+                    .component("to", "chain://count?multiple=true")
+                    .component("end", "store://collect")
+                    .connections()
+                    .from("from")
+                    .to("to")
+                    .from("to")
+                    .to("end")
+                    .build()
+                    .property("chain.fusion", "false")
+                    .run();
+            assertEquals(asList(15, 30), outputs.stream().map(json -> json.getInt("cumulatedSize")).collect(toList()));
+        }
+    }
+
+    @Test
+    void fusedFanOut(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final File out1 = new File(temporaryFolder.toFile(), testName + "-out1.txt");
+        final File out2 = new File(temporaryFolder.toFile(), testName + "-out2.txt");
+        try (final ComponentManager ignored = newTestManager(jar)) {
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("outFile1",
+                            "file://out?__version=1&configuration.file=" + encode(out1.getAbsolutePath(), "utf-8"))
+                    .component("outFile2",
+                            "file://out?__version=1&configuration.file=" + encode(out2.getAbsolutePath(), "utf-8"))
+                    .connections()
+                    .from("users")
+                    .to("outFile1")
+                    .from("users")
+                    .to("outFile2")
+                    .build()
+                    .run();
+
+            assertEquals(asList("sophia", "emma", "liam", "ava"), Files.readAllLines(out1.toPath()));
+            assertEquals(asList("sophia", "emma", "liam", "ava"), Files.readAllLines(out2.toPath()));
+        }
+    }
+
+    @Test
+    void fusedAndJoinedBranch(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final File users = new File(temporaryFolder.toFile(), testName + "-users.txt");
+        final File joined = new File(temporaryFolder.toFile(), testName + "-joined.txt");
+        try (final ComponentManager ignored = newTestManager(jar)) {
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("address", "db://input?__version=1&tableName=address")
+                    .component("concat", "processor://concat?__version=1")
+                    .component("usersFile",
+                            "file://out?__version=1&configuration.file=" + encode(users.getAbsolutePath(), "utf-8"))
+                    .component("joinedFile",
+                            "file://out?__version=1&configuration.file=" + encode(joined.getAbsolutePath(), "utf-8"))
+                    .connections()
+                    .from("users")
+                    .to("usersFile")
+                    .from("users")
+                    .to("concat", "str1")
+                    .from("address")
+                    .to("concat", "str2")
+                    .from("concat")
+                    .to("joinedFile")
+                    .build()
+                    .run();
+
+            assertEquals(asList("sophia", "emma", "liam", "ava"), Files.readAllLines(users.toPath()));
+            assertEquals(asList("sophia paris", "emma nantes", "liam strasbourg", "ava lyon"),
+                    Files.readAllLines(joined.toPath()));
+        }
+    }
+
     @Test
     void defaultKeyProvider(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
         final String testName = info.getTestMethod().get().getName();
@@ -342,6 +432,78 @@ class JobTest {
         }
     }
 
+    @Test
+    void parallelExecutor(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final File out = new File(temporaryFolder.toFile(), testName + "-out.txt");
+
+        try (final ComponentManager manager = newTestManager(jar)) {
+
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("address", "db://input?__version=1&tableName=address")
+                    .component("salary", "db://input?__version=1&tableName=salary")
+                    .component("concat", "processor://concat?__version=1")
+                    .component("concat_2", "processor://concat?__version=1")
+                    .component("outFile",
+                            "file://out?__version=1&configuration.file=" + encode(out.getAbsolutePath(), "utf-8"))
+                    .connections()
+                    .from("users")
+                    .to("concat", "str1")
+                    .from("address")
+                    .to("concat", "str2")
+                    .from("concat")
+                    .to("concat_2", "str1")
+                    .from("salary")
+                    .to("concat_2", "str2")
+                    .from("concat_2")
+                    .to("outFile")
+                    .build()
+                    .property(Job.ExecutorBuilder.class.getName(), "parallel")
+                    .property("parallel.chunkSize", "3")
+                    .property("parallel.queueSize", "1")
+                    .run();
+
+            assertTrue(out.isFile());
+            assertEquals(asList("sophia paris 1900", "emma nantes 3055", "liam strasbourg 2600.30", "ava lyon 2000.5"),
+                    Files.readAllLines(out.toPath()));
+        }
+    }
+
+    @Test
+    void parallelExecutorLifecycle(final TestInfo info, @TempDir final Path temporaryFolder) {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        try (final ComponentManager manager = newTestManager(jar)) {
+            Job
+                    .components()
+                    .component("countdown", "lifecycle://countdown?__version=1&start=5")
+                    .component("square", "lifecycle://square?__version=1")
+                    .connections()
+                    .from("countdown")
+                    .to("square")
+                    .build()
+                    .property(Job.ExecutorBuilder.class.getName(), "parallel")
+                    .property("parallel.threads", "virtual")
+                    .property("streaming.maxRecords", "2")
+                    .run();
+
+            final LocalPartitionMapper mapper =
+                    LocalPartitionMapper.class.cast(manager.findMapper("lifecycle", "countdown", 1, emptyMap()).get());
+            assertEquals(asList("start", "produce(4)", "produce(3)", "stop"),
+                    ((Supplier<List<String>>) mapper.getDelegate()).get());
+
+            final ProcessorImpl processor =
+                    (ProcessorImpl) manager.findProcessor("lifecycle", "square", 1, emptyMap()).get();
+            assertEquals(asList("start", "beforeGroup", "onNext(4)", "afterGroup", "beforeGroup", "onNext(3)",
+                    "afterGroup", "stop"), ((Supplier<List<String>>) processor.getDelegate()).get());
+        }
+    }
+
     private ComponentManager newTestManager(final File jar) {
         return new ComponentManager(new File("target/fake-m2"), "TALEND-INF/dependencies.txt", null) {
 
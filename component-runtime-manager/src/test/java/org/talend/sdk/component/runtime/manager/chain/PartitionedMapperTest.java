@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+
+import lombok.RequiredArgsConstructor;
+
+class PartitionedMapperTest {
+
+    @Test
+    void split() {
+        final RangeMapper mapper = new RangeMapper(0, 1000);
+        assertEquals(1, PartitionedMapper.split(mapper, -1, 1).size());
+        assertEquals(4, PartitionedMapper.split(mapper, -1, 4).size());
+        assertEquals(10, PartitionedMapper.split(mapper, 100, 4).size());
+    }
+
+    @Test
+    void ordered() {
+        final RangeMapper mapper = new RangeMapper(0, 5000);
+        final List<Object> values = readAll(new PartitionedMapper(mapper, mapper.split(500), 3, true).create());
+        assertEquals(IntStream.range(0, 5000).boxed().collect(toList()), values);
+    }
+
+    @Test
+    void unordered() {
+        final RangeMapper mapper = new RangeMapper(0, 5000);
+        final List<Object> values = readAll(new PartitionedMapper(mapper, mapper.split(500), 4, false).create());
+        final List<Integer> sorted = values.stream().map(Integer.class::cast).sorted().collect(toList());
+        assertEquals(IntStream.range(0, 5000).boxed().collect(toList()), sorted);
+    }
+
+    @Test
+    void stopEarly() {
+        final RangeMapper mapper = new RangeMapper(0, 100_000);
+        final Input input = new PartitionedMapper(mapper, mapper.split(10_000), 4, false).create();
+        input.start();
+        assertEquals(10, input.nextBatch(10).size());
+        input.stop();
+    }
+
+    @Test
+    void readBeforeStart() {
+        final RangeMapper mapper = new RangeMapper(0, 1000);
+        final Input input = new PartitionedMapper(mapper, mapper.split(100), 2, true).create();
+        final IllegalStateException error = assertThrows(IllegalStateException.class, input::next);
+        assertTrue(error.getMessage().contains("before being started"), error.getMessage());
+        input.stop();
+    }
+
+    @Test
+    void failure() {
+        final RangeMapper mapper = new RangeMapper(0, 1000);
+        final List<Mapper> partitions = new ArrayList<>(mapper.split(100));
+        partitions.set(5, new RangeMapper(0, -1));
+        final Input input = new PartitionedMapper(mapper, partitions, 2, true).create();
+        input.start();
+        try {
+            final IllegalStateException error = assertThrows(IllegalStateException.class, () -> {
+                while (input.next() != null) {
+                    // no-op
+                }
+            });
+            assertTrue(error.getMessage().contains("invalid range"), error.getMessage());
+        } finally {
+            input.stop();
+        }
+    }
+
+    @Test
+    void timeout() {
+        final RangeMapper mapper = new RangeMapper(0, 1000);
+        final List<Mapper> partitions = new ArrayList<>(mapper.split(500));
+        partitions.add(new StuckMapper());
+        final List<Object> values = readAll(new PartitionedMapper(mapper, partitions, 3, false, null, 500).create());
+        final List<Integer> sorted = values.stream().map(Integer.class::cast).sorted().collect(toList());
+        assertEquals(IntStream.range(0, 1000).boxed().collect(toList()), sorted);
+    }
+
+    private List<Object> readAll(final Input input) {
+        input.start();
+        try {
+            final List<Object> values = new ArrayList<>();
+            List<Object> batch;
+            while (!(batch = input.nextBatch(7)).isEmpty()) {
+                assertTrue(batch.size() <= 7);
+                values.addAll(batch);
+            }
+            assertEquals(Collections.emptyList(), input.nextBatch(7));
+            return values;
+        } finally {
+            input.stop();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class RangeMapper implements Mapper {
+
+        private final int from;
+
+        private final int to;
+
+        @Override
+        public long assess() {
+            return to - from;
+        }
+
+        @Override
+        public List<Mapper> split(final long desiredSize) {
+            final List<Mapper> partitions = new ArrayList<>();
+            for (int start = from; start < to; start += desiredSize) {
+                partitions.add(new RangeMapper(start, (int) Math.min(to, start + desiredSize)));
+            }
+            return partitions;
+        }
+
+        @Override
+        public Input create() {
+            if (to < from) {
+                throw new IllegalStateException("invalid range");
+            }
+            return new Input() {
+
+                private int current = from;
+
+                @Override
+                public Object next() {
+                    return current < to ? current++ : null;
+                }
+
+                @Override
+                public String plugin() {
+                    return "test";
+                }
+
+                @Override
+                public String rootName() {
+                    return "test";
+                }
+
+                @Override
+                public String name() {
+                    return "range";
+                }
+
+                @Override
+                public void start() {
+                    // no-op
+                }
+
+                @Override
+                public void stop() {
+                    // no-op
+                }
+            };
+        }
+
+        @Override
+        public boolean isStream() {
+            return false;
+        }
+
+        @Override
+        public String plugin() {
+            return "test";
+        }
+
+        @Override
+        public String rootName() {
+            return "test";
+        }
+
+        @Override
+        public String name() {
+            return "range";
+        }
+
+        @Override
+        public void start() {
+            // no-op
+        }
+
+        @Override
+        public void stop() {
+            // no-op
+        }
+    }
+
+    // a partition which never ends, its read is only interrupted when the partitioned input stops
+    private static class StuckMapper extends RangeMapper {
+
+        private StuckMapper() {
+            super(0, 0);
+        }
+
+        @Override
+        public Input create() {
+            final Input range = super.create();
+            return new Input() {
+
+                @Override
+                public Object next() {
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                }
+
+                @Override
+                public String plugin() {
+                    return range.plugin();
+                }
+
+                @Override
+                public String rootName() {
+                    return range.rootName();
+                }
+
+                @Override
+                public String name() {
+                    return range.name();
+                }
+
+                @Override
+                public void start() {
+                    range.start();
+                }
+
+                @Override
+                public void stop() {
+                    range.stop();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class HashJoinTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void join(@TempDir final Path spill) {
+        try (final HashJoin join = new HashJoin(asList("left", "right"), 100, spill, factory)) {
+            join.add("left", "1", record("a"));
+            join.add("left", "2", record("b"));
+            join.add("left", "1", record("c"));
+            assertNull(join.poll());
+
+            join.add("right", "1", record("d"));
+            final Map<String, Collection<Record>> group = join.poll();
+            assertEquals(asList("a", "c"), values(group.get("left")));
+            assertEquals(asList("d"), values(group.get("right")));
+            assertNull(join.poll());
+
+            // a new group starts once a key was matched
+            join.add("right", "1", record("e"));
+            assertNull(join.poll());
+            assertFalse(join.restore());
+        }
+    }
+
+    @Test
+    void spill(@TempDir final Path spill) throws IOException {
+        final List<String> joined = new ArrayList<>();
+        try (final HashJoin join = new HashJoin(asList("left", "right"), 10, spill, factory)) {
+            for (int i = 0; i < 100; i++) {
+                join.add("left", Integer.toString(i), record("l" + i));
+            }
+            assertTrue(join.getSpilledRecords() > 0);
+            assertTrue(listFiles(spill) > 0);
+            for (int i = 0; i < 100; i++) {
+                join.add("right", Integer.toString(i), record("r" + i));
+                collect(join, joined);
+            }
+            while (join.restore()) {
+                collect(join, joined);
+            }
+            assertEquals(0, join.getSpilledRecords());
+        }
+        assertEquals(0, listFiles(spill));
+        assertEquals(100, joined.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(joined.contains("l" + i + "/r" + i), joined::toString);
+        }
+    }
+
+    @Test
+    void spillRoundTrip(@TempDir final Path spill) {
+        final char[] chars = new char[70_000]; // over the 64KB of DataOutput#writeUTF
+        Arrays.fill(chars, 'k');
+        final String longKey = new String(chars);
+        final ZoneId utc = ZoneId.of("UTC");
+        // right value to joined left record
+        final Map<String, Record> lefts = new HashMap<>();
+        final Map<String, Record> joined = new HashMap<>();
+        try (final HashJoin join = new HashJoin(asList("left", "right"), 1, spill, factory)) {
+            for (int i = 0; i < 20; i++) {
+                final String key = longKey + i;
+                final Record left = factory
+                        .newRecordBuilder()
+                        .withString("value", "l" + i)
+                        .withDateTime("date", ZonedDateTime.of(2024, 1, 1, 0, 0, i, 0, utc))
+                        .withArray(factory
+                                .newEntryBuilder()
+                                .withName("dates")
+                                .withType(Schema.Type.ARRAY)
+                                .withElementSchema(factory.newSchemaBuilder(Schema.Type.DATETIME).build())
+                                .build(),
+                                asList(ZonedDateTime.of(2024, 1, 2, 3, 4, 5, i * 1_000_000, utc), null))
+                        .build();
+                lefts.put("r" + i, left);
+                join.add("left", key, left);
+            }
+            assertTrue(join.getSpilledRecords() > 0);
+            for (int i = 0; i < 20; i++) {
+                join.add("right", longKey + i, record("r" + i));
+                collectLefts(join, joined);
+            }
+            while (join.restore()) {
+                collectLefts(join, joined);
+            }
+        }
+        assertEquals(lefts, joined);
+    }
+
+    private void collectLefts(final HashJoin join, final Map<String, Record> joined) {
+        for (Map<String, Collection<Record>> group = join.poll(); group != null; group = join.poll()) {
+            joined.put(group.get("right").iterator().next().getString("value"), group.get("left").iterator().next());
+        }
+    }
+
+    private void collect(final HashJoin join, final List<String> joined) {
+        for (Map<String, Collection<Record>> group = join.poll(); group != null; group = join.poll()) {
+            joined
+                    .add(String.join(",", values(group.get("left"))) + '/'
+                            + String.join(",", values(group.get("right"))));
+        }
+    }
+
+    private long listFiles(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private List<String> values(final Collection<Record> records) {
+        return records.stream().map(r -> r.getString("value")).collect(toList());
+    }
+
+    private Record record(final String value) {
+        return factory.newRecordBuilder().withString("value", value).withInt("size", value.length()).build();
+    }
+}
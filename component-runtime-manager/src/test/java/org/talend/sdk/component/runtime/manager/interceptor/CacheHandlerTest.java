@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.interceptor;
+
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.cache.Cached;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
+
+class CacheHandlerTest {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private ScheduledExecutorService scheduler;
+
+    private LocalCacheService cache;
+
+    @BeforeEach
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        cache = new LocalCacheService("CacheHandlerTest", System::currentTimeMillis, () -> scheduler);
+    }
+
+    @AfterEach
+    void destroy() {
+        cache.release();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void refreshAhead() throws Exception {
+        final CacheHandler handler = newHandler(Runnable::run);
+        final Method method = Service.class.getMethod("refreshed", String.class);
+        assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+        assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+        sleep(150);
+        assertEquals("value_1", handler.invoke(method, new Object[] { "a" })); // stale value, triggers the reload
+        assertEquals("value_2", handler.invoke(method, new Object[] { "a" }));
+    }
+
+    @Test
+    void singleFlightRefresh() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        final CacheHandler handler = newHandler(tasks::add);
+        final Method method = Service.class.getMethod("refreshed", String.class);
+        assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+        sleep(150);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+        }
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals("value_2", handler.invoke(method, new Object[] { "a" }));
+    }
+
+    @Test
+    void refreshOnCacheExecutor() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final ClassLoader callerLoader = caller.getContextClassLoader();
+        final Thread[] refreshThread = new Thread[1];
+        final ClassLoader[] refreshLoader = new ClassLoader[1];
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        final CacheHandler handler = new CacheHandler((method, args) -> {
+            if (invocations.incrementAndGet() == 2) {
+                refreshThread[0] = Thread.currentThread();
+                refreshLoader[0] = Thread.currentThread().getContextClassLoader();
+                refreshed.countDown();
+            }
+            return "value_" + invocations.get();
+        }, cache);
+        final Method method = Service.class.getMethod("refreshed", String.class);
+        try (final URLClassLoader loader = new URLClassLoader(new URL[0], callerLoader)) {
+            caller.setContextClassLoader(loader);
+            assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+            sleep(150);
+            assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+            assertTrue(refreshed.await(1, TimeUnit.MINUTES));
+            assertNotSame(caller, refreshThread[0]);
+            assertSame(loader, refreshLoader[0]);
+            assertNotSame(loader, scheduler.submit(() -> Thread.currentThread().getContextClassLoader()).get());
+        } finally {
+            caller.setContextClassLoader(callerLoader);
+        }
+    }
+
+    @Test
+    void negativeResults() throws Exception {
+        final CacheHandler handler = newHandler(Runnable::run);
+        final Method method = Service.class.getMethod("missing", String.class);
+        assertNull(handler.invoke(method, new Object[] { "a" }));
+        assertNull(handler.invoke(method, new Object[] { "a" }));
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    void noTimeout() throws Exception {
+        final CacheHandler handler = newHandler(Runnable::run);
+        for (final String name : new String[] { "zeroTimeout", "negativeTimeout" }) {
+            invocations.set(0);
+            final Method method = Service.class.getMethod(name, String.class);
+            assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+            assertEquals("value_1", handler.invoke(method, new Object[] { "a" }));
+            assertEquals(1, invocations.get(), name);
+        }
+    }
+
+    @Test
+    void structuredKeys() throws Exception {
+        final CacheHandler handler = newHandler(Runnable::run);
+        final Method method = Service.class.getMethod("refreshed", String.class);
+        final Object[] first = new Object[] { new Colliding("a") };
+        final Object[] second = new Object[] { new Colliding("b") };
+        assertEquals("value_1", handler.invoke(method, first));
+        assertEquals("value_2", handler.invoke(method, second)); // same string key but other arguments
+        assertEquals("value_1", handler.invoke(method, first));
+    }
+
+    private CacheHandler newHandler(final Executor executor) {
+        return new CacheHandler((method, args) -> {
+            final int count = invocations.incrementAndGet();
+            return "missing".equals(method.getName()) ? null : "value_" + count;
+        }, cache, executor);
+    }
+
+    public static class Service {
+
+        @Cached(timeout = 60000, refreshAfter = 100)
+        public String refreshed(final String key) {
+            throw new UnsupportedOperationException("intercepted");
+        }
+
+        @Cached(timeout = 0)
+        public String zeroTimeout(final String key) {
+            throw new UnsupportedOperationException("intercepted");
+        }
+
+        @Cached(timeout = -1)
+        public String negativeTimeout(final String key) {
+            throw new UnsupportedOperationException("intercepted");
+        }
+
+        @Cached(timeout = 60000, negativeTimeout = 0)
+        public String missing(final String key) {
+            throw new UnsupportedOperationException("intercepted");
+        }
+    }
+
+    private static class Colliding {
+
+        private final String value;
+
+        private Colliding(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "colliding";
+        }
+    }
+}
@@ -19,7 +19,9 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,16 +32,24 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import javax.json.JsonObject;
 import javax.json.bind.JsonbBuilder;
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -47,7 +57,9 @@ import org.apache.xbean.propertyeditor.PropertyEditorRegistry;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.internationalization.Internationalized;
+import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 import org.talend.sdk.component.api.service.http.Codec;
 import org.talend.sdk.component.api.service.http.Configurer;
 import org.talend.sdk.component.api.service.http.ConfigurerOption;
@@ -65,9 +77,11 @@ import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.api.service.http.Url;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
 import org.talend.sdk.component.api.service.http.configurer.oauth1.OAuth1;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.manager.reflect.ParameterModelService;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.service.http.HttpClientFactoryImpl;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpServer;
@@ -308,6 +322,136 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void jdkTransport() throws IOException {
+        final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
+        try {
+            server.start();
+            final ComplexOk ok = newJdkFactory().create(ComplexOk.class, null);
+            ok.base("http://localhost:" + server.getAddress().getPort() + "/api");
+
+            final Response<Payload> response = ok.main4Response(new Payload("test"), "token", 1, "search yes");
+            assertEquals(HttpURLConnection.HTTP_OK, response.status());
+            assertTrue(response.body().value.startsWith("POST@Authorization=token/"), response.body().value);
+            assertTrue(response.body().value.endsWith("@/api?q=search+yes@test"), response.body().value);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void jdkTransportHttpError() throws IOException {
+        final HttpServer server = createTestServer(HttpURLConnection.HTTP_FORBIDDEN);
+        try {
+            server.start();
+            final ComplexOk ok = newJdkFactory().create(ComplexOk.class, null);
+            ok.base("http://localhost:" + server.getAddress().getPort() + "/api");
+            final HttpException error = assertThrows(HttpException.class, () -> ok.main1("search yes"));
+            assertEquals(HttpURLConnection.HTTP_FORBIDDEN, error.getResponse().status());
+            assertTrue(error.getResponse().error(String.class).endsWith("@/api@search yes"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void async() throws Exception {
+        final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
+        try {
+            server.start();
+            for (final HttpClientFactoryImpl factory : asList(newDefaultFactory(), newJdkFactory())) {
+                final AsyncClient client = factory
+                        .create(AsyncClient.class, "http://localhost:" + server.getAddress().getPort() + "/api");
+                final List<CompletableFuture<String>> results = IntStream
+                        .range(0, 8)
+                        .mapToObj(i -> client.post("payload" + i).toCompletableFuture())
+                        .collect(toList());
+                for (int i = 0; i < results.size(); i++) {
+                    final String result = results.get(i).get(1, MINUTES);
+                    assertTrue(result.endsWith("@/api@payload" + i), result);
+                }
+
+                final Response<String> response = client.postResponse("test").get(1, MINUTES);
+                assertEquals(HttpURLConnection.HTTP_OK, response.status());
+                assertTrue(response.body().endsWith("@/api@test"), response.body());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void asyncHttpError() throws IOException {
+        final HttpServer server = createTestServer(HttpURLConnection.HTTP_FORBIDDEN);
+        try {
+            server.start();
+            for (final HttpClientFactoryImpl factory : asList(newDefaultFactory(), newJdkFactory())) {
+                final AsyncClient client = factory
+                        .create(AsyncClient.class, "http://localhost:" + server.getAddress().getPort() + "/api");
+                final ExecutionException error = assertThrows(ExecutionException.class,
+                        () -> client.post("test").toCompletableFuture().get(1, MINUTES));
+                assertTrue(HttpException.class.isInstance(error.getCause()), error.getCause().toString());
+                assertEquals(HttpURLConnection.HTTP_FORBIDDEN,
+                        HttpException.class.cast(error.getCause()).getResponse().status());
+
+                final Response<String> response = client.postResponse("test").get(1, MINUTES);
+                assertEquals(HttpURLConnection.HTTP_FORBIDDEN, response.status());
+                assertTrue(response.error(String.class).endsWith("@/api@test"));
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void streamJsonArray() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            httpExchange.getResponseHeaders().add("Content-Type", "application/json");
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0); // chunked
+            try (final OutputStream out = httpExchange.getResponseBody()) {
+                out.write('[');
+                for (int i = 0; i < 1000; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    out.write(("{\"value\":\"v" + i + "\"}").getBytes(StandardCharsets.UTF_8));
+                }
+                out.write(']');
+            }
+        });
+        try {
+            server.start();
+            final PropertyEditorRegistry propertyEditorRegistry = new PropertyEditorRegistry();
+            final Map<Class<?>, Object> services =
+                    singletonMap(RecordBuilderFactory.class, new RecordBuilderFactoryImpl("test"));
+            final StreamClient client = new HttpClientFactoryImpl("test",
+                    new ReflectionService(new ParameterModelService(propertyEditorRegistry), propertyEditorRegistry),
+                    JsonbBuilder.create(), services)
+                            .create(StreamClient.class, "http://localhost:" + server.getAddress().getPort());
+            {
+                final Iterator<Record> records = client.records();
+                int count = 0;
+                while (records.hasNext()) {
+                    assertEquals("v" + count++, records.next().getString("value"));
+                }
+                assertEquals(1000, count);
+            }
+            try (final Stream<JsonObject> objects = client.objects()) {
+                assertEquals("v10", objects.skip(10).findFirst().map(o -> o.getString("value")).orElse(null));
+            }
+            {
+                final Response<Iterator<Payload>> response = client.payloads();
+                assertEquals(HttpURLConnection.HTTP_OK, response.status());
+                assertEquals("v0", response.body().next().value);
+                assertEquals("v1", response.body().next().value);
+                assertTrue(AutoCloseable.class.isInstance(response.body()));
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
     @Test
     void ignoreNullQueryParam() throws IOException {
         final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
@@ -495,6 +639,28 @@ class HttpClientFactoryImplTest {
                 JsonbBuilder.create(), emptyMap());
     }
 
+    private HttpClientFactoryImpl newJdkFactory() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("talend.component.manager.http.client.transport", "jdk");
+        configuration.put("talend.component.manager.http.client.maxConnections", "2");
+        configuration.put("talend.component.manager.http.client.requestTimeout", "30000");
+        final PropertyEditorRegistry propertyEditorRegistry = new PropertyEditorRegistry();
+        return new HttpClientFactoryImpl("test",
+                new ReflectionService(new ParameterModelService(propertyEditorRegistry), propertyEditorRegistry),
+                JsonbBuilder.create(), singletonMap(LocalConfiguration.class, new LocalConfiguration() {
+
+                    @Override
+                    public String get(final String key) {
+                        return configuration.get(key);
+                    }
+
+                    @Override
+                    public Set<String> keys() {
+                        return configuration.keySet();
+                    }
+                }));
+    }
+
     private void assertNoError(final Collection<String> errors) {
         assertTrue(errors.isEmpty(), errors.toString());
     }
@@ -540,6 +706,27 @@ class HttpClientFactoryImplTest {
         String multis(@QueryParams(format = MULTI) final Map<String, List<String>> values);
     }
 
+    public interface AsyncClient extends HttpClient {
+
+        @Request(method = "POST")
+        CompletionStage<String> post(String payload);
+
+        @Request(method = "POST")
+        CompletableFuture<Response<String>> postResponse(String payload);
+    }
+
+    public interface StreamClient extends HttpClient {
+
+        @Request
+        Iterator<Record> records();
+
+        @Request
+        Stream<JsonObject> objects();
+
+        @Request
+        Response<Iterator<Payload>> payloads();
+    }
+
     public interface OAuth1Client extends HttpClient {
 
         @Request(path = "/1.1/statuses/user_timeline.json")
@@ -262,6 +262,23 @@ class LocalCacheServiceTest {
         Assertions.assertTrue(isCacheEmpty(), "not empty clean with toDelete");
     }
 
+    @Test
+    void renew() {
+        this.simulateCurrent = 100L;
+        final Object value = new Object();
+        assertEquals(value, cache.computeIfAbsent(Object.class, "foo", (Element e) -> true, 300L, () -> value));
+        cache.renew("foo", new Object(), 1000L); // not the cached value, ignored
+
+        this.simulateCurrent = 300L;
+        cache.renew("foo", value, 300L);
+        this.simulateCurrent = 500L;
+        assertEquals(value, cache.computeIfAbsent(Object.class, "foo", (Element e) -> true, 300L, Object::new));
+
+        this.simulateCurrent = 600L;
+        Assertions.assertNotSame(value,
+                cache.computeIfAbsent(Object.class, "foo", (Element e) -> true, 300L, Object::new));
+    }
+
     @Test
     void cleanWithMax() throws InterruptedException {
         this.maxEviction = 10;
@@ -291,6 +308,41 @@ class LocalCacheServiceTest {
         Assertions.assertEquals(10, this.cacheSize());
     }
 
+    @Test
+    void keepFrequentlyUsedEntries() {
+        this.defaultMaxSize = 10;
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                cache.computeIfAbsent(String.class, "hot" + i, () -> "val");
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            cache.computeIfAbsent(String.class, "cold" + i, () -> "val");
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("val", cache.computeIfAbsent(String.class, "hot" + i, () -> "recomputed"));
+        }
+        Assertions.assertEquals(10, this.cacheSize());
+        assertEquals(20, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    void statistics() throws InterruptedException {
+        this.interval = 10;
+        assertEquals("bar", cache.computeIfAbsent(String.class, "foo", () -> "bar"));
+        assertEquals("bar", cache.computeIfAbsent(String.class, "foo", () -> "other"));
+        assertEquals("bar", cache.computeIfAbsent(String.class, "other", -1, () -> "bar"));
+
+        final LocalCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(.5, statistics.getHitRate());
+
+        Thread.sleep(100L);
+        assertEquals(1, cache.getStatistics().getEvictions());
+        Assertions.assertEquals(1, this.cacheSize());
+    }
+
     private boolean isCacheEmpty() {
         return this.internalCacheMap().isEmpty();
     }
@@ -17,10 +17,12 @@ package org.talend.sdk.component.runtime.manager.service;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordPointer;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.runtime.record.RecordImpl;
 import org.talend.sdk.component.runtime.record.SchemaImpl;
@@ -73,4 +75,49 @@ class RecordPointerImplTest {
         assertThrows(IllegalArgumentException.class,
                 () -> new RecordPointerFactoryImpl("test").apply("/array2/1/v1").getValue(record, Object.class));
     }
+
+    @Test
+    void schemaChanges() {
+        final RecordPointerFactoryImpl factory = new RecordPointerFactoryImpl("test");
+        final RecordPointer pointer = factory.apply("/nested/value");
+        assertSame(pointer, factory.apply("/nested/value"));
+
+        final Record asString = new RecordImpl.BuilderImpl()
+                .withRecord("nested", new RecordImpl.BuilderImpl().withString("value", "v").build())
+                .build();
+        final Record asInt = new RecordImpl.BuilderImpl()
+                .withRecord("nested", new RecordImpl.BuilderImpl().withInt("value", 1).build())
+                .build();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v", pointer.getValue(asString, Object.class));
+            assertEquals(1, pointer.getValue(asInt, Object.class));
+        }
+        assertThrows(IllegalArgumentException.class, () -> pointer
+                .getValue(new RecordImpl.BuilderImpl().withString("nested", "flat").build(), Object.class));
+    }
+
+    @Test
+    void alternatingSchemas() {
+        final RecordPointer pointer = new RecordPointerFactoryImpl("test").apply("/value");
+        final Record text = new RecordImpl.BuilderImpl().withString("value", "v").withInt("other", 1).build();
+        final Record number = new RecordImpl.BuilderImpl().withInt("other", 2).withLong("value", 3L).build();
+        // same schema instance but another record implementation, read by name
+        final Record wrapper = new Record() {
+
+            @Override
+            public Schema getSchema() {
+                return text.getSchema();
+            }
+
+            @Override
+            public <T> T get(final Class<T> expectedType, final String name) {
+                return "value".equals(name) ? expectedType.cast("wrapped") : null;
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            assertEquals("v", pointer.getValue(text, Object.class));
+            assertEquals(3L, pointer.getValue(number, Object.class));
+            assertEquals("wrapped", pointer.getValue(wrapper, Object.class));
+        }
+    }
 }
@@ -22,6 +22,7 @@ import static java.util.stream.Collectors.joining;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.talend.sdk.component.api.record.Schema.Type.INT;
 import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
 import static org.talend.sdk.component.api.record.Schema.Type.STRING;
@@ -31,6 +32,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -135,6 +138,41 @@ class RecordServiceImplTest {
                 "onInt/[OptionalInt[1]]", "get/null", "get/null", "apply/[1, 2]"), visited);
     }
 
+    @Test
+    void visitRecordArrays() {
+        final Record record = factory
+                .newRecordBuilder()
+                .withInt("id", 1)
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("addresses")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(address)
+                        .build(), asList(baseRecord.getRecord("address"), baseRecord.getRecord("address")))
+                .build();
+        // the plans are cached per schema, visiting the same schemas again behaves the same
+        for (int i = 0; i < 2; i++) {
+            // the items share the array visitor: 1 + (1 + 2)
+            assertEquals(4, service.visit(new SumInts(), record));
+            assertEquals(34, service.visit(new SumInts(), baseRecord));
+        }
+    }
+
+    @Test
+    void visitPlansSharedByEqualSchemas() {
+        final RecordVisitPlan.Cache cache = new RecordVisitPlan.Cache();
+        final Schema sameAddress = factory
+                .newSchemaBuilder(RECORD)
+                .withEntry(factory.newEntryBuilder().withName("street").withType(STRING).build())
+                .withEntry(factory.newEntryBuilder().withName("number").withType(INT).build())
+                .build();
+        final RecordVisitPlan plan = cache.get(address);
+        assertSame(plan, cache.get(address));
+        assertSame(plan, cache.get(sameAddress));
+        assertNotSame(plan, cache.get(baseSchema));
+        assertSame(plan, cache.get(address));
+    }
+
     @Test
     void buildRecord() {
         final Schema customSchema = factory
@@ -200,4 +238,35 @@ class RecordServiceImplTest {
 
         public int magic = 1971;
     }
+
+    private static class SumInts implements RecordVisitor<Integer> {
+
+        private int sum;
+
+        @Override
+        public Integer get() {
+            return sum;
+        }
+
+        @Override
+        public Integer apply(final Integer t1, final Integer t2) {
+            return t1 + t2;
+        }
+
+        @Override
+        public void onInt(final Schema.Entry entry, final OptionalInt optionalInt) {
+            sum += optionalInt.orElse(0);
+        }
+
+        @Override
+        public RecordVisitor<Integer> onRecord(final Schema.Entry entry, final Optional<Record> record) {
+            return new SumInts();
+        }
+
+        @Override
+        public RecordVisitor<Integer> onRecordArray(final Schema.Entry entry,
+                final Optional<Collection<Record>> array) {
+            return new SumInts();
+        }
+    }
 }
@@ -20,11 +20,9 @@ import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptyMap;
 import static java.util.Locale.ROOT;
 import static java.util.concurrent.TimeUnit.MINUTES;
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.ziplock.JarLocation.jarLocation;
-import static org.junit.Assert.fail;
 import static org.talend.sdk.component.junit.SimpleFactory.configurationByExample;
 
 import java.util.ArrayList;
@@ -36,19 +34,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
@@ -73,6 +62,7 @@ import org.talend.sdk.component.runtime.manager.ComponentManager;
 import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
 import org.talend.sdk.component.runtime.manager.chain.AutoChunkProcessor;
 import org.talend.sdk.component.runtime.manager.chain.Job;
+import org.talend.sdk.component.runtime.manager.chain.PartitionedMapper;
 import org.talend.sdk.component.runtime.manager.json.PreComputedJsonpProvider;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
@@ -239,95 +229,29 @@ public class BaseComponentsHandler implements ComponentsHandler {
                                     mapper.stop();
                                 }
                             });
-        default: // N producers-1 consumer pattern
+        default: // partitions read concurrently and merged through a bounded queue (backpressure)
             final AtomicInteger threadCounter = new AtomicInteger(0);
-            final ExecutorService es = Executors.newFixedThreadPool(mappers.size(), r -> new Thread(r) {
+            final long timeout = MINUTES.toMillis(Integer.getInteger("talend.component.junit.timeout", 5));
+            final Input input = new PartitionedMapper(mapper, mappers, mappers.size(), false, r -> new Thread(r) {
 
                 {
                     setName(BaseComponentsHandler.this.getClass().getSimpleName() + "-pool-" + abs(mapper.hashCode())
                             + "-" + threadCounter.incrementAndGet());
                 }
-            });
-            final AtomicInteger recordCounter = new AtomicInteger(maxRecords);
-            final Semaphore permissions = new Semaphore(0);
-            final Queue<T> records = new ConcurrentLinkedQueue<>();
-            final CountDownLatch latch = new CountDownLatch(mappers.size());
-            final List<? extends Future<?>> tasks = mappers
-                    .stream()
-                    .map(Mapper::create)
-                    .map(input -> (Iterator<T>) asIterator(input, recordCounter))
-                    .map(it -> es.submit(() -> {
-                        try {
-                            while (it.hasNext()) {
-                                final T next = it.next();
-                                records.add(next);
-                                permissions.release();
-                            }
-                        } finally {
-                            latch.countDown();
-                        }
-                    }))
-                    .collect(toList());
-            es.shutdown();
-
-            final int timeout = Integer.getInteger("talend.component.junit.timeout", 5);
-            new Thread() {
-
-                {
-                    setName(BaseComponentsHandler.class.getSimpleName() + "-monitor_" + abs(mapper.hashCode()));
-                }
-
-                @Override
-                public void run() {
-                    try {
-                        latch.await(timeout, MINUTES);
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    } finally {
-                        permissions.release();
-                    }
-                }
-            }.start();
-            return StreamDecorator.decorate(asStream(new Iterator<T>() {
-
-                @Override
-                public boolean hasNext() {
-                    try {
-                        permissions.acquire();
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        fail(e.getMessage());
-                    }
-                    return !records.isEmpty();
-                }
-
-                @Override
-                public T next() {
-                    final T poll = records.poll();
-                    if (poll != null) {
-                        return mapRecord(state, recordType, poll);
-                    }
-                    return null;
-                }
-            }), task -> {
-                try {
-                    task.run();
-                } finally {
-                    tasks.forEach(f -> {
-                        try {
-                            f.get(5, SECONDS);
-                        } catch (final InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        } catch (final ExecutionException | TimeoutException e) {
-                            // no-op
-                        } finally {
-                            if (!f.isDone() && !f.isCancelled()) {
-                                f.cancel(true);
-                            }
-                        }
-                    });
-                }
-            });
+            }, timeout).create();
+            return StreamDecorator
+                    .decorate(asStream(asIterator(input, new AtomicInteger(maxRecords)))
+                            .map(record -> mapRecord(state, recordType, record)), collect -> {
+                                try {
+                                    collect.run();
+                                } finally {
+                                    try {
+                                        input.stop();
+                                    } finally {
+                                        mapper.stop();
+                                    }
+                                }
+                            });
         }
     }
 
@@ -97,12 +97,14 @@ public class RecordValidator implements Validator {
             "org.talend.sdk.component.runtime.record.RecordImpl.BuilderImpl.withRecord(java.lang.String, org.talend.sdk.component.api.record.Record)",
             "org.talend.sdk.component.runtime.record.RecordImpl.BuilderImpl.removeEntry(org.talend.sdk.component.api.record.Schema$Entry)",
             "org.talend.sdk.component.runtime.record.RecordImpl.BuilderImpl.updateEntryByName(java.lang.String, org.talend.sdk.component.api.record.Schema$Entry)",
+            "org.talend.sdk.component.runtime.record.RecordImpl.BuilderImpl.reset()",
             "org.talend.sdk.component.api.record.Record.withNewSchema(org.talend.sdk.component.api.record.Schema)",
             "org.talend.sdk.component.api.record.Record$Builder.before(java.lang.String)",
             "org.talend.sdk.component.api.record.Record$Builder.after(java.lang.String)",
             "org.talend.sdk.component.api.record.Record$Builder.removeEntry(org.talend.sdk.component.api.record.Schema$Entry)",
             "org.talend.sdk.component.api.record.Record$Builder.withInstant(org.talend.sdk.component.api.record.Schema$Entry, java.time.Instant)",
             "org.talend.sdk.component.api.record.Record$Builder.updateEntryByName(java.lang.String, org.talend.sdk.component.api.record.Schema$Entry)",
+            "org.talend.sdk.component.api.record.Record$Builder.reset()",
             "org.talend.sdk.component.api.record.Record$Builder.updateEntryByName(java.lang.String, org.talend.sdk.component.api.record.Schema$Entry, java.util.function.Function)",
             "org.talend.sdk.component.api.record.Record$Builder.with(org.talend.sdk.component.api.record.Schema$Entry, java.lang.Object)",
             "org.talend.sdk.component.api.record.Record$Builder.withString(java.lang.String, java.lang.String)",